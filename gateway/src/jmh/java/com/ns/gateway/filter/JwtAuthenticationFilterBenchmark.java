@@ -0,0 +1,152 @@
+package com.ns.gateway.filter;
+
+import com.ns.gateway.jwt.JwtClaimsCache;
+import com.ns.gateway.jwt.JwtVerifier;
+import com.ns.gateway.path.PathPatternIndex;
+import com.ns.gateway.revocation.RevocationSet;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtAuthentication 필터 구간별 비용.
+ * 시나리오마다 MockServerWebExchange 와 아무것도 하지 않는 체인으로 apply() 가 만든 필터를 한 번 통과시킨다.
+ * 유효 토큰은 클레임 캐시에 올라간 상태(운영의 정상 경로)이고, 만료·형식 오류 토큰은 매번 파싱·예외 경로를 탄다.
+ * exchange 생성 비용은 {@link #exchangeOnly} 로 따로 재서 빼고 본다.
+ * ./gradlew jmh 의 gc 프로파일러 결과 중 gc.alloc.rate.norm 이 op 당 할당 바이트다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-benchmark-secret-key-0123456789";
+    private static final List<String> PUBLIC_PATHS = List.of("/auth/google/callback", "/auth/refresh");
+    private static final GatewayFilterChain NOOP_CHAIN = exchange -> Mono.empty();
+
+    private JwtAuthenticationGatewayFilterFactory factory;
+    private GatewayFilter filter;
+    private PathPatternIndex publicPaths;
+    private ServerHttpRequest authenticatedRequest;
+    private Claims claims;
+
+    /** 시나리오별 요청. 이 상태를 쓰는 벤치마크만 시나리오 수만큼 반복된다. */
+    @State(Scope.Benchmark)
+    public static class Scenario {
+
+        @Param({"valid", "expired", "malformed", "public"})
+        public String scenario;
+
+        String path;
+        String authorization;
+
+        @Setup
+        public void setUp() {
+            Instant now = Instant.now();
+            path = "public".equals(scenario) ? "/auth/refresh" : "/note/64f0c2a1b2c3d4e5f6a7b8c9";
+            authorization = switch (scenario) {
+                case "valid" -> "Bearer " + token(now.minusSeconds(60), now.plus(Duration.ofHours(1)));
+                case "expired" -> "Bearer " + token(now.minus(Duration.ofHours(2)), now.minus(Duration.ofHours(1)));
+                case "malformed" -> "Bearer not.a.jwt";
+                case "public" -> null;
+                default -> throw new IllegalArgumentException(scenario);
+            };
+        }
+
+        MockServerWebExchange exchange() {
+            MockServerHttpRequest.BaseBuilder<?> request = MockServerHttpRequest.get(path);
+            if (authorization != null) {
+                request.header(HttpHeaders.AUTHORIZATION, authorization);
+            }
+            return MockServerWebExchange.from(request);
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        JwtVerifier verifier = new JwtVerifier(SECRET,
+                new JwtClaimsCache(10_000, Duration.ofMinutes(10), meterRegistry),
+                new RevocationSet(1_000, 0.01, meterRegistry));
+        factory = new JwtAuthenticationGatewayFilterFactory(verifier, meterRegistry);
+
+        JwtAuthenticationGatewayFilterFactory.Config config = new JwtAuthenticationGatewayFilterFactory.Config();
+        config.setPublicPaths(PUBLIC_PATHS);
+        filter = factory.apply(config);
+        publicPaths = PathPatternIndex.compile(PUBLIC_PATHS);
+
+        Instant now = Instant.now();
+        String validToken = token(now.minusSeconds(60), now.plus(Duration.ofHours(1)));
+        claims = Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseClaimsJws(validToken)
+                .getBody();
+        authenticatedRequest = MockServerHttpRequest.get("/note/64f0c2a1b2c3d4e5f6a7b8c9")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + validToken)
+                .build();
+    }
+
+    @Benchmark
+    public MockServerWebExchange exchangeOnly(Scenario scenario) {
+        return scenario.exchange();
+    }
+
+    @Benchmark
+    public Object apply(Scenario scenario) {
+        MockServerWebExchange exchange = scenario.exchange();
+        filter.filter(exchange, NOOP_CHAIN).block();
+        return exchange.getResponse().getStatusCode();
+    }
+
+    @Benchmark
+    public ServerHttpRequest retainHeader() {
+        return factory.retainHeader(authenticatedRequest, claims);
+    }
+
+    @Benchmark
+    public boolean isPublicPath(Scenario scenario) {
+        return factory.isPublicPath(scenario.path, publicPaths);
+    }
+
+    @Benchmark
+    public Object onError(Scenario scenario) {
+        MockServerWebExchange exchange = scenario.exchange();
+        factory.onError(exchange, "만료된 JWT 토큰입니다.", HttpStatus.UNAUTHORIZED).block();
+        return exchange.getResponse().getStatusCode();
+    }
+
+    private static String token(Instant issuedAt, Instant expiresAt) {
+        return Jwts.builder()
+                .setSubject("benchmark-user")
+                .claim("role", "ROLE_USER")
+                .setIssuedAt(Date.from(issuedAt))
+                .setExpiration(Date.from(expiresAt))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+    }
+}
@@ -0,0 +1,73 @@
+package com.ns.gateway.filter;
+
+import com.ns.gateway.accesslog.AccessLogWriter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Logging 필터가 요청마다 이벤트 루프에서 쓰는 비용 (레코드 생성 + 링 버퍼 CAS).
+ * AccessLogWriter 백그라운드 스레드는 실제로 띄우고, ACCESS_LOG 로거는 jmh logback 설정에서 꺼서 I/O 를 빼고 잰다.
+ * sampleRate 로 샘플링에서 빠지는 요청의 비용도 함께 본다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class LoggingFilterBenchmark {
+
+    private static final GatewayFilterChain OK_CHAIN = exchange -> {
+        exchange.getResponse().setStatusCode(HttpStatus.OK);
+        return Mono.empty();
+    };
+
+    @Param({"1.0", "0.1"})
+    public double sampleRate;
+
+    private AccessLogWriter writer;
+    private GatewayFilter filter;
+
+    @Setup
+    public void setUp() {
+        writer = new AccessLogWriter(65_536, "", Duration.ofMillis(200), new SimpleMeterRegistry());
+        // @PostConstruct 는 패키지 전용이라 리플렉션으로 호출
+        ReflectionTestUtils.invokeMethod(writer, "start");
+
+        LoggingGatewayFilterFactory.Config config = new LoggingGatewayFilterFactory.Config();
+        config.setSampleRate(sampleRate);
+        filter = new LoggingGatewayFilterFactory(writer).apply(config);
+    }
+
+    @TearDown
+    public void tearDown() {
+        ReflectionTestUtils.invokeMethod(writer, "stop");
+    }
+
+    @Benchmark
+    public MockServerWebExchange exchangeOnly() {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/note/recent"));
+    }
+
+    @Benchmark
+    public Object filter() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/note/recent"));
+        filter.filter(exchange, OK_CHAIN).block();
+        return exchange.getResponse().getStatusCode();
+    }
+}
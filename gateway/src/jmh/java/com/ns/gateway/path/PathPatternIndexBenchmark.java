@@ -0,0 +1,55 @@
+package com.ns.gateway.path;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 기존 AntPathMatcher 스트림 루프와 미리 컴파일한 PathPatternIndex 의 공개 경로 판별 비용 비교.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PathPatternIndexBenchmark {
+
+    private static final List<String> PUBLIC_PATHS = List.of(
+            "/auth/google/callback",
+            "/auth/refresh",
+            "/auth/signup",
+            "/member/**",
+            "/swagger-ui/**",
+            "/v3/api-docs/**",
+            "/actuator/**",
+            "/note/*/public"
+    );
+
+    @Param({"/auth/refresh", "/note/64f0c2/public", "/note/recent", "/permission/64f0c2/me"})
+    public String path;
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private PathPatternIndex index;
+
+    @Setup
+    public void setUp() {
+        index = PathPatternIndex.compile(PUBLIC_PATHS);
+    }
+
+    @Benchmark
+    public boolean antPathMatcherLoop() {
+        return PUBLIC_PATHS.stream().anyMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    @Benchmark
+    public boolean pathPatternIndex() {
+        return index.matches(path);
+    }
+}
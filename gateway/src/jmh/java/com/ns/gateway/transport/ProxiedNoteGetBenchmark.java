@@ -0,0 +1,111 @@
+package com.ns.gateway.transport;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.resources.LoopResources;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 전송 계층별 프록시 GET 처리량과 지연 분포 비교.
+ * 로컬 note 응답 서버 앞에 게이트웨이와 같은 방식(서버 루프 + 풀링된 업스트림 HttpClient)의 최소 프록시를 띄우고,
+ * 부하 클라이언트는 모드와 상관없이 항상 NIO 로 고정해 프록시·업스트림 구간의 전송 계층 차이만 보이게 한다.
+ * Throughput 은 ops/ms, SampleTime 결과의 p0.99 가 p99 지연이다.
+ * native 는 epoll 이고, ./gradlew jmh -PioUring 으로 실행하면 커널이 지원할 때 io_uring 이 된다 (Linux 외에서는 NIO 로 대체됨).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(16)
+public class ProxiedNoteGetBenchmark {
+
+    private static final byte[] NOTE_JSON = ("{\"status\":200,\"message\":\"노트 조회 성공\",\"data\":{\"id\":\"64f0c2a1b2c3d4e5f6a7b8c9\","
+            + "\"title\":\"benchmark\",\"workspaceId\":\"ws-1\",\"contents\":\"" + "lorem ipsum ".repeat(80) + "\"}}")
+            .getBytes(StandardCharsets.UTF_8);
+
+    @Param({"nio", "native"})
+    public String transport;
+
+    private LoopResources serverLoops;
+    private LoopResources clientLoops;
+    private ConnectionProvider upstreamPool;
+    private ConnectionProvider loadPool;
+    private DisposableServer upstream;
+    private DisposableServer proxy;
+    private HttpClient loadClient;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        boolean preferNative = transport.equals("native");
+        serverLoops = LoopResources.create("bench-" + transport, 1, 4, true);
+        clientLoops = LoopResources.create("bench-load", 1, 4, true);
+
+        upstream = HttpServer.create()
+                .host("127.0.0.1")
+                .port(0)
+                .runOn(serverLoops, preferNative)
+                .route(routes -> routes.get("/note/{id}", (request, response) -> response
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .sendByteArray(Mono.just(NOTE_JSON))))
+                .bindNow();
+
+        upstreamPool = ConnectionProvider.builder("bench-upstream").maxConnections(64).build();
+        HttpClient upstreamClient = HttpClient.create(upstreamPool)
+                .runOn(serverLoops, preferNative)
+                .baseUrl("http://127.0.0.1:" + upstream.port());
+
+        proxy = HttpServer.create()
+                .host("127.0.0.1")
+                .port(0)
+                .runOn(serverLoops, preferNative)
+                .handle((request, response) -> upstreamClient.get()
+                        .uri(request.uri())
+                        .response((upstreamResponse, body) -> response
+                                .status(upstreamResponse.status())
+                                .header(HttpHeaders.CONTENT_TYPE, upstreamResponse.responseHeaders().get(HttpHeaders.CONTENT_TYPE))
+                                .send(body.retain()))
+                        .then())
+                .bindNow();
+
+        loadPool = ConnectionProvider.builder("bench-load").maxConnections(64).build();
+        loadClient = HttpClient.create(loadPool)
+                .runOn(clientLoops, false)
+                .baseUrl("http://127.0.0.1:" + proxy.port());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        proxy.disposeNow();
+        upstream.disposeNow();
+        loadPool.disposeLater().block(Duration.ofSeconds(5));
+        upstreamPool.disposeLater().block(Duration.ofSeconds(5));
+        clientLoops.disposeLater().block(Duration.ofSeconds(5));
+        serverLoops.disposeLater().block(Duration.ofSeconds(5));
+    }
+
+    @Benchmark
+    public byte[] proxiedNoteGet() {
+        return loadClient.get()
+                .uri("/note/64f0c2a1b2c3d4e5f6a7b8c9")
+                .responseSingle((response, body) -> body.asByteArray())
+                .block(Duration.ofSeconds(5));
+    }
+}
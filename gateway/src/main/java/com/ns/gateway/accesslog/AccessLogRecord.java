@@ -0,0 +1,75 @@
+package com.ns.gateway.accesslog;
+
+import com.ns.gateway.LogState;
+
+/**
+ * 요청 1건당 하나씩 만들어지는 구조화된 액세스 로그 레코드.
+ *
+ * @param latencyMillis  Logging 필터 진입부터 응답 완료까지 걸린 시간
+ * @param upstreamMillis 업스트림 응답 헤더 수신까지 걸린 시간 (업스트림을 거치지 않았으면 -1)
+ * @param requestBytes   요청 Content-Length (없으면 -1)
+ * @param responseBytes  실제로 기록된 응답 바디 바이트 수
+ */
+public record AccessLogRecord(
+        long timestampMillis,
+        String routeId,
+        String method,
+        String path,
+        int status,
+        String userId,
+        long latencyMillis,
+        long upstreamMillis,
+        long requestBytes,
+        long responseBytes,
+        LogState level,
+        String message
+) {
+
+    // 한 줄짜리 JSON 으로 직렬화 (백그라운드 writer 스레드에서만 호출)
+    public void appendJson(StringBuilder sb) {
+        sb.append("{\"ts\":").append(timestampMillis)
+                .append(",\"level\":\"").append(level).append('"')
+                .append(",\"route\":");
+        appendString(sb, routeId);
+        sb.append(",\"method\":");
+        appendString(sb, method);
+        sb.append(",\"path\":");
+        appendString(sb, path);
+        sb.append(",\"status\":").append(status)
+                .append(",\"userId\":");
+        appendString(sb, userId);
+        sb.append(",\"latencyMs\":").append(latencyMillis)
+                .append(",\"upstreamMs\":").append(upstreamMillis)
+                .append(",\"requestBytes\":").append(requestBytes)
+                .append(",\"responseBytes\":").append(responseBytes)
+                .append(",\"message\":");
+        appendString(sb, message);
+        sb.append('}');
+    }
+
+    private static void appendString(StringBuilder sb, String value) {
+        if (value == null) {
+            sb.append("null");
+            return;
+        }
+        sb.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+                }
+            }
+        }
+        sb.append('"');
+    }
+}
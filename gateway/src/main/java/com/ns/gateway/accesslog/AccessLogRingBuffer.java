@@ -0,0 +1,69 @@
+package com.ns.gateway.accesslog;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * 락 없는 다중 생산자/단일 소비자(MPSC) 고정 크기 링 버퍼.
+ * 생산자(Netty 이벤트 루프)는 CAS 한 번으로 슬롯을 확보하고, 가득 차면 블로킹 없이 버린다.
+ */
+public final class AccessLogRingBuffer {
+
+    private final AtomicReferenceArray<AccessLogRecord> slots;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+
+    public AccessLogRingBuffer(int requestedCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(2, requestedCapacity - 1) << 1);
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+    public int size() {
+        return (int) Math.max(0L, tail.get() - head.get());
+    }
+
+    /**
+     * @return 버퍼가 가득 차서 버렸으면 false
+     */
+    public boolean offer(AccessLogRecord record) {
+        while (true) {
+            long t = tail.get();
+            if (t - head.get() >= capacity()) {
+                return false;
+            }
+            if (tail.compareAndSet(t, t + 1)) {
+                slots.lazySet((int) (t & mask), record);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 소비자 스레드 전용. 게시가 끝난 레코드를 최대 maxRecords 개까지 꺼낸다.
+     */
+    public int drain(Consumer<AccessLogRecord> consumer, int maxRecords) {
+        long h = head.get();
+        int drained = 0;
+        while (drained < maxRecords) {
+            int index = (int) (h & mask);
+            AccessLogRecord record = slots.get(index);
+            if (record == null) {
+                // 아직 슬롯을 확보만 하고 게시하지 않은 생산자가 있으면 다음 drain 에서 가져간다
+                break;
+            }
+            slots.lazySet(index, null);
+            h++;
+            drained++;
+            consumer.accept(record);
+        }
+        head.lazySet(h);
+        return drained;
+    }
+}
@@ -0,0 +1,148 @@
+package com.ns.gateway.accesslog;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 액세스 로그 파이프라인.
+ * 필터는 {@link #submit} 으로 링 버퍼에 넣기만 하고, 백그라운드 스레드가 모아서 파일에 배치로 쓴다.
+ * gateway.access-log.file 이 비어 있으면 파일 대신 ACCESS_LOG 로거로 내보낸다 (역시 백그라운드 스레드에서).
+ */
+@Slf4j
+@Component
+public class AccessLogWriter {
+
+    private static final Logger ACCESS_LOG = LoggerFactory.getLogger("ACCESS_LOG");
+    private static final int MAX_BATCH = 1024;
+
+    private final AccessLogRingBuffer buffer;
+    private final String file;
+    private final long flushIntervalNanos;
+    private final Counter dropped;
+
+    private final StringBuilder line = new StringBuilder(512);
+    private final StringBuilder batch = new StringBuilder(64 * 1024);
+
+    private FileChannel channel;
+    private Thread worker;
+    private volatile boolean running;
+
+    public AccessLogWriter(@Value("${gateway.access-log.buffer-size:8192}") int bufferSize,
+                           @Value("${gateway.access-log.file:}") String file,
+                           @Value("${gateway.access-log.flush-interval:200ms}") Duration flushInterval,
+                           MeterRegistry meterRegistry) {
+        this.buffer = new AccessLogRingBuffer(bufferSize);
+        this.file = file;
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.dropped = Counter.builder("gateway.access_log.dropped")
+                .description("링 버퍼가 가득 차 버려진 액세스 로그 수")
+                .register(meterRegistry);
+        Gauge.builder("gateway.access_log.pending", buffer, AccessLogRingBuffer::size)
+                .description("아직 기록되지 않은 액세스 로그 수")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() throws IOException {
+        if (!file.isBlank()) {
+            Path path = Path.of(file);
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        }
+        running = true;
+        worker = new Thread(this::run, "access-log-writer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    void stop() throws IOException {
+        running = false;
+        if (worker != null) {
+            LockSupport.unpark(worker);
+            try {
+                worker.join(Duration.ofSeconds(2).toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    /** 이벤트 루프에서 호출. 블로킹하지 않으며 버퍼가 가득 차면 레코드를 버린다. */
+    public void submit(AccessLogRecord record) {
+        if (!buffer.offer(record)) {
+            dropped.increment();
+        }
+    }
+
+    private void run() {
+        while (running) {
+            if (drainOnce() == 0) {
+                LockSupport.parkNanos(flushIntervalNanos);
+            }
+        }
+        // 종료 직전 남은 레코드 정리
+        int drained;
+        do {
+            drained = drainOnce();
+        } while (drained > 0);
+    }
+
+    private int drainOnce() {
+        int drained = buffer.drain(this::append, MAX_BATCH);
+        if (drained > 0) {
+            flush();
+        }
+        return drained;
+    }
+
+    private void append(AccessLogRecord record) {
+        if (channel == null) {
+            line.setLength(0);
+            record.appendJson(line);
+            ACCESS_LOG.info(line.toString());
+            return;
+        }
+        record.appendJson(batch);
+        batch.append('\n');
+    }
+
+    private void flush() {
+        if (channel == null || batch.isEmpty()) {
+            return;
+        }
+        try {
+            ByteBuffer bytes = ByteBuffer.wrap(batch.toString().getBytes(StandardCharsets.UTF_8));
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+        } catch (IOException e) {
+            log.warn("access log write failed: {}", e.getMessage());
+        } finally {
+            batch.setLength(0);
+        }
+    }
+}
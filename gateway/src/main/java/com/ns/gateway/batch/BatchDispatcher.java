@@ -0,0 +1,196 @@
+package com.ns.gateway.batch;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.TextNode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 배치 하위 요청들을 게이트웨이 자신(loopback)으로 다시 보내 기존 라우트·필터 체인을 그대로 거치게 한다.
+ * 최대 concurrency 개까지 동시에 보내고, 끝나는 순서대로 결과를 내보낸다.
+ * 하위 요청의 JWT 검증은 배치 요청에서 이미 검증한 토큰이라 클레임 캐시 조회로 끝난다.
+ */
+@Slf4j
+@Component
+public class BatchDispatcher {
+
+    /** 배치가 보낸 하위 요청 표시. 배치 엔드포인트는 이 헤더가 붙은 요청을 받지 않는다 (중첩 배치 방지). */
+    public static final String SUB_REQUEST_HEADER = "X-Batch-Sub-Request";
+
+    private static final String API_PREFIX = "/api/v1/";
+    // WebFlux 와 같은 방식(행렬 변수 제외, 디코딩 후 세그먼트 비교)으로 배치 경로를 판별한다
+    private static final PathPattern BATCH_PATHS = PathPatternParser.defaultInstance.parse("/api/v1/batch/**");
+    private static final Set<String> ALLOWED_METHODS = Set.of("GET", "POST", "PUT", "PATCH", "DELETE");
+    private static final Set<String> FORWARDED_RESPONSE_HEADERS = Set.of(
+            HttpHeaders.CONTENT_TYPE, HttpHeaders.ETAG, HttpHeaders.CACHE_CONTROL, HttpHeaders.RETRY_AFTER, "X-Cache");
+    private static final Set<String> BLOCKED_REQUEST_HEADERS = Set.of(
+            HttpHeaders.AUTHORIZATION.toLowerCase(Locale.ROOT), HttpHeaders.HOST.toLowerCase(Locale.ROOT),
+            HttpHeaders.CONTENT_LENGTH.toLowerCase(Locale.ROOT), "x-user-id", "x-user-roles",
+            SUB_REQUEST_HEADER.toLowerCase(Locale.ROOT));
+
+    private final String baseUrl;
+    private final WebClient client;
+    private final ObjectMapper objectMapper;
+    private final int concurrency;
+    private final int maxRequests;
+    private final Duration timeout;
+
+    public BatchDispatcher(WebClient.Builder webClientBuilder,
+                           ObjectMapper objectMapper,
+                           @Value("${server.port:8000}") int port,
+                           @Value("${gateway.batch.concurrency:8}") int concurrency,
+                           @Value("${gateway.batch.max-requests:50}") int maxRequests,
+                           @Value("${gateway.batch.timeout:10s}") Duration timeout,
+                           @Value("${gateway.batch.max-response-size:1MB}") DataSize maxResponseSize) {
+        this.baseUrl = "http://127.0.0.1:" + port;
+        this.client = webClientBuilder
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize((int) maxResponseSize.toBytes()))
+                .build();
+        this.objectMapper = objectMapper;
+        this.concurrency = concurrency;
+        this.maxRequests = maxRequests;
+        this.timeout = timeout;
+    }
+
+    public int getMaxRequests() {
+        return maxRequests;
+    }
+
+    /**
+     * @param authorization 배치 요청에서 검증을 마친 Authorization 헤더
+     * @param forwardedFor  원래 클라이언트 IP (속도 제한 등이 같은 사용자로 보도록 전달)
+     */
+    public Flux<BatchResponse> dispatch(List<BatchRequest> requests, String authorization, String forwardedFor) {
+        return Flux.fromIterable(requests)
+                .flatMap(request -> dispatchOne(request, authorization, forwardedFor), concurrency);
+    }
+
+    // 요청 조립 중 예외도 해당 항목의 실패로만 알리도록 전체를 defer 안에서 만든다
+    private Mono<BatchResponse> dispatchOne(BatchRequest request, String authorization, String forwardedFor) {
+        return Mono.defer(() -> send(request, authorization, forwardedFor))
+                .timeout(timeout)
+                .onErrorResume(e -> {
+                    // 하위 요청 실패는 배치 전체를 실패시키지 않고 해당 항목의 상태로만 알린다
+                    log.warn("batch sub-request {} {} failed: {}", request.method(), request.path(), e.toString());
+                    HttpStatus status = e instanceof TimeoutException ? HttpStatus.GATEWAY_TIMEOUT : HttpStatus.BAD_GATEWAY;
+                    return Mono.just(failure(request.id(), status, status.getReasonPhrase()));
+                });
+    }
+
+    private Mono<BatchResponse> send(BatchRequest request, String authorization, String forwardedFor) {
+        String invalid = validate(request);
+        if (invalid != null) {
+            return Mono.just(failure(request.id(), HttpStatus.BAD_REQUEST, invalid));
+        }
+        URI target = targetUri(request.path());
+        if (BATCH_PATHS.matches(PathContainer.parsePath(target.getRawPath()))) {
+            return Mono.just(failure(request.id(), HttpStatus.BAD_REQUEST, "nested batch requests are not allowed"));
+        }
+
+        HttpMethod method = HttpMethod.valueOf(request.method() == null ? "GET" : request.method().toUpperCase(Locale.ROOT));
+        WebClient.RequestBodySpec spec = client.method(method)
+                .uri(target)
+                .headers(headers -> {
+                    if (request.headers() != null) {
+                        request.headers().forEach((name, value) -> {
+                            if (!BLOCKED_REQUEST_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                                headers.set(name, value);
+                            }
+                        });
+                    }
+                    headers.set(HttpHeaders.AUTHORIZATION, authorization);
+                    if (forwardedFor != null) {
+                        headers.set("X-Forwarded-For", forwardedFor);
+                    }
+                    headers.set(SUB_REQUEST_HEADER, "1");
+                });
+        WebClient.RequestHeadersSpec<?> withBody = request.body() != null && !request.body().isNull()
+                ? spec.contentType(MediaType.APPLICATION_JSON).bodyValue(request.body())
+                : spec;
+
+        return withBody.exchangeToMono(response -> response.bodyToMono(byte[].class)
+                .defaultIfEmpty(new byte[0])
+                .map(body -> new BatchResponse(request.id(), response.statusCode().value(),
+                        headersOf(response), bodyOf(body, response))));
+    }
+
+    // 클라이언트 경로를 URI 템플릿으로 해석하지 않는다 ({x} 가 변수로 풀리지 않음).
+    // 이미 인코딩된 경로는 그대로 쓰고, URI 에 쓸 수 없는 문자가 있으면 인코딩한다
+    private URI targetUri(String path) {
+        try {
+            return UriComponentsBuilder.fromUriString(baseUrl + path).build(true).toUri();
+        } catch (IllegalArgumentException e) {
+            return UriComponentsBuilder.fromUriString(baseUrl + path).build().encode().toUri();
+        }
+    }
+
+    private static String validate(BatchRequest request) {
+        String path = request.path();
+        if (path == null || !path.startsWith(API_PREFIX)) {
+            return "path must start with " + API_PREFIX;
+        }
+        if (request.method() != null && !ALLOWED_METHODS.contains(request.method().toUpperCase(Locale.ROOT))) {
+            return "unsupported method " + request.method();
+        }
+        return null;
+    }
+
+    private static Map<String, String> headersOf(ClientResponse response) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        HttpHeaders source = response.headers().asHttpHeaders();
+        for (String name : FORWARDED_RESPONSE_HEADERS) {
+            String value = source.getFirst(name);
+            if (value != null) {
+                headers.put(name, value);
+            }
+        }
+        return headers;
+    }
+
+    // JSON 응답은 그대로 포함하고, 그 외(또는 파싱 실패)는 문자열로 넣는다
+    private JsonNode bodyOf(byte[] body, ClientResponse response) {
+        if (body.length == 0) {
+            return null;
+        }
+        MediaType contentType = response.headers().contentType().orElse(null);
+        if (contentType != null && (MediaType.APPLICATION_JSON.isCompatibleWith(contentType)
+                || contentType.getSubtype().endsWith("+json"))) {
+            try {
+                return objectMapper.readTree(body);
+            } catch (IOException ignored) {
+                // 잘못된 JSON 은 문자열로 전달
+            }
+        }
+        return TextNode.valueOf(new String(body, StandardCharsets.UTF_8));
+    }
+
+    private static BatchResponse failure(String id, HttpStatus status, String message) {
+        return new BatchResponse(id, status.value(), Map.of(), TextNode.valueOf(message));
+    }
+}
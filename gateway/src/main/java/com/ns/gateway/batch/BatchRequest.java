@@ -0,0 +1,23 @@
+package com.ns.gateway.batch;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.Map;
+
+/**
+ * 배치 안의 하위 요청 하나.
+ *
+ * @param id      응답과 짝을 맞추기 위한 클라이언트 지정 ID
+ * @param method  HTTP 메서드 (없으면 GET)
+ * @param path    게이트웨이 경로 (/api/v1/notes/... 처럼 외부에서 호출하는 경로 그대로)
+ * @param headers 추가 헤더 (Authorization 은 배치 요청의 것을 사용)
+ * @param body    JSON 바디 (없으면 null)
+ */
+public record BatchRequest(
+        String id,
+        String method,
+        String path,
+        Map<String, String> headers,
+        JsonNode body
+) {
+}
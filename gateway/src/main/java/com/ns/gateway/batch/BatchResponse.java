@@ -0,0 +1,18 @@
+package com.ns.gateway.batch;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.Map;
+
+/**
+ * 하위 요청 하나의 결과. 하위 요청이 실패해도 배치 전체는 200 이고, 실패는 status 로만 표현한다.
+ *
+ * @param body JSON 응답은 그대로, 그 외는 문자열 노드
+ */
+public record BatchResponse(
+        String id,
+        int status,
+        Map<String, String> headers,
+        JsonNode body
+) {
+}
@@ -0,0 +1,36 @@
+package com.ns.gateway.cache;
+
+import com.ns.gateway.filter.JwtAuthenticationGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.server.ServerWebExchange;
+
+/**
+ * 응답 캐시 키 생성 규칙. 라우트 + 사용자 + 경로/쿼리 단위로 구분한다.
+ * (사용자는 JwtAuthentication 필터가 토큰에서 꺼내 둔 속성을 쓴다. 클라이언트가 보낸 X-User-ID 는 믿지 않으며,
+ * 인증이 없는 라우트는 anonymous 로 묶인다)
+ */
+public final class CacheKeys {
+
+    private static final String ANONYMOUS = "anonymous";
+    private static final String UNKNOWN_ROUTE = "unknown";
+
+    private CacheKeys() {
+    }
+
+    public static String routeId(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        return route != null ? route.getId() : UNKNOWN_ROUTE;
+    }
+
+    public static String of(String routeId, ServerWebExchange exchange) {
+        ServerHttpRequest request = exchange.getRequest();
+        String userId = exchange.getAttribute(JwtAuthenticationGatewayFilterFactory.USER_ID_ATTR);
+        String query = request.getURI().getRawQuery();
+        return routeId + '\n'
+                + (userId != null ? userId : ANONYMOUS) + '\n'
+                + request.getURI().getRawPath()
+                + (query != null ? "?" + query : "");
+    }
+}
@@ -0,0 +1,21 @@
+package com.ns.gateway.cache;
+
+import org.springframework.http.MediaType;
+
+import java.time.Duration;
+
+/**
+ * 캐시된 다운스트림 응답.
+ *
+ * @param cacheControl 다운스트림이 내려준 Cache-Control (없으면 null)
+ * @param generation   저장 당시 라우트 세대 번호
+ */
+public record CachedResponse(
+        byte[] body,
+        MediaType contentType,
+        String cacheControl,
+        String etag,
+        long generation,
+        Duration ttl
+) {
+}
@@ -0,0 +1,82 @@
+package com.ns.gateway.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 게이트웨이 응답 캐시 저장소.
+ * 전체 바이트 예산(maximumWeight) 안에서 W-TinyLFU 로 축출하며, 엔트리마다 TTL 을 따로 가진다.
+ * 라우트 무효화는 라우트별 세대(generation) 번호를 올리는 방식이라 O(1) 이고, 이전 세대 엔트리는 조회 시 무시된다.
+ */
+@Component
+public class ResponseCacheStore {
+
+    // 키·헤더 등 바디 외 엔트리 고정 비용 추정치
+    private static final int ENTRY_OVERHEAD_BYTES = 256;
+
+    private final Cache<String, CachedResponse> cache;
+    private final ConcurrentMap<String, AtomicLong> routeGenerations = new ConcurrentHashMap<>();
+
+    public ResponseCacheStore(@Value("${gateway.response-cache.max-size:64MB}") DataSize maxSize,
+                              MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((String key, CachedResponse value) ->
+                        (int) Math.min(Integer.MAX_VALUE, value.body().length + key.length() * 2L + ENTRY_OVERHEAD_BYTES))
+                .expireAfter(new Expiry<String, CachedResponse>() {
+                    @Override
+                    public long expireAfterCreate(String key, CachedResponse value, long currentTime) {
+                        return value.ttl().toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, CachedResponse value, long currentTime, long currentDuration) {
+                        return value.ttl().toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, CachedResponse value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "gateway.response");
+    }
+
+    public CachedResponse get(String routeId, String key) {
+        CachedResponse cached = cache.getIfPresent(key);
+        if (cached == null) {
+            return null;
+        }
+        if (cached.generation() != generation(routeId)) {
+            cache.invalidate(key);
+            return null;
+        }
+        return cached;
+    }
+
+    public long generation(String routeId) {
+        return routeGenerations.computeIfAbsent(routeId, id -> new AtomicLong()).get();
+    }
+
+    public void put(String key, CachedResponse response) {
+        cache.put(key, response);
+    }
+
+    // 같은 라우트에서 쓰기 요청이 성공하면 해당 라우트의 모든 캐시 엔트리를 무효화
+    public void invalidateRoute(String routeId) {
+        routeGenerations.computeIfAbsent(routeId, id -> new AtomicLong()).incrementAndGet();
+    }
+}
@@ -0,0 +1,15 @@
+package com.ns.gateway.cache;
+
+import org.springframework.http.MediaType;
+
+/**
+ * 마지막으로 성공한 GET 응답. 다운스트림 장애 시 stale 응답으로 사용한다.
+ *
+ * @param storedAtMillis 저장 시각 (Age 헤더 계산용)
+ */
+public record StaleResponse(
+        byte[] body,
+        MediaType contentType,
+        long storedAtMillis
+) {
+}
@@ -0,0 +1,61 @@
+package com.ns.gateway.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.time.Duration;
+
+/**
+ * 라우트·사용자·경로별 마지막 성공 GET 응답 저장소 (stale-while-error).
+ * 서킷브레이커가 열리거나 업스트림이 타임아웃되면 FallbackController 가 여기서 응답을 꺼내 쓴다.
+ */
+@Component
+public class StaleResponseStore {
+
+    /** StaleIfError 필터가 요청 시점에 계산한 키를 fallback 까지 전달하는 exchange 속성 */
+    public static final String KEY_ATTR = StaleResponseStore.class.getName() + ".key";
+
+    private static final int ENTRY_OVERHEAD_BYTES = 128;
+
+    private final Cache<String, StaleResponse> cache;
+    private final MeterRegistry meterRegistry;
+
+    public StaleResponseStore(@Value("${gateway.stale-cache.max-size:32MB}") DataSize maxSize,
+                              @Value("${gateway.stale-cache.max-age:10m}") Duration maxAge,
+                              MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((String key, StaleResponse value) ->
+                        (int) Math.min(Integer.MAX_VALUE, value.body().length + key.length() * 2L + ENTRY_OVERHEAD_BYTES))
+                .expireAfterWrite(maxAge)
+                .build();
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void put(String key, StaleResponse response) {
+        cache.put(key, response);
+    }
+
+    /**
+     * fallback 으로 넘어온 요청의 stale 응답을 찾는다. 결과는 route/result 태그로 집계된다.
+     */
+    public StaleResponse find(ServerWebExchange exchange) {
+        String routeId = CacheKeys.routeId(exchange);
+        String key = exchange.getAttribute(KEY_ATTR);
+        StaleResponse stale = key != null ? cache.getIfPresent(key) : null;
+
+        Counter.builder("gateway.stale.responses")
+                .description("서킷브레이커 fallback 시 stale 응답 제공 여부")
+                .tag("route", routeId)
+                .tag("result", stale != null ? "served" : "miss")
+                .register(meterRegistry)
+                .increment();
+        return stale;
+    }
+}
@@ -0,0 +1,152 @@
+package com.ns.gateway.concurrency;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 라우트 하나의 동시 처리 수를 {@link GradientLimit} 한도 안으로 제한한다.
+ * 한도를 넘으면 최대 maxQueue 개까지 queueTimeout 동안만 대기시키고, 그 외에는 바로 거부한다.
+ */
+public class ConcurrencyLimiter {
+
+    private final GradientLimit limit;
+    private final int maxQueue;
+    private final Duration queueTimeout;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final Queue<Waiter> waiters = new ConcurrentLinkedQueue<>();
+
+    public ConcurrencyLimiter(GradientLimit limit, int maxQueue, Duration queueTimeout) {
+        this.limit = limit;
+        this.maxQueue = maxQueue;
+        this.queueTimeout = queueTimeout;
+    }
+
+    /** 허가를 얻으면 true. true 를 받은 호출자는 반드시 {@link #release} 를 한 번 호출해야 한다. */
+    public Mono<Boolean> acquire() {
+        if (tryAcquire()) {
+            return Mono.just(true);
+        }
+        if (maxQueue <= 0 || queueTimeout.isZero()) {
+            return Mono.just(false);
+        }
+        return Mono.create(sink -> {
+            if (queued.incrementAndGet() > maxQueue) {
+                queued.decrementAndGet();
+                sink.success(false);
+                return;
+            }
+            Waiter waiter = new Waiter(sink);
+            waiters.offer(waiter);
+            Disposable timer = Mono.delay(queueTimeout).subscribe(t -> {
+                if (waiter.claim()) {
+                    waiters.remove(waiter);
+                    queued.decrementAndGet();
+                    sink.success(false);
+                }
+            });
+            sink.onDispose(timer);
+            sink.onCancel(() -> {
+                if (waiter.claim()) {
+                    waiters.remove(waiter);
+                    queued.decrementAndGet();
+                } else if (waiter.isGranted()) {
+                    // 허가를 넘겼지만 구독자가 받기 전에 취소했다. 아무도 release 하지 않으므로 여기서 반납한다
+                    release();
+                }
+            });
+            // 큐에 넣는 사이 허가가 반납됐을 수 있다
+            drain();
+        });
+    }
+
+    public void release(long rttNanos, int inFlightAtStart, boolean dropped) {
+        limit.onSample(rttNanos, inFlightAtStart, dropped);
+        inFlight.decrementAndGet();
+        drain();
+    }
+
+    /** 샘플 없이 허가만 반납 (업스트림까지 가지 않은 요청) */
+    public void release() {
+        inFlight.decrementAndGet();
+        drain();
+    }
+
+    public int getLimit() {
+        return limit.getLimit();
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public int getQueued() {
+        return queued.get();
+    }
+
+    private boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit.getLimit()) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private void drain() {
+        while (!waiters.isEmpty()) {
+            if (!tryAcquire()) {
+                return;
+            }
+            Waiter waiter = waiters.poll();
+            if (waiter == null) {
+                inFlight.decrementAndGet();
+                return;
+            }
+            if (!waiter.grant()) {
+                // 이미 타임아웃·취소된 대기자
+                inFlight.decrementAndGet();
+                continue;
+            }
+            queued.decrementAndGet();
+            waiter.sink.success(true);
+        }
+    }
+
+    private static final class Waiter {
+        private static final int WAITING = 0;
+        private static final int GRANTED = 1;     // 허가를 넘김 (받은 구독자가 release 책임)
+        private static final int ABANDONED = 2;   // 타임아웃·취소로 허가 없이 끝남
+
+        private final MonoSink<Boolean> sink;
+        private final AtomicInteger state = new AtomicInteger(WAITING);
+
+        private Waiter(MonoSink<Boolean> sink) {
+            this.sink = sink;
+        }
+
+        /** 허가 없이 끝내기 (타임아웃·취소) */
+        private boolean claim() {
+            return state.compareAndSet(WAITING, ABANDONED);
+        }
+
+        /** 허가 넘기기 (drain) */
+        private boolean grant() {
+            return state.compareAndSet(WAITING, GRANTED);
+        }
+
+        private boolean isGranted() {
+            return state.get() == GRANTED;
+        }
+    }
+}
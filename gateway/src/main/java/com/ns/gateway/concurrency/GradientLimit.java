@@ -0,0 +1,82 @@
+package com.ns.gateway.concurrency;
+
+/**
+ * RTT 기울기(gradient) 기반 동시성 한도 계산기.
+ * 장기 평균 RTT 와 최근 RTT 의 비율로 한도를 줄이거나 늘린다.
+ * 최근 RTT 가 장기 평균보다 커지면(큐잉 시작) 한도를 줄이고, 비슷하면 sqrt(limit) 만큼 여유를 두고 늘린다.
+ * 시간 소스를 받지 않고 샘플만으로 동작하므로 단위 테스트에서 그대로 검증할 수 있다.
+ */
+public class GradientLimit {
+
+    private static final double MIN_GRADIENT = 0.5;
+    private static final double DROP_BACKOFF = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+    private final double rttTolerance;
+    private final int longWindow;
+
+    private double limit;
+    private double longRttNanos;
+
+    /**
+     * @param smoothing    새 한도를 반영하는 비율 (0~1, 클수록 빠르게 반응)
+     * @param rttTolerance 장기 RTT 대비 이만큼 느려진 것까지는 정상으로 본다 (예: 1.5)
+     * @param longWindow   장기 RTT EWMA 의 샘플 수
+     */
+    public GradientLimit(int initialLimit, int minLimit, int maxLimit,
+                         double smoothing, double rttTolerance, int longWindow) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.smoothing = smoothing;
+        this.rttTolerance = rttTolerance;
+        this.longWindow = Math.max(1, longWindow);
+        this.limit = clamp(initialLimit);
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    /**
+     * @param rttNanos 업스트림 RTT
+     * @param inFlight 요청 시작 시점의 동시 처리 수
+     * @param dropped  타임아웃·연결 실패·503 등으로 과부하 신호가 온 경우
+     */
+    public synchronized int onSample(long rttNanos, int inFlight, boolean dropped) {
+        if (dropped) {
+            // 과부하 신호는 곱셈 감소로 바로 반영
+            limit = clamp(limit * DROP_BACKOFF);
+            return (int) limit;
+        }
+        if (rttNanos <= 0) {
+            return (int) limit;
+        }
+
+        if (longRttNanos == 0) {
+            longRttNanos = rttNanos;
+        } else {
+            longRttNanos += (rttNanos - longRttNanos) / longWindow;
+        }
+        // 부하가 오래 지속되면 장기 RTT 가 같이 올라가 감지가 둔해지므로, 최근 RTT 와 격차가 크면 빠르게 따라 내려간다
+        if (longRttNanos / rttNanos > 2.0) {
+            longRttNanos *= 0.95;
+        }
+
+        // 한도의 절반도 쓰지 않는 동안에는 RTT 정보가 한도와 무관하므로 키우지 않는다
+        if (inFlight < limit / 2) {
+            return (int) limit;
+        }
+
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, rttTolerance * longRttNanos / rttNanos));
+        double queueAllowance = Math.sqrt(limit);
+        double target = limit * gradient + queueAllowance;
+        limit = clamp(limit * (1 - smoothing) + target * smoothing);
+        return (int) limit;
+    }
+
+    private double clamp(double value) {
+        return Math.max(minLimit, Math.min(maxLimit, value));
+    }
+}
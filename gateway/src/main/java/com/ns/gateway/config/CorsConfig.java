@@ -23,8 +23,8 @@ public class CorsConfig {
                 "https://pkm-frontend-zeta.vercel.app"));
 
         config.setAllowedMethods(Arrays.asList("GET","POST","PUT","PATCH","DELETE","OPTIONS"));
-        config.setAllowedHeaders(Arrays.asList("Authorization","Content-Type","X-Requested-With","X-User-Id"));
-        config.setExposedHeaders(Arrays.asList("accessToken", "refreshToken", "Access-Control-Allow-Origin", "Access-Control-Allow-Credentials"));
+        config.setAllowedHeaders(Arrays.asList("Authorization","Content-Type","X-Requested-With","X-User-Id", "X-Server-Timing"));
+        config.setExposedHeaders(Arrays.asList("accessToken", "refreshToken", "Access-Control-Allow-Origin", "Access-Control-Allow-Credentials", "Server-Timing"));
         config.setAllowCredentials(true);
         config.setMaxAge(3600L);
 
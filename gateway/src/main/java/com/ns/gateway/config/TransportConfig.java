@@ -0,0 +1,26 @@
+package com.ns.gateway.config;
+
+import com.ns.gateway.transport.NettyTransport;
+import org.springframework.boot.web.embedded.netty.NettyServerCustomizer;
+import org.springframework.cloud.gateway.config.HttpClientCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.netty.http.HttpResources;
+
+/**
+ * 서버와 게이트웨이 공용 HttpClient 를 같은 전송 계층(gateway.transport.mode)의 전역 루프 위에서 돌린다.
+ * 라우트 전용 풀 클라이언트는 UpstreamClientRegistry 가 같은 설정으로 만든다.
+ */
+@Configuration
+public class TransportConfig {
+
+    @Bean
+    public NettyServerCustomizer transportServerCustomizer(NettyTransport transport) {
+        return server -> server.runOn(HttpResources.get(), transport.isPreferNative());
+    }
+
+    @Bean
+    public HttpClientCustomizer transportHttpClientCustomizer(NettyTransport transport) {
+        return client -> client.runOn(HttpResources.get(), transport.isPreferNative());
+    }
+}
@@ -0,0 +1,141 @@
+package com.ns.gateway.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ns.gateway.batch.BatchDispatcher;
+import com.ns.gateway.batch.BatchRequest;
+import com.ns.gateway.jwt.JwtVerifier;
+import com.ns.gateway.jwt.RevokedTokenException;
+import com.ns.gateway.utils.ErrorResponseWriter;
+import com.ns.gateway.utils.GatewayErrorMessages;
+import io.jsonwebtoken.*;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static com.ns.gateway.utils.AuthErrorMessages.*;
+
+/**
+ * 여러 API 호출을 한 번에 보내는 배치 엔드포인트.
+ * 배치 요청에서 JWT 를 한 번 검증한 뒤 하위 요청을 기존 라우트로 병렬 전달하고,
+ * 결과는 끝나는 순서대로 JSON 배열(Accept: application/x-ndjson 이면 NDJSON)로 스트리밍한다.
+ */
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+public class BatchController {
+
+    private final JwtVerifier jwtVerifier;
+    private final BatchDispatcher batchDispatcher;
+    private final ObjectMapper objectMapper;
+
+    @PostMapping("/api/v1/batch")
+    public Mono<Void> batch(@RequestBody List<BatchRequest> requests, ServerWebExchange exchange) {
+        ServerHttpRequest request = exchange.getRequest();
+        // 경로를 어떻게 바꿔 적든 배치가 보낸 하위 요청은 다시 배치로 받지 않는다
+        if (request.getHeaders().containsKey(BatchDispatcher.SUB_REQUEST_HEADER)) {
+            return ErrorResponseWriter.write(exchange, HttpStatus.BAD_REQUEST, GatewayErrorMessages.NESTED_BATCH);
+        }
+        String authorization = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (authorization == null) {
+            return ErrorResponseWriter.write(exchange, HttpStatus.UNAUTHORIZED, NO_AUTH_HEADER);
+        }
+        if (!authorization.startsWith("Bearer ")) {
+            return ErrorResponseWriter.write(exchange, HttpStatus.UNAUTHORIZED, INVALID_TOKEN_FORMAT);
+        }
+        String authError = authenticate(authorization.substring("Bearer ".length()));
+        if (authError != null) {
+            return ErrorResponseWriter.write(exchange, HttpStatus.UNAUTHORIZED, authError);
+        }
+
+        if (requests.isEmpty() || requests.size() > batchDispatcher.getMaxRequests()) {
+            return ErrorResponseWriter.write(exchange, HttpStatus.BAD_REQUEST, GatewayErrorMessages.INVALID_BATCH_SIZE);
+        }
+
+        boolean ndjson = request.getHeaders().getAccept().stream().anyMatch(MediaType.APPLICATION_NDJSON::isCompatibleWith);
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.OK);
+        response.getHeaders().setContentType(ndjson ? MediaType.APPLICATION_NDJSON : MediaType.APPLICATION_JSON);
+
+        DataBufferFactory bufferFactory = response.bufferFactory();
+        Flux<byte[]> items = batchDispatcher.dispatch(requests, authorization, clientAddress(request))
+                .index()
+                .map(indexed -> {
+                    byte[] json = toJson(indexed.getT2());
+                    String prefix = ndjson ? "" : (indexed.getT1() == 0 ? "[" : ",");
+                    return concat(prefix, json, ndjson ? "\n" : "");
+                });
+        Flux<byte[]> body = ndjson ? items : items.concatWith(Mono.just("]".getBytes(StandardCharsets.UTF_8)));
+
+        // 항목마다 flush 해서 먼저 끝난 결과를 바로 내려보낸다
+        return response.writeAndFlushWith(body.map(bytes -> Mono.just(bufferFactory.wrap(bytes))));
+    }
+
+    // 배치 전체에 대해 한 번만 검증한다. 실패하면 JwtAuthentication 필터와 같은 메시지를 돌려준다.
+    private String authenticate(String jwt) {
+        try {
+            Claims claims = jwtVerifier.verify(jwt);
+            if (claims.getSubject() == null || claims.getSubject().isBlank()) {
+                return MISSING_USER_ID;
+            }
+            return null;
+        } catch (RevokedTokenException e) {
+            return REVOKED_TOKEN;
+        } catch (SignatureException e) {
+            return INVALID_SIGNATURE;
+        } catch (ExpiredJwtException e) {
+            return EXPIRED_TOKEN;
+        } catch (UnsupportedJwtException e) {
+            return UNSUPPORTED_TOKEN;
+        } catch (MalformedJwtException e) {
+            return MALFORMED_TOKEN;
+        } catch (IllegalArgumentException e) {
+            return EMPTY_CLAIMS;
+        } catch (JwtException e) {
+            log.debug("batch authentication failed: {}", e.getMessage());
+            return INVALID_SIGNATURE;
+        }
+    }
+
+    private byte[] toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] concat(String prefix, byte[] json, String suffix) {
+        byte[] head = prefix.getBytes(StandardCharsets.UTF_8);
+        byte[] tail = suffix.getBytes(StandardCharsets.UTF_8);
+        byte[] out = new byte[head.length + json.length + tail.length];
+        System.arraycopy(head, 0, out, 0, head.length);
+        System.arraycopy(json, 0, out, head.length, json.length);
+        System.arraycopy(tail, 0, out, head.length + json.length, tail.length);
+        return out;
+    }
+
+    private static String clientAddress(ServerHttpRequest request) {
+        String forwardedFor = request.getHeaders().getFirst("X-Forwarded-For");
+        if (forwardedFor != null && !forwardedFor.isBlank()) {
+            return forwardedFor;
+        }
+        InetSocketAddress remote = request.getRemoteAddress();
+        return remote != null && remote.getAddress() != null ? remote.getAddress().getHostAddress() : null;
+    }
+}
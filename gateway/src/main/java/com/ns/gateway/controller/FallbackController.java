@@ -1,14 +1,46 @@
 package com.ns.gateway.controller;
 
+import com.ns.gateway.cache.StaleResponse;
+import com.ns.gateway.cache.StaleResponseStore;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
+import java.nio.charset.StandardCharsets;
+
 @RestController
+@RequiredArgsConstructor
 public class FallbackController {
 
+    private static final String FALLBACK_MESSAGE = "Please try again later.";
+    // RFC 7234 warn-code 110
+    private static final String STALE_WARNING = "110 - \"Response is Stale\"";
+
+    private final StaleResponseStore staleResponseStore;
+
+    // 마지막 성공 응답이 있으면 stale 응답으로, 없으면 기존 안내 메시지로 응답
     @GetMapping("/fallback")
-    public Mono<String> defaultFallback() {
-        return Mono.just("Please try again later.");
+    public Mono<ResponseEntity<byte[]>> defaultFallback(ServerWebExchange exchange) {
+        StaleResponse stale = staleResponseStore.find(exchange);
+        if (stale == null) {
+            return Mono.just(ResponseEntity.ok()
+                    .contentType(MediaType.TEXT_PLAIN)
+                    .body(FALLBACK_MESSAGE.getBytes(StandardCharsets.UTF_8)));
+        }
+
+        long ageSeconds = Math.max(0L, (System.currentTimeMillis() - stale.storedAtMillis()) / 1000);
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .header("Warning", STALE_WARNING)
+                .header("X-Stale", "true")
+                .header(HttpHeaders.AGE, String.valueOf(ageSeconds));
+        if (stale.contentType() != null) {
+            builder.contentType(stale.contentType());
+        }
+        return Mono.just(builder.body(stale.body()));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,129 @@
+package com.ns.gateway.filter;
+
+import com.ns.gateway.concurrency.ConcurrencyLimiter;
+import com.ns.gateway.concurrency.GradientLimit;
+import com.ns.gateway.utils.ErrorResponseWriter;
+import com.ns.gateway.utils.GatewayErrorMessages;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.HasRouteId;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.SignalType;
+
+import java.time.Duration;
+
+/**
+ * 라우트별 적응형 동시성 제한 필터.
+ * 업스트림 RTT 를 샘플로 {@link GradientLimit} 이 한도를 계속 조정하고, 한도를 넘는 요청은 잠깐 대기시키거나 503 으로 바로 거부한다.
+ * 서킷브레이커보다 앞에 두어, 실패가 쌓이기 전에 느려지는 단계에서 백엔드를 보호한다.
+ */
+@Component
+public class AdaptiveConcurrencyGatewayFilterFactory extends AbstractGatewayFilterFactory<AdaptiveConcurrencyGatewayFilterFactory.Config> {
+
+    private final MeterRegistry meterRegistry;
+
+    public AdaptiveConcurrencyGatewayFilterFactory(MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Getter
+    @Setter
+    public static class Config implements HasRouteId {
+        private String routeId;
+        private int initialLimit = 20;
+        private int minLimit = 5;
+        private int maxLimit = 200;
+        private double smoothing = 0.2;                          // 새 한도 반영 비율
+        private double rttTolerance = 1.5;                       // 장기 RTT 대비 허용 지연 배수
+        private int longWindow = 600;                            // 장기 RTT EWMA 샘플 수
+        private int maxQueue = 0;                                // 한도 초과 시 대기 가능한 요청 수 (0 이면 바로 거부)
+        private Duration queueTimeout = Duration.ofMillis(50);   // 대기 최대 시간
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        String routeId = config.getRouteId() != null ? config.getRouteId() : "unknown";
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(
+                new GradientLimit(config.getInitialLimit(), config.getMinLimit(), config.getMaxLimit(),
+                        config.getSmoothing(), config.getRttTolerance(), config.getLongWindow()),
+                config.getMaxQueue(), config.getQueueTimeout());
+        registerGauges(routeId, limiter);
+        Counter accepted = counter(routeId, "accepted");
+        Counter rejected = counter(routeId, "rejected");
+
+        return (exchange, chain) -> limiter.acquire().flatMap(granted -> {
+            if (!granted) {
+                rejected.increment();
+                exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER, "1");
+                return ErrorResponseWriter.write(exchange, HttpStatus.SERVICE_UNAVAILABLE, GatewayErrorMessages.SERVICE_OVERLOADED);
+            }
+
+            accepted.increment();
+            int inFlightAtStart = limiter.getInFlight();
+            return chain.filter(exchange)
+                    .doFinally(signal -> {
+                        Long upstreamNanos = exchange.getAttribute(UpstreamTimingGlobalFilter.UPSTREAM_NANOS_ATTR);
+                        boolean dropped = isDropped(exchange, signal);
+                        if (upstreamNanos == null && !dropped) {
+                            // 업스트림까지 가지 않은 요청 (캐시 응답 등) 은 한도 계산에 쓰지 않는다
+                            limiter.release();
+                        } else {
+                            limiter.release(upstreamNanos != null ? upstreamNanos : 0L, inFlightAtStart, dropped);
+                        }
+                    });
+        });
+    }
+
+    // 타임아웃·연결 실패·서킷브레이커 fallback·503/504 는 과부하 신호로 본다
+    private static boolean isDropped(ServerWebExchange exchange, SignalType signal) {
+        if (signal == SignalType.ON_ERROR) {
+            return true;
+        }
+        if (exchange.getAttribute(ServerWebExchangeUtils.CIRCUITBREAKER_EXECUTION_EXCEPTION_ATTR) != null) {
+            return true;
+        }
+        HttpStatusCode status = exchange.getResponse().getStatusCode();
+        return status != null && (status.value() == HttpStatus.SERVICE_UNAVAILABLE.value()
+                || status.value() == HttpStatus.GATEWAY_TIMEOUT.value());
+    }
+
+    // 라우트가 새로 고쳐지면 이전 limiter 를 가리키는 게이지를 교체한다
+    private void registerGauges(String routeId, ConcurrencyLimiter limiter) {
+        for (String name : new String[]{"gateway.concurrency.limit", "gateway.concurrency.in_flight", "gateway.concurrency.queued"}) {
+            Gauge existing = meterRegistry.find(name).tag("route", routeId).gauge();
+            if (existing != null) {
+                meterRegistry.remove(existing);
+            }
+        }
+        Gauge.builder("gateway.concurrency.limit", limiter, ConcurrencyLimiter::getLimit)
+                .description("현재 적응형 동시성 한도")
+                .tag("route", routeId)
+                .register(meterRegistry);
+        Gauge.builder("gateway.concurrency.in_flight", limiter, ConcurrencyLimiter::getInFlight)
+                .description("처리 중인 요청 수")
+                .tag("route", routeId)
+                .register(meterRegistry);
+        Gauge.builder("gateway.concurrency.queued", limiter, ConcurrencyLimiter::getQueued)
+                .description("한도 초과로 대기 중인 요청 수")
+                .tag("route", routeId)
+                .register(meterRegistry);
+    }
+
+    private Counter counter(String routeId, String result) {
+        return Counter.builder("gateway.concurrency.requests")
+                .tag("route", routeId)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
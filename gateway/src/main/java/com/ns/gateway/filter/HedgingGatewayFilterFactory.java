@@ -0,0 +1,59 @@
+package com.ns.gateway.filter;
+
+import com.ns.gateway.hedge.HedgePolicy;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.HasRouteId;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 멱등 GET 요청에 대한 헤지(hedged request) 사용 여부를 라우트별로 켜는 필터.
+ * 이 필터는 정책만 exchange 속성에 올려두고, 실제 요청 두 개를 보내고 경주시키는 일은
+ * 요청 URL 이 확정된 뒤 실행되는 {@link HedgingGlobalFilter} 가 한다.
+ * 기본값은 꺼짐(enabled = false)이며, 라우트 설정에서 명시적으로 켜야 동작한다.
+ */
+@Component
+public class HedgingGatewayFilterFactory extends AbstractGatewayFilterFactory<HedgingGatewayFilterFactory.Config> {
+
+    private final MeterRegistry meterRegistry;
+
+    public HedgingGatewayFilterFactory(MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Getter
+    @Setter
+    public static class Config implements HasRouteId {
+        private String routeId;
+        private boolean enabled = false;                           // 켜야만 헤지한다 (옵트인)
+        private double percentile = 0.95;                          // 이 퍼센타일 응답 시간이 지나면 헤지
+        private double maxExtraLoad = 0.05;                        // 헤지로 늘어나는 요청 비율 상한
+        private Duration minDelay = Duration.ofMillis(10);         // 헤지 지연 하한
+        private Duration initialDelay = Duration.ofMillis(100);    // 샘플이 모이기 전 헤지 지연
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        if (!config.isEnabled()) {
+            return (exchange, chain) -> chain.filter(exchange);
+        }
+        HedgePolicy policy = new HedgePolicy(
+                config.getRouteId() != null ? config.getRouteId() : "unknown",
+                config.getPercentile(), config.getMaxExtraLoad(), config.getMinDelay(), config.getInitialDelay(),
+                meterRegistry);
+
+        return (exchange, chain) -> {
+            if (HttpMethod.GET.equals(exchange.getRequest().getMethod())) {
+                exchange.getAttributes().put(HedgingGlobalFilter.HEDGE_POLICY_ATTR, policy);
+            }
+            return chain.filter(exchange);
+        };
+    }
+}
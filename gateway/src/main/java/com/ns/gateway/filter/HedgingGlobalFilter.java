@@ -0,0 +1,203 @@
+package com.ns.gateway.filter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ns.gateway.hedge.HedgePolicy;
+import com.ns.gateway.loadbalancer.InstanceSelector;
+import com.ns.gateway.loadbalancer.LoadBalancerRegistry;
+import com.ns.gateway.loadbalancer.UpstreamInstance;
+import com.ns.gateway.upstream.UpstreamClientRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyRoutingFilter;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.netty.http.client.HttpClient;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Hedging 필터가 켜진 GET 요청을 NettyRoutingFilter 대신 직접 라우팅한다.
+ * 첫 요청을 보내고 헤지 지연(최근 p95 등)이 지나도 응답 헤더가 없으면 예산 안에서 같은 요청을 한 번 더 보내며,
+ * 먼저 응답 헤더가 도착한 쪽을 쓰고 나머지 요청은 취소한다.
+ * 고른 응답의 바디는 모으지 않고 그대로 흘려보내므로 응답 크기에 제한이 없다.
+ * 로드밸런싱 라우트에서는 헤지 요청의 인스턴스를 다시 골라, 가능하면 첫 요청과 다른 인스턴스로 보낸다.
+ */
+@Component
+public class HedgingGlobalFilter implements GlobalFilter, Ordered {
+
+    /** 라우트의 {@link HedgePolicy}. Hedging 라우트 필터가 넣는다. */
+    public static final String HEDGE_POLICY_ATTR = HedgingGlobalFilter.class.getName() + ".policy";
+
+    // 첫 요청과 다른 인스턴스를 고르기 위해 다시 뽑는 횟수
+    private static final int HEDGE_PICK_ATTEMPTS = 3;
+
+    private final WebClient defaultClient;
+    private final UpstreamClientRegistry upstreamClients;
+    private final LoadBalancerRegistry loadBalancers;
+    // 라우트 전용 HttpClient 별 WebClient (라우트 갱신으로 버려진 HttpClient 는 GC 대상)
+    private final Cache<HttpClient, WebClient> routeClients = Caffeine.newBuilder().weakKeys().build();
+    private final ObjectProvider<List<HttpHeadersFilter>> headersFiltersProvider;
+
+    // 게이트웨이 라우팅과 같은 커넥션 풀(HttpClient 빈 또는 라우트 전용 풀)을 쓴다
+    public HedgingGlobalFilter(HttpClient httpClient, UpstreamClientRegistry upstreamClients,
+                               LoadBalancerRegistry loadBalancers,
+                               ObjectProvider<List<HttpHeadersFilter>> headersFiltersProvider) {
+        this.defaultClient = webClient(httpClient);
+        this.upstreamClients = upstreamClients;
+        this.loadBalancers = loadBalancers;
+        this.headersFiltersProvider = headersFiltersProvider;
+    }
+
+    // UpstreamTimingGlobalFilter 안쪽, NettyRoutingFilter 바로 앞
+    @Override
+    public int getOrder() {
+        return NettyRoutingFilter.ORDER - 1;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        HedgePolicy policy = exchange.getAttribute(HEDGE_POLICY_ATTR);
+        URI requestUrl = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR);
+        String scheme = requestUrl != null ? requestUrl.getScheme() : null;
+        if (policy == null || ServerWebExchangeUtils.isAlreadyRouted(exchange)
+                || !HttpMethod.GET.equals(exchange.getRequest().getMethod())
+                || (!"http".equals(scheme) && !"https".equals(scheme))) {
+            return chain.filter(exchange);
+        }
+        ServerWebExchangeUtils.setAlreadyRouted(exchange);
+
+        List<HttpHeadersFilter> headersFilters = headersFiltersProvider.getIfAvailable();
+        HttpHeaders requestHeaders = HttpHeadersFilter.filterRequest(headersFilters, exchange);
+
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        HttpClient routeClient = route != null ? upstreamClients.clientFor(route) : null;
+        WebClient client = routeClient != null ? routeClients.get(routeClient, HedgingGlobalFilter::webClient) : defaultClient;
+        InstanceSelector selector = route != null ? loadBalancers.selectorFor(route) : null;
+
+        policy.onRequest();
+        long startNanos = System.nanoTime();
+        // 두 요청의 헤더가 거의 동시에 와도 한쪽만 쓰고 다른 쪽 바디는 바로 취소한다
+        AtomicBoolean decided = new AtomicBoolean();
+
+        Mono<Attempt> primary = send(client, requestUrl, requestHeaders)
+                .flatMap(response -> claim(decided, response, false));
+        // 헤지 실패는 무시하고 첫 요청 결과를 기다린다. 예산이 없으면 헤지하지 않는다.
+        Mono<Attempt> hedge = Mono.delay(policy.hedgeDelay())
+                .flatMap(tick -> policy.tryHedge()
+                        ? sendHedge(client, selector, route, exchange, requestUrl, requestHeaders)
+                                .flatMap(response -> claim(decided, response, true))
+                        : Mono.<Attempt>never())
+                .onErrorResume(e -> Mono.never());
+
+        return Mono.firstWithSignal(primary, hedge)
+                .flatMap(attempt -> {
+                    policy.onResponse(System.nanoTime() - startNanos, attempt.hedge());
+                    return write(exchange, attempt.response(), headersFilters);
+                });
+    }
+
+    private static WebClient webClient(HttpClient httpClient) {
+        return WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+
+    // 응답 헤더가 오면 바로 내보내고, 바디는 구독하는 쪽에서 흘려받는다. 4xx/5xx 도 그대로 전달한다.
+    private Mono<ResponseEntity<Flux<DataBuffer>>> send(WebClient client, URI url, HttpHeaders headers) {
+        return client.get()
+                .uri(url)
+                .headers(h -> h.addAll(headers))
+                .retrieve()
+                .onStatus(status -> true, response -> Mono.empty())
+                .toEntityFlux(DataBuffer.class);
+    }
+
+    // 로드밸런싱 라우트면 헤지용 인스턴스를 다시 고르고, 그 결과를 인스턴스 통계에 반영한다
+    private Mono<ResponseEntity<Flux<DataBuffer>>> sendHedge(WebClient client, InstanceSelector selector, Route route,
+                                                             ServerWebExchange exchange, URI requestUrl, HttpHeaders headers) {
+        UpstreamInstance instance = selector != null
+                ? chooseOther(selector, exchange.getAttribute(LoadBalancerGlobalFilter.INSTANCE_ATTR))
+                : null;
+        if (instance == null) {
+            return send(client, requestUrl, headers);
+        }
+
+        selector.onStart(instance);
+        long startNanos = System.nanoTime();
+        return send(client, LoadBalancerGlobalFilter.retarget(requestUrl, instance.uri()), headers)
+                .doFinally(signal -> {
+                    // 취소(경주에서 짐)는 지연 샘플로도, 성공으로도 치지 않는다
+                    if (signal == SignalType.CANCEL) {
+                        selector.onCancel(instance);
+                        return;
+                    }
+                    if (selector.onResult(instance, System.nanoTime() - startNanos, signal == SignalType.ON_ERROR)) {
+                        loadBalancers.onEjected(route.getId(), instance);
+                    }
+                });
+    }
+
+    // 첫 요청이 간 인스턴스를 피해서 고른다. 다른 인스턴스가 없으면 같은 인스턴스로 보낸다
+    private static UpstreamInstance chooseOther(InstanceSelector selector, URI primaryInstance) {
+        UpstreamInstance chosen = null;
+        for (int i = 0; i < HEDGE_PICK_ATTEMPTS; i++) {
+            chosen = selector.choose();
+            if (chosen == null || !Objects.equals(chosen.uri(), primaryInstance)) {
+                return chosen;
+            }
+        }
+        return chosen;
+    }
+
+    private static Mono<Attempt> claim(AtomicBoolean decided, ResponseEntity<Flux<DataBuffer>> response, boolean hedge) {
+        if (decided.compareAndSet(false, true)) {
+            return Mono.just(new Attempt(response, hedge));
+        }
+        discard(response);
+        return Mono.never();
+    }
+
+    // 진 쪽 바디를 구독하자마자 취소해 커넥션을 돌려준다
+    private static void discard(ResponseEntity<Flux<DataBuffer>> response) {
+        Flux<DataBuffer> body = response.getBody();
+        if (body != null) {
+            body.doOnNext(DataBufferUtils::release).subscribe().dispose();
+        }
+    }
+
+    private Mono<Void> write(ServerWebExchange exchange, ResponseEntity<Flux<DataBuffer>> upstream,
+                             List<HttpHeadersFilter> headersFilters) {
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders filtered = HttpHeadersFilter.filter(headersFilters, upstream.getHeaders(), exchange, HttpHeadersFilter.Type.RESPONSE);
+        response.setStatusCode(upstream.getStatusCode());
+        response.getHeaders().putAll(filtered);
+        Flux<DataBuffer> body = upstream.getBody();
+        if (body == null) {
+            return response.setComplete();
+        }
+        return response.writeWith(body);
+    }
+
+    private record Attempt(ResponseEntity<Flux<DataBuffer>> response, boolean hedge) {
+    }
+}
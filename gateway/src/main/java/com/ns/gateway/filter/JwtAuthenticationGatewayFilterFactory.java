@@ -1,13 +1,18 @@
 package com.ns.gateway.filter;
 
+import com.ns.gateway.jwt.JwtVerifier;
+import com.ns.gateway.jwt.RevokedTokenException;
+import com.ns.gateway.path.PathPatternIndex;
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.gateway.filter.GatewayFilter;
 import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
 import org.springframework.core.Ordered;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
@@ -15,15 +20,15 @@ import org.springframework.http.MediaType;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.stereotype.Component;
-import org.springframework.util.AntPathMatcher;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
-import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.time.Instant;
-import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 import static com.ns.gateway.utils.AuthErrorMessages.*;
 import static com.ns.gateway.utils.AuthLogMessages.*;
@@ -31,12 +36,17 @@ import static com.ns.gateway.utils.AuthLogMessages.*;
 @Slf4j
 @Component
 public class JwtAuthenticationGatewayFilterFactory extends AbstractGatewayFilterFactory<JwtAuthenticationGatewayFilterFactory.Config> implements Ordered {
-    private final SecretKey signingKey;
-    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    /** 인증된 사용자 ID 를 다른 필터(액세스 로그 등)에 넘기는 exchange 속성 */
+    public static final String USER_ID_ATTR = JwtAuthenticationGatewayFilterFactory.class.getName() + ".userId";
+
+    private final JwtVerifier jwtVerifier;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> authTimers = new ConcurrentHashMap<>();
     
-    public JwtAuthenticationGatewayFilterFactory(@Value("${jwt.secret}") String secret) {
+    public JwtAuthenticationGatewayFilterFactory(JwtVerifier jwtVerifier, MeterRegistry meterRegistry) {
         super(Config.class);
-        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.jwtVerifier = jwtVerifier;
+        this.meterRegistry = meterRegistry;
     }
 
     @Override
@@ -59,13 +69,15 @@ public class JwtAuthenticationGatewayFilterFactory extends AbstractGatewayFilter
 
     @Override
     public GatewayFilter apply(Config config) {
-        List<String> currentPublicPaths = config.getPublicPaths() != null ? config.getPublicPaths() : Collections.emptyList();
+        // 라우트 생성 시점에 한 번만 컴파일하고 요청마다 재사용
+        PathPatternIndex currentPublicPaths = PathPatternIndex.compile(config.getPublicPaths());
 
         return (exchange, chain) -> {
+            long startNanos = System.nanoTime();
             ServerHttpRequest request = exchange.getRequest();
 
             if (isPublicPath(request.getURI().getPath(), currentPublicPaths)) {
-                log.info(PUBLIC_PATH_SKIPPED, request.getURI().getPath());
+                log.debug(PUBLIC_PATH_SKIPPED, request.getURI().getPath());
                 return chain.filter(exchange);
             }
 
@@ -73,7 +85,7 @@ public class JwtAuthenticationGatewayFilterFactory extends AbstractGatewayFilter
             try {
                 jwt = extractJwtToken(request);
             } catch (IllegalArgumentException e) {
-                return onError(exchange, e.getMessage(), HttpStatus.UNAUTHORIZED);
+                return reject(exchange, startNanos, e.getMessage(), HttpStatus.UNAUTHORIZED);
             }
 
             try {
@@ -83,27 +95,33 @@ public class JwtAuthenticationGatewayFilterFactory extends AbstractGatewayFilter
                 String userId = claims.getSubject();
                 String role = claims.get("role", String.class);
 
-                log.info(AUTH_SUCCESS, userId, role);
+                // 사용자 ID 는 액세스 로그 레코드에 포함되므로 요청마다 info 로 남기지 않는다
+                log.debug(AUTH_SUCCESS, userId, role);
+                exchange.getAttributes().put(USER_ID_ATTR, userId);
+                recordAuthTime(exchange, startNanos, "authenticated");
                 return chain.filter(exchange.mutate().request(mutatedRequest).build());
 
+            } catch (RevokedTokenException e) {
+                log.warn("{} - {}", REVOKED_TOKEN, e.getMessage());
+                return reject(exchange, startNanos, REVOKED_TOKEN, HttpStatus.UNAUTHORIZED);
             } catch (SignatureException e) {
                 log.error("{} - {}", INVALID_SIGNATURE, e.getMessage());
-                return onError(exchange, INVALID_SIGNATURE, HttpStatus.UNAUTHORIZED);
+                return reject(exchange, startNanos, INVALID_SIGNATURE, HttpStatus.UNAUTHORIZED);
             } catch (ExpiredJwtException e) {
                 log.error("{} - {}", EXPIRED_TOKEN, e.getMessage());
-                return onError(exchange, EXPIRED_TOKEN, HttpStatus.UNAUTHORIZED);
+                return reject(exchange, startNanos, EXPIRED_TOKEN, HttpStatus.UNAUTHORIZED);
             } catch (UnsupportedJwtException e) {
                 log.error("{} - {}", UNSUPPORTED_TOKEN, e.getMessage());
-                return onError(exchange, UNSUPPORTED_TOKEN, HttpStatus.UNAUTHORIZED);
+                return reject(exchange, startNanos, UNSUPPORTED_TOKEN, HttpStatus.UNAUTHORIZED);
             } catch (MalformedJwtException e) {
                 log.error("{} - {}", MALFORMED_TOKEN, e.getMessage());
-                return onError(exchange, MALFORMED_TOKEN, HttpStatus.UNAUTHORIZED);
+                return reject(exchange, startNanos, MALFORMED_TOKEN, HttpStatus.UNAUTHORIZED);
             } catch (IllegalArgumentException e) {
                 log.error("{} - {}", EMPTY_CLAIMS, e.getMessage());
-                return onError(exchange, EMPTY_CLAIMS, HttpStatus.UNAUTHORIZED);
+                return reject(exchange, startNanos, EMPTY_CLAIMS, HttpStatus.UNAUTHORIZED);
             } catch (Exception e) {
                 log.error("{} - {}", AUTHENTICATION_FAILED, e.getMessage(), e);
-                return onError(exchange, AUTHENTICATION_FAILED, HttpStatus.INTERNAL_SERVER_ERROR);
+                return reject(exchange, startNanos, AUTHENTICATION_FAILED, HttpStatus.INTERNAL_SERVER_ERROR);
             }
         };
     }
@@ -123,16 +141,12 @@ public class JwtAuthenticationGatewayFilterFactory extends AbstractGatewayFilter
     }
 
     private Claims validateJwt(String jwt) {
-        return Jwts.parserBuilder()
-                .setSigningKey(signingKey)
-                .build()
-                .parseClaimsJws(jwt)
-                .getBody();
+        return jwtVerifier.verify(jwt);
     }
 
 
-    /** 마이크로 서비스들은 헤더의 이 정보들만 가지고 사용자를 판단 */
-    private ServerHttpRequest retainHeader(ServerHttpRequest request, Claims claims) {
+    /** 마이크로 서비스들은 헤더의 이 정보들만 가지고 사용자를 판단 (JMH 벤치마크에서 직접 호출하므로 package-private) */
+    ServerHttpRequest retainHeader(ServerHttpRequest request, Claims claims) {
         String userId = claims.getSubject();
         String role = claims.get("role", String.class);
 
@@ -149,7 +163,26 @@ public class JwtAuthenticationGatewayFilterFactory extends AbstractGatewayFilter
                 .build();
     }
 
-    private Mono<Void> onError(ServerWebExchange exchange, String err, HttpStatus httpStatus) {
+    private Mono<Void> reject(ServerWebExchange exchange, long startNanos, String err, HttpStatus httpStatus) {
+        recordAuthTime(exchange, startNanos, "rejected");
+        return onError(exchange, err, httpStatus);
+    }
+
+    // 업스트림 시간과 분리된 JWT 필터 자체 처리 시간 (다음 필터 호출 전까지만 측정)
+    private void recordAuthTime(ServerWebExchange exchange, long startNanos, String outcome) {
+        long elapsedNanos = System.nanoTime() - startNanos;
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        String routeId = route != null ? route.getId() : "unknown";
+        authTimers.computeIfAbsent(routeId + ' ' + outcome, key -> Timer.builder("gateway.jwt.duration")
+                        .description("JwtAuthentication 필터 처리 시간")
+                        .tag("route", routeId)
+                        .tag("outcome", outcome)
+                        .register(meterRegistry))
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+        ServerTimingGlobalFilter.record(exchange, "gw-auth", "jwt", elapsedNanos);
+    }
+
+    Mono<Void> onError(ServerWebExchange exchange, String err, HttpStatus httpStatus) {
         ServerHttpResponse response = exchange.getResponse();
         response.setStatusCode(httpStatus);
         response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
@@ -166,7 +199,7 @@ public class JwtAuthenticationGatewayFilterFactory extends AbstractGatewayFilter
         return response.writeWith(Mono.just(response.bufferFactory().wrap(errorJson.getBytes(StandardCharsets.UTF_8))));
     }
 
-    private boolean isPublicPath(String path, List<String> publicPaths) {
-    return publicPaths.stream().anyMatch(pattern -> pathMatcher.match(pattern, path));
-}
+    boolean isPublicPath(String path, PathPatternIndex publicPaths) {
+        return publicPaths.matches(path);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,93 @@
+package com.ns.gateway.filter;
+
+import com.ns.gateway.loadbalancer.InstanceSelector;
+import com.ns.gateway.loadbalancer.LoadBalancerRegistry;
+import com.ns.gateway.loadbalancer.UpstreamInstance;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.RouteToRequestUrlFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.net.URI;
+
+/**
+ * lb-instances / lb-dns metadata 가 있는 라우트의 요청 URL 을 고른 인스턴스 주소로 바꾼다.
+ * Spring Cloud LoadBalancer 필터와 같은 자리(RouteToRequestUrlFilter 다음)에서 실행되므로
+ * 재시도 필터가 체인을 다시 실행하면 인스턴스도 다시 고른다.
+ * 응답이 끝나면 업스트림 시간과 성공 여부를 인스턴스 통계에 반영한다.
+ */
+@Component
+public class LoadBalancerGlobalFilter implements GlobalFilter, Ordered {
+
+    /** 이번 요청에 고른 인스턴스 주소(URI). */
+    public static final String INSTANCE_ATTR = LoadBalancerGlobalFilter.class.getName() + ".instance";
+
+    private final LoadBalancerRegistry registry;
+
+    public LoadBalancerGlobalFilter(LoadBalancerRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public int getOrder() {
+        return RouteToRequestUrlFilter.ROUTE_TO_URL_FILTER_ORDER + 150;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        URI requestUrl = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR);
+        if (route == null || requestUrl == null) {
+            return chain.filter(exchange);
+        }
+        InstanceSelector selector = registry.selectorFor(route);
+        UpstreamInstance instance = selector != null ? selector.choose() : null;
+        if (instance == null) {
+            return chain.filter(exchange);
+        }
+
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR, retarget(requestUrl, instance.uri()));
+        exchange.getAttributes().put(INSTANCE_ATTR, instance.uri());
+
+        selector.onStart(instance);
+        long startNanos = System.nanoTime();
+        return chain.filter(exchange)
+                .doFinally(signal -> {
+                    // 취소된 요청은 지연 샘플로도, 성공으로도 치지 않는다
+                    if (signal == SignalType.CANCEL) {
+                        selector.onCancel(instance);
+                        return;
+                    }
+                    if (selector.onResult(instance, System.nanoTime() - startNanos, isFailure(exchange, signal))) {
+                        registry.onEjected(route.getId(), instance);
+                    }
+                });
+    }
+
+    /** 요청 URL 의 scheme·host·port 를 인스턴스 주소로 바꾼다 (경로·쿼리는 그대로). */
+    public static URI retarget(URI requestUrl, URI instance) {
+        return UriComponentsBuilder.fromUri(requestUrl)
+                .scheme(instance.getScheme())
+                .host(instance.getHost())
+                .port(instance.getPort())
+                .build(true)
+                .toUri();
+    }
+
+    // 연결 실패·타임아웃 등 오류 신호와 5xx 응답을 인스턴스 실패로 본다
+    private static boolean isFailure(ServerWebExchange exchange, SignalType signal) {
+        if (signal == SignalType.ON_ERROR) {
+            return true;
+        }
+        HttpStatusCode status = exchange.getResponse().getStatusCode();
+        return status != null && status.is5xxServerError();
+    }
+}
@@ -0,0 +1,120 @@
+package com.ns.gateway.filter;
+
+import com.ns.gateway.path.PathPatternIndex;
+import com.ns.gateway.shedding.OverloadDetector;
+import com.ns.gateway.shedding.Priority;
+import com.ns.gateway.utils.ErrorResponseWriter;
+import com.ns.gateway.utils.GatewayErrorMessages;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.HasRouteId;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 우선순위 기반 부하 차단(load shedding) 필터.
+ * 라우트 기본 우선순위와 경로별 우선순위를 두고, {@link OverloadDetector} 의 과부하 지수가 등급 임계치를 넘으면
+ * 낮은 등급 요청부터 503 + Retry-After 로 바로 거부한다. 모든 라우트의 인증·속도 제한보다 앞에 둔다.
+ */
+@Component
+public class LoadSheddingGatewayFilterFactory extends AbstractGatewayFilterFactory<LoadSheddingGatewayFilterFactory.Config> {
+
+    private final OverloadDetector detector;
+    private final MeterRegistry meterRegistry;
+    private final String retryAfterSeconds;
+
+    public LoadSheddingGatewayFilterFactory(OverloadDetector detector,
+                                            MeterRegistry meterRegistry,
+                                            @Value("${gateway.load-shedding.retry-after:2s}") Duration retryAfter) {
+        super(Config.class);
+        this.detector = detector;
+        this.meterRegistry = meterRegistry;
+        this.retryAfterSeconds = String.valueOf(Math.max(1L, retryAfter.toSeconds()));
+    }
+
+    @Getter
+    @Setter
+    public static class Config implements HasRouteId {
+        private String routeId;
+        private Priority priority = Priority.NORMAL;        // 라우트 기본 우선순위
+        // 경로별 우선순위 (StripPrefix 이후 경로 기준). 필터 args 는 평탄화돼 바인딩되므로 Map 대신 등급별 목록으로 받는다
+        private List<String> criticalPaths;
+        private List<String> highPaths;
+        private List<String> normalPaths;
+        private List<String> lowPaths;
+
+        Map<Priority, List<String>> priorityPaths() {
+            Map<Priority, List<String>> paths = new EnumMap<>(Priority.class);
+            putIfPresent(paths, Priority.CRITICAL, criticalPaths);
+            putIfPresent(paths, Priority.HIGH, highPaths);
+            putIfPresent(paths, Priority.NORMAL, normalPaths);
+            putIfPresent(paths, Priority.LOW, lowPaths);
+            return paths;
+        }
+
+        private static void putIfPresent(Map<Priority, List<String>> paths, Priority priority, List<String> patterns) {
+            if (patterns != null && !patterns.isEmpty()) {
+                paths.put(priority, patterns);
+            }
+        }
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        String routeId = config.getRouteId() != null ? config.getRouteId() : "unknown";
+        Map<Priority, PathPatternIndex> pathIndexes = new EnumMap<>(Priority.class);
+        config.priorityPaths().forEach((priority, paths) -> pathIndexes.put(priority, PathPatternIndex.compile(paths)));
+        Map<Priority, Counter> accepted = counters(routeId, "accepted");
+        Map<Priority, Counter> shed = counters(routeId, "shed");
+
+        return (exchange, chain) -> {
+            Priority priority = priorityOf(exchange.getRequest().getURI().getPath(), pathIndexes, config.getPriority());
+            if (priority.shouldShed(detector.pressure())) {
+                shed.get(priority).increment();
+                exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+                return ErrorResponseWriter.write(exchange, HttpStatus.SERVICE_UNAVAILABLE, GatewayErrorMessages.SERVICE_OVERLOADED);
+            }
+
+            accepted.get(priority).increment();
+            detector.enter();
+            return chain.filter(exchange)
+                    .doFinally(signal -> {
+                        Long upstreamNanos = exchange.getAttribute(UpstreamTimingGlobalFilter.UPSTREAM_NANOS_ATTR);
+                        detector.exit(upstreamNanos != null ? upstreamNanos : 0L);
+                    });
+        };
+    }
+
+    // 경로 우선순위가 여러 개 맞으면 가장 높은 등급을 쓴다 (enum 선언 순서)
+    private static Priority priorityOf(String path, Map<Priority, PathPatternIndex> pathIndexes, Priority fallback) {
+        for (Map.Entry<Priority, PathPatternIndex> entry : pathIndexes.entrySet()) {
+            if (entry.getValue().matches(path)) {
+                return entry.getKey();
+            }
+        }
+        return fallback;
+    }
+
+    private Map<Priority, Counter> counters(String routeId, String result) {
+        Map<Priority, Counter> counters = new EnumMap<>(Priority.class);
+        for (Priority priority : Priority.values()) {
+            counters.put(priority, Counter.builder("gateway.load_shedding.requests")
+                    .tag("route", routeId)
+                    .tag("priority", priority.name())
+                    .tag("result", result)
+                    .register(meterRegistry));
+        }
+        return counters;
+    }
+}
@@ -1,49 +1,115 @@
 package com.ns.gateway.filter;
 
+import com.ns.gateway.accesslog.AccessLogRecord;
+import com.ns.gateway.accesslog.AccessLogWriter;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
 import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
 import org.springframework.core.Ordered;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatusCode;
-import org.springframework.http.server.RequestPath;
+import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.stereotype.Component;
 
 import com.ns.gateway.LogState;
 
-import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
 
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 요청 1건당 구조화된 액세스 로그 레코드 하나를 만들어 AccessLogWriter 링 버퍼에 넣는다.
+ * 이벤트 루프에서는 레코드 생성과 CAS 한 번만 수행하고, 실제 I/O 는 백그라운드 스레드가 담당한다.
+ */
 @Slf4j
 @Component
 public class LoggingGatewayFilterFactory extends AbstractGatewayFilterFactory<LoggingGatewayFilterFactory.Config> implements Ordered {
 
+    private final AccessLogWriter accessLogWriter;
 
-    public LoggingGatewayFilterFactory() {
+    public LoggingGatewayFilterFactory(AccessLogWriter accessLogWriter) {
         super(Config.class);
+        this.accessLogWriter = accessLogWriter;
     }
 
     @Override
     public GatewayFilter apply(Config config) {
         LogState curLogLevel = config.getLogLevel() != null ? config.getLogLevel() : LogState.INFO;
         String curMessage = config.getCustomMessage() != null ? config.getCustomMessage() : "default";
+        Map<LogState, Double> sampleRates = resolveSampleRates(config);
+
+        // 라우트 필터는 응답 헤더를 받으면 끝나고 바디는 NettyWriteResponseFilter 가 그 뒤에 쓴다.
+        // 바디 바이트 수와 응답 완료까지의 시간을 재려면 그 바깥에서 실행돼야 하므로 순서를 직접 지정한다
+        return new OrderedGatewayFilter((exchange, chain) -> {
+            long startNanos = System.nanoTime();
+            ServerHttpRequest request = exchange.getRequest();
+            return chain.filter(exchange)
+                    .doFinally(signal -> {
+                        HttpStatusCode statusCode = exchange.getResponse().getStatusCode();
+                        int status = statusCode != null ? statusCode.value() : (signal == SignalType.ON_ERROR ? 500 : 0);
+                        LogState level = levelOf(curLogLevel, status);
 
-        return (exchange, chain) -> {
-            RequestPath path = exchange.getRequest().getPath();
-            HttpMethod method = exchange.getRequest().getMethod();
-            log.info("[{}] Request Path: {} Method: {}. Message: {}", curLogLevel, path, method, curMessage);
+                        if (!sampled(sampleRates.get(level))) {
+                            return;
+                        }
 
-            return chain.filter(exchange).then(Mono.fromRunnable(() -> {
-                HttpStatusCode statusCode = exchange.getResponse().getStatusCode();
-                log.info("[{}] Response Status: {}. Message: {}", curLogLevel, statusCode, curMessage);
-            }));
-        };
+                        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+                        HttpMethod method = request.getMethod();
+                        // 바이트 수·업스트림 시간은 글로벌 메트릭 필터들이 exchange 속성으로 넘겨준다
+                        AtomicLong responseBytes = exchange.getAttribute(RouteMetricsGlobalFilter.RESPONSE_BYTES_ATTR);
+                        Long upstreamNanos = exchange.getAttribute(UpstreamTimingGlobalFilter.UPSTREAM_NANOS_ATTR);
+                        accessLogWriter.submit(new AccessLogRecord(
+                                System.currentTimeMillis(),
+                                route != null ? route.getId() : null,
+                                method.name(),
+                                request.getPath().value(),
+                                status,
+                                exchange.getAttribute(JwtAuthenticationGatewayFilterFactory.USER_ID_ATTR),
+                                (System.nanoTime() - startNanos) / 1_000_000,
+                                upstreamNanos != null ? upstreamNanos / 1_000_000 : -1,
+                                request.getHeaders().getContentLength(),
+                                responseBytes != null ? responseBytes.get() : -1,
+                                level,
+                                curMessage
+                        ));
+                    });
+        }, getOrder());
     }
 
+    // RouteMetricsGlobalFilter 가 응답 바이트 카운터를 먼저 걸어 두도록 그 바로 안쪽에 둔다
     @Override
     public int getOrder() {
-        return Ordered.HIGHEST_PRECEDENCE;
+        return Ordered.HIGHEST_PRECEDENCE + 1;
+    }
+
+    // 응답 상태에 따라 로그 레벨을 올린다 (4xx → WARN, 5xx → ERROR)
+    private static LogState levelOf(LogState base, int status) {
+        LogState byStatus = status >= 500 ? LogState.ERROR : status >= 400 ? LogState.WARN : LogState.INFO;
+        return byStatus.ordinal() > base.ordinal() ? byStatus : base;
+    }
+
+    private static boolean sampled(double rate) {
+        if (rate >= 1.0) {
+            return true;
+        }
+        return rate > 0.0 && ThreadLocalRandom.current().nextDouble() < rate;
+    }
+
+    private static Map<LogState, Double> resolveSampleRates(Config config) {
+        Map<LogState, Double> rates = new EnumMap<>(LogState.class);
+        for (LogState state : LogState.values()) {
+            Double rate = config.getSampleRates() != null ? config.getSampleRates().get(state) : null;
+            rates.put(state, rate != null ? rate : config.getSampleRate());
+        }
+        return rates;
     }
 
     @Getter
@@ -51,5 +117,7 @@ public class LoggingGatewayFilterFactory extends AbstractGatewayFilterFactory<Lo
     public static class Config {
         private LogState logLevel; // INFO, WARN, ERROR
         private String customMessage; // 원하는 메시지
+        private double sampleRate = 1.0; // 라우트 기본 샘플링 비율 (0.0 ~ 1.0)
+        private Map<LogState, Double> sampleRates; // 레벨별 샘플링 비율 (없으면 sampleRate)
     }
-}
\ No newline at end of file
+}
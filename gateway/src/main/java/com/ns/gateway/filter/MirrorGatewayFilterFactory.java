@@ -0,0 +1,174 @@
+package com.ns.gateway.filter;
+
+import com.ns.gateway.mirror.MirrorClientRegistry;
+import com.ns.gateway.mirror.MirrorPolicy;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.netty.handler.timeout.ReadTimeoutException;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.cloud.gateway.support.HasRouteId;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 라우트 요청의 일부를 섀도 업스트림(새 note 빌드 등)으로 복제하는 용량 테스트용 필터.
+ * 섀도 요청은 주 요청과 동시에 보내고 결과를 기다리지 않으며 (fire-and-forget), 응답 바디는 읽어서 버린다.
+ * 미러링한 요청은 주/섀도 양쪽의 지연시간·상태 분포를 gateway.mirror.latency{target=primary|shadow} 로 나란히 기록한다.
+ * shadowUri 가 비어 있거나 percentage 가 0 이면 아무 일도 하지 않는다.
+ */
+@Component
+public class MirrorGatewayFilterFactory extends AbstractGatewayFilterFactory<MirrorGatewayFilterFactory.Config> {
+
+    /** 섀도 업스트림이 미러링 요청을 구분할 수 있도록 붙이는 헤더 */
+    public static final String SHADOW_HEADER = "X-Shadow-Request";
+
+    private final MirrorClientRegistry mirrorClients;
+    private final ObjectProvider<List<HttpHeadersFilter>> headersFiltersProvider;
+    private final MeterRegistry meterRegistry;
+    private final Duration[] slo;
+    private final Map<String, Timer> latencyTimers = new ConcurrentHashMap<>();
+
+    public MirrorGatewayFilterFactory(MirrorClientRegistry mirrorClients,
+                                      ObjectProvider<List<HttpHeadersFilter>> headersFiltersProvider,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${gateway.metrics.slo:50ms,100ms,250ms,500ms,1s,2s}") Duration[] slo) {
+        super(Config.class);
+        this.mirrorClients = mirrorClients;
+        this.headersFiltersProvider = headersFiltersProvider;
+        this.meterRegistry = meterRegistry;
+        this.slo = slo;
+    }
+
+    @Getter
+    @Setter
+    public static class Config implements HasRouteId {
+        private String routeId;
+        private String shadowUri;                                          // 섀도 업스트림 주소 (경로·쿼리는 주 요청 것을 씀)
+        private double percentage = 0;                                     // 미러링 비율 (0 ~ 100)
+        private List<HttpMethod> methods = List.of(HttpMethod.GET, HttpMethod.HEAD);
+        private int maxConnections = 32;                                   // 섀도 전용 풀 크기
+        private int maxInFlight = 64;                                      // 동시에 진행 중인 섀도 요청 상한
+        private Duration connectTimeout = Duration.ofSeconds(1);
+        private Duration responseTimeout = Duration.ofSeconds(5);
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        if (config.getShadowUri() == null || config.getShadowUri().isBlank() || config.getPercentage() <= 0) {
+            return (exchange, chain) -> chain.filter(exchange);
+        }
+
+        String routeId = config.getRouteId() != null ? config.getRouteId() : "unknown";
+        MirrorPolicy policy = new MirrorPolicy(URI.create(config.getShadowUri()), config.getPercentage(),
+                config.getMethods(), config.getMaxInFlight());
+        HttpClient shadowClient = mirrorClients.create(routeId, config.getMaxConnections(), config.getMaxInFlight(),
+                config.getConnectTimeout(), config.getResponseTimeout());
+        registerGauge(routeId, policy);
+        Counter mirrored = counter(routeId, "mirrored");
+        Counter saturated = counter(routeId, "saturated");
+
+        return (exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            if (!policy.shouldMirror(request.getMethod(), request.getHeaders(), ThreadLocalRandom.current().nextDouble())) {
+                return chain.filter(exchange);
+            }
+            if (!policy.tryAcquire()) {
+                // 섀도가 밀리면 주 요청은 그대로 보내고 미러링만 건너뛴다
+                saturated.increment();
+                return chain.filter(exchange);
+            }
+
+            mirrored.increment();
+            sendShadow(shadowClient, policy, routeId, exchange);
+
+            long startNanos = System.nanoTime();
+            return chain.filter(exchange)
+                    .doFinally(signal -> recordLatency(routeId, "primary",
+                            RouteMetricsGlobalFilter.statusClass(exchange.getResponse().getStatusCode(), signal),
+                            System.nanoTime() - startNanos));
+        };
+    }
+
+    // 결과를 기다리지 않는다. 응답 헤더 수신까지를 주 요청(NettyRoutingFilter 완료 시점)과 같은 기준으로 잰다.
+    private void sendShadow(HttpClient shadowClient, MirrorPolicy policy, String routeId, ServerWebExchange exchange) {
+        ServerHttpRequest request = exchange.getRequest();
+        HttpHeaders headers = HttpHeadersFilter.filterRequest(headersFiltersProvider.getIfAvailable(), exchange);
+        URI shadowUri = policy.shadowUri(request.getURI());
+        io.netty.handler.codec.http.HttpMethod method = io.netty.handler.codec.http.HttpMethod.valueOf(request.getMethod().name());
+
+        long startNanos = System.nanoTime();
+        shadowClient
+                .headers(h -> {
+                    headers.forEach((name, values) -> {
+                        if (!HttpHeaders.HOST.equalsIgnoreCase(name)) {
+                            h.add(name, values);
+                        }
+                    });
+                    h.set(SHADOW_HEADER, "1");
+                })
+                .request(method)
+                .uri(shadowUri)
+                .response((response, body) -> {
+                    recordLatency(routeId, "shadow", (response.status().code() / 100) + "xx", System.nanoTime() - startNanos);
+                    return body.then();
+                })
+                .doFinally(signal -> policy.release())
+                .subscribe(null, error -> recordLatency(routeId, "shadow", failureOf(error), System.nanoTime() - startNanos));
+    }
+
+    private static String failureOf(Throwable error) {
+        return error instanceof ReadTimeoutException || error instanceof TimeoutException ? "timeout" : "error";
+    }
+
+    private void recordLatency(String routeId, String target, String status, long nanos) {
+        latencyTimers.computeIfAbsent(routeId + ' ' + target + ' ' + status, key -> Timer.builder("gateway.mirror.latency")
+                        .description("미러링한 요청의 주/섀도 업스트림 응답 헤더 수신까지의 시간")
+                        .tag("route", routeId)
+                        .tag("target", target)
+                        .tag("status", status)
+                        .serviceLevelObjectives(slo)
+                        .register(meterRegistry))
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    // 라우트가 새로 고쳐지면 이전 정책을 가리키는 게이지를 교체한다
+    private void registerGauge(String routeId, MirrorPolicy policy) {
+        Gauge existing = meterRegistry.find("gateway.mirror.in_flight").tag("route", routeId).gauge();
+        if (existing != null) {
+            meterRegistry.remove(existing);
+        }
+        Gauge.builder("gateway.mirror.in_flight", policy, MirrorPolicy::getInFlight)
+                .description("진행 중인 섀도 요청 수")
+                .tag("route", routeId)
+                .register(meterRegistry);
+    }
+
+    private Counter counter(String routeId, String result) {
+        return Counter.builder("gateway.mirror.requests")
+                .tag("route", routeId)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,38 @@
+package com.ns.gateway.filter;
+
+import com.ns.gateway.upstream.UpstreamClientRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.filter.NettyRoutingFilter;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.netty.http.client.HttpClient;
+
+import java.util.List;
+
+/**
+ * 기본 NettyRoutingFilter 를 대신해, 풀 metadata 가 있는 라우트는 {@link UpstreamClientRegistry} 의 라우트 전용 HttpClient 로 보낸다.
+ * 나머지 라우트는 기존처럼 게이트웨이 공용 HttpClient 를 쓴다.
+ * 기본 필터는 global-filter.netty-routing.enabled=false 로 꺼 둔다.
+ */
+@Component
+public class PooledNettyRoutingFilter extends NettyRoutingFilter {
+
+    private final UpstreamClientRegistry registry;
+
+    public PooledNettyRoutingFilter(HttpClient httpClient,
+                                    ObjectProvider<List<HttpHeadersFilter>> headersFiltersProvider,
+                                    HttpClientProperties properties,
+                                    UpstreamClientRegistry registry) {
+        super(httpClient, headersFiltersProvider, properties);
+        this.registry = registry;
+    }
+
+    @Override
+    protected HttpClient getHttpClient(Route route, ServerWebExchange exchange) {
+        HttpClient pooled = registry.clientFor(route);
+        return pooled != null ? pooled : super.getHttpClient(route, exchange);
+    }
+}
@@ -0,0 +1,105 @@
+package com.ns.gateway.filter;
+
+import com.ns.gateway.cache.CacheKeys;
+import com.ns.gateway.ratelimit.RateLimitQuota;
+import com.ns.gateway.ratelimit.RateLimiter;
+import com.ns.gateway.utils.ErrorResponseWriter;
+import com.ns.gateway.utils.GatewayErrorMessages;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.HasRouteId;
+import org.springframework.cloud.gateway.support.ipresolver.RemoteAddressResolver;
+import org.springframework.cloud.gateway.support.ipresolver.XForwardedRemoteAddressResolver;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.net.InetSocketAddress;
+
+/**
+ * 사용자 단위 토큰 버킷 속도 제한 필터.
+ * 라우트마다 replenishRate / burstCapacity 를 따로 두며, JwtAuthentication 뒤에 두어 검증된 토큰의 사용자 ID 로 버킷을 고른다.
+ * 인증되지 않은 요청(JWT 가 없는 라우트, 공개 경로 등)은 클라이언트가 바꿀 수 있는 헤더(X-User-ID, X-Forwarded-For)를 믿지 않고
+ * 접속 주소로 버킷을 고른다. 앞단에 신뢰할 수 있는 프록시가 있으면 trustedProxyHops 만큼만 X-Forwarded-For 를 따라간다.
+ */
+@Component
+public class RateLimitGatewayFilterFactory extends AbstractGatewayFilterFactory<RateLimitGatewayFilterFactory.Config> {
+
+    private static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+    // 기본 구현: 접속한 소켓의 주소
+    private static final RemoteAddressResolver DIRECT_ADDRESS = new RemoteAddressResolver() {
+    };
+
+    private final RateLimiter rateLimiter;
+    private final MeterRegistry meterRegistry;
+
+    public RateLimitGatewayFilterFactory(RateLimiter rateLimiter, MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.rateLimiter = rateLimiter;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Getter
+    @Setter
+    public static class Config implements HasRouteId {
+        private String routeId;
+        private double replenishRate = 10;     // 초당 보충 토큰 수
+        private long burstCapacity = 20;       // 버킷 최대 크기 (순간 허용량)
+        private int trustedProxyHops = 0;      // 믿을 수 있는 앞단 프록시 수 (0 이면 X-Forwarded-For 무시)
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        RateLimitQuota quota = new RateLimitQuota(config.getReplenishRate(), config.getBurstCapacity());
+        RemoteAddressResolver addressResolver = config.getTrustedProxyHops() > 0
+                ? XForwardedRemoteAddressResolver.maxTrustedIndex(config.getTrustedProxyHops())
+                : DIRECT_ADDRESS;
+        String configRouteId = config.getRouteId() != null ? config.getRouteId() : "unknown";
+        Counter allowed = counter(configRouteId, "allowed");
+        Counter rejected = counter(configRouteId, "rejected");
+
+        return (exchange, chain) -> {
+            String routeId = CacheKeys.routeId(exchange);
+            String key = routeId + ":" + principalOf(exchange, addressResolver);
+
+            return rateLimiter.tryAcquire(key, quota).flatMap(decision -> {
+                HttpHeaders headers = exchange.getResponse().getHeaders();
+                if (decision.remaining() >= 0) {
+                    headers.set(REMAINING_HEADER, String.valueOf(decision.remaining()));
+                }
+
+                if (decision.allowed()) {
+                    allowed.increment();
+                    return chain.filter(exchange);
+                }
+
+                rejected.increment();
+                // Retry-After 는 초 단위 정수 (올림)
+                long retryAfterSeconds = Math.max(1L, (decision.retryAfter().toMillis() + 999) / 1000);
+                headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+                return ErrorResponseWriter.write(exchange, HttpStatus.TOO_MANY_REQUESTS, GatewayErrorMessages.TOO_MANY_REQUESTS);
+            });
+        };
+    }
+
+    private Counter counter(String routeId, String result) {
+        return Counter.builder("gateway.rate_limit.requests")
+                .tag("route", routeId)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static String principalOf(ServerWebExchange exchange, RemoteAddressResolver addressResolver) {
+        String userId = exchange.getAttribute(JwtAuthenticationGatewayFilterFactory.USER_ID_ATTR);
+        if (userId != null) {
+            return "user:" + userId;
+        }
+        InetSocketAddress remote = addressResolver.resolve(exchange);
+        return "ip:" + (remote != null && remote.getAddress() != null ? remote.getAddress().getHostAddress() : "unknown");
+    }
+}
@@ -0,0 +1,233 @@
+package com.ns.gateway.filter;
+
+import com.ns.gateway.cache.CacheKeys;
+import com.ns.gateway.cache.CachedResponse;
+import com.ns.gateway.cache.ResponseCacheStore;
+import com.ns.gateway.path.PathPatternIndex;
+import lombok.Getter;
+import lombok.Setter;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Mono;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 읽기 위주 라우트의 GET 응답을 라우트·사용자 단위로 캐시하는 필터.
+ * 강한 ETag 를 생성해 If-None-Match 요청에는 다운스트림 호출 없이 304 로 응답하고,
+ * 같은 라우트의 쓰기 요청이 2xx 로 끝나면 해당 라우트 캐시를 무효화한다.
+ */
+@Component
+public class ResponseCacheGatewayFilterFactory extends AbstractGatewayFilterFactory<ResponseCacheGatewayFilterFactory.Config> {
+
+    private static final String CACHE_STATUS_HEADER = "X-Cache";
+    // 다운스트림이 Cache-Control 을 주지 않으면 브라우저가 항상 ETag 로 재검증하도록 한다
+    private static final String DEFAULT_CACHE_CONTROL = "private, no-cache";
+
+    private final ResponseCacheStore store;
+
+    public ResponseCacheGatewayFilterFactory(ResponseCacheStore store) {
+        super(Config.class);
+        this.store = store;
+    }
+
+    @Getter
+    @Setter
+    public static class Config {
+        private Duration ttl = Duration.ofSeconds(30);              // Cache-Control max-age 가 없을 때의 TTL
+        private DataSize maxEntrySize = DataSize.ofKilobytes(512);  // 이보다 큰 응답은 캐시하지 않음
+        private List<String> paths;                                 // 캐시 대상 경로 (비어 있으면 모든 GET)
+        private boolean invalidateOnWrite = true;                   // 같은 라우트 쓰기 성공 시 무효화
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        PathPatternIndex cachePaths = PathPatternIndex.compile(config.getPaths());
+        long maxEntryBytes = config.getMaxEntrySize().toBytes();
+
+        return (exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            HttpMethod method = request.getMethod();
+            String routeId = CacheKeys.routeId(exchange);
+
+            if (!HttpMethod.GET.equals(method)) {
+                if (config.isInvalidateOnWrite() && isWrite(method)) {
+                    ServerHttpResponse response = exchange.getResponse();
+                    response.beforeCommit(() -> {
+                        HttpStatusCode status = response.getStatusCode();
+                        if (status != null && status.is2xxSuccessful()) {
+                            store.invalidateRoute(routeId);
+                        }
+                        return Mono.empty();
+                    });
+                }
+                return chain.filter(exchange);
+            }
+
+            if (!cachePaths.isEmpty() && !cachePaths.matches(request.getURI().getPath())) {
+                return chain.filter(exchange);
+            }
+
+            Directives requestDirectives = Directives.parse(request.getHeaders().getCacheControl());
+            String key = CacheKeys.of(routeId, exchange);
+            List<String> ifNoneMatch = request.getHeaders().getIfNoneMatch();
+
+            if (!requestDirectives.noCache()) {
+                CachedResponse cached = store.get(routeId, key);
+                if (cached != null) {
+                    return writeCached(exchange.getResponse(), cached, ifNoneMatch);
+                }
+            }
+
+            // 응답 도중 무효화가 일어나면 이 세대로 저장된 엔트리는 조회 시 버려진다
+            long generation = store.generation(routeId);
+
+            ServerHttpResponse original = exchange.getResponse();
+            ServerHttpResponseDecorator decorated = new ServerHttpResponseDecorator(original) {
+                @Override
+                public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+                    HttpStatusCode status = getStatusCode();
+                    HttpHeaders headers = getHeaders();
+                    String upstreamCacheControl = headers.getCacheControl();
+                    Directives responseDirectives = Directives.parse(upstreamCacheControl);
+
+                    // 서킷브레이커 fallback 응답은 캐시하지 않는다
+                    boolean fallback = exchange.getAttribute(ServerWebExchangeUtils.CIRCUITBREAKER_EXECUTION_EXCEPTION_ATTR) != null;
+                    if (fallback || status == null || status.value() != HttpStatus.OK.value()
+                            || responseDirectives.noStore()
+                            || headers.containsKey(HttpHeaders.SET_COOKIE)
+                            || headers.getContentLength() > maxEntryBytes) {
+                        return super.writeWith(body);
+                    }
+
+                    return DataBufferUtils.join(body).flatMap(joined -> {
+                        byte[] bytes = new byte[joined.readableByteCount()];
+                        joined.read(bytes);
+                        DataBufferUtils.release(joined);
+
+                        String etag = strongEtag(bytes);
+                        headers.setETag(etag);
+                        headers.set(CACHE_STATUS_HEADER, "MISS");
+                        if (upstreamCacheControl == null) {
+                            headers.setCacheControl(DEFAULT_CACHE_CONTROL);
+                        }
+
+                        Duration ttl = ttlOf(responseDirectives, config.getTtl());
+                        boolean storable = !requestDirectives.noStore() && !responseDirectives.noCache()
+                                && bytes.length <= maxEntryBytes && !ttl.isZero() && !ttl.isNegative();
+                        if (storable) {
+                            store.put(key, new CachedResponse(bytes, headers.getContentType(), upstreamCacheControl, etag, generation, ttl));
+                        }
+
+                        if (etagMatches(ifNoneMatch, etag)) {
+                            setStatusCode(HttpStatus.NOT_MODIFIED);
+                            headers.remove(HttpHeaders.CONTENT_LENGTH);
+                            return getDelegate().setComplete();
+                        }
+                        return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+                    });
+                }
+            };
+
+            return chain.filter(exchange.mutate().response(decorated).build());
+        };
+    }
+
+    private Mono<Void> writeCached(ServerHttpResponse response, CachedResponse cached, List<String> ifNoneMatch) {
+        HttpHeaders headers = response.getHeaders();
+        headers.setETag(cached.etag());
+        headers.setCacheControl(cached.cacheControl() != null ? cached.cacheControl() : DEFAULT_CACHE_CONTROL);
+        headers.set(CACHE_STATUS_HEADER, "HIT");
+
+        if (etagMatches(ifNoneMatch, cached.etag())) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return response.setComplete();
+        }
+
+        response.setStatusCode(HttpStatus.OK);
+        if (cached.contentType() != null) {
+            headers.setContentType(cached.contentType());
+        }
+        headers.setContentLength(cached.body().length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.body())));
+    }
+
+    private static boolean isWrite(HttpMethod method) {
+        return HttpMethod.POST.equals(method) || HttpMethod.PUT.equals(method)
+                || HttpMethod.PATCH.equals(method) || HttpMethod.DELETE.equals(method);
+    }
+
+    private static Duration ttlOf(Directives directives, Duration defaultTtl) {
+        if (directives.maxAge() == null) {
+            return defaultTtl;
+        }
+        return directives.maxAge().compareTo(defaultTtl) < 0 ? directives.maxAge() : defaultTtl;
+    }
+
+    // If-None-Match 는 약한 비교 (W/ 접두사 무시)
+    private static boolean etagMatches(List<String> ifNoneMatch, String etag) {
+        for (String candidate : ifNoneMatch) {
+            String tag = candidate.startsWith("W/") ? candidate.substring(2) : candidate;
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String strongEtag(byte[] body) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(hash) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record Directives(boolean noStore, boolean noCache, Duration maxAge) {
+
+        private static final Directives NONE = new Directives(false, false, null);
+
+        static Directives parse(String header) {
+            if (header == null || header.isBlank()) {
+                return NONE;
+            }
+            boolean noStore = false;
+            boolean noCache = false;
+            Duration maxAge = null;
+            for (String token : header.split(",")) {
+                String directive = token.trim().toLowerCase(Locale.ROOT);
+                if (directive.equals("no-store")) {
+                    noStore = true;
+                } else if (directive.equals("no-cache")) {
+                    noCache = true;
+                } else if (directive.startsWith("max-age=")) {
+                    try {
+                        maxAge = Duration.ofSeconds(Long.parseLong(directive.substring("max-age=".length()).replace("\"", "")));
+                    } catch (NumberFormatException ignored) {
+                        // 잘못된 max-age 는 무시
+                    }
+                }
+            }
+            return new Directives(noStore, noCache, maxAge);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.ns.gateway.filter;
+
+import com.ns.gateway.retry.RetryBudget;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.HasRouteId;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.PrematureCloseException;
+import reactor.util.retry.Retry;
+
+import java.net.SocketException;
+import java.net.UnknownHostException;
+import java.nio.channels.ClosedChannelException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 예산 안에서만 재시도하는 필터.
+ * 멱등 메서드이면서 응답을 받기 전 연결 단계에서 실패한 경우(연결 거부·리셋·DNS 실패 등)만 재시도한다.
+ * 응답 타임아웃·5xx 는 백엔드가 이미 느리거나 과부하라는 뜻이라 재시도하지 않는다.
+ * 재시도 간격은 지수 백오프 상한 안에서 무작위로 고른다 (full jitter).
+ * 서킷브레이커보다 안쪽(뒤)에 두어야 fallback 으로 바뀌기 전의 오류를 볼 수 있다.
+ */
+@Component
+public class RetryBudgetGatewayFilterFactory extends AbstractGatewayFilterFactory<RetryBudgetGatewayFilterFactory.Config> {
+
+    private final MeterRegistry meterRegistry;
+
+    public RetryBudgetGatewayFilterFactory(MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Getter
+    @Setter
+    public static class Config implements HasRouteId {
+        private String routeId;
+        private int retries = 2;                                            // 요청당 최대 재시도 횟수
+        private List<HttpMethod> methods = List.of(HttpMethod.GET, HttpMethod.HEAD, HttpMethod.OPTIONS);
+        private double budgetRatio = 0.1;                                   // 성공 요청 대비 재시도 비율 상한
+        private int minRetriesPerSecond = 1;                                // 트래픽이 적을 때의 초당 최소 허용량
+        private Duration budgetWindow = Duration.ofSeconds(10);             // 성공·재시도를 세는 슬라이딩 윈도
+        private Duration firstBackoff = Duration.ofMillis(20);
+        private Duration maxBackoff = Duration.ofMillis(200);
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        String routeId = config.getRouteId() != null ? config.getRouteId() : "unknown";
+        RetryBudget budget = new RetryBudget(config.getBudgetRatio(), config.getMinRetriesPerSecond(), config.getBudgetWindow());
+        Counter attempts = counter("gateway.retry.attempts", routeId, "재시도한 요청 수");
+        Counter exhausted = counter("gateway.retry.budget_exhausted", routeId, "예산이 없어 재시도하지 않은 요청 수");
+        Counter recovered = counter("gateway.retry.recovered", routeId, "재시도 끝에 성공한 요청 수");
+
+        return (exchange, chain) -> {
+            if (!config.getMethods().contains(exchange.getRequest().getMethod())) {
+                return chain.filter(exchange);
+            }
+
+            int[] retried = {0};
+            Retry retry = Retry.from(signals -> signals.concatMap(signal -> {
+                Throwable failure = signal.failure();
+                if (signal.totalRetries() >= config.getRetries() || !isConnectionFailure(failure)
+                        || exchange.getResponse().isCommitted()) {
+                    return Mono.error(failure);
+                }
+                if (!budget.tryAcquire()) {
+                    exhausted.increment();
+                    return Mono.error(failure);
+                }
+                attempts.increment();
+                retried[0]++;
+                reset(exchange);
+                return Mono.delay(backoff(signal.totalRetries(), config));
+            }));
+
+            return Mono.defer(() -> chain.filter(exchange))
+                    .retryWhen(retry)
+                    .doOnSuccess(ignored -> {
+                        HttpStatusCode status = exchange.getResponse().getStatusCode();
+                        if (status == null || !status.is5xxServerError()) {
+                            budget.onSuccess();
+                            if (retried[0] > 0) {
+                                recovered.increment();
+                            }
+                        }
+                    });
+        };
+    }
+
+    // 응답 헤더를 받기 전에 끊긴 경우만 연결 단계 실패로 본다
+    static boolean isConnectionFailure(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SocketException              // ConnectException·ConnectTimeoutException·Connection reset
+                    || cause instanceof UnknownHostException
+                    || cause instanceof ClosedChannelException
+                    || cause instanceof PrematureCloseException) {
+                return true;
+            }
+            if (cause.getCause() == cause) {
+                break;
+            }
+        }
+        return false;
+    }
+
+    // 이전 시도가 남긴 라우팅 표시와 응답 헤더를 지워 NettyRoutingFilter 가 다시 보내게 한다
+    private static void reset(ServerWebExchange exchange) {
+        Set<String> addedHeaders = exchange.getAttributeOrDefault(ServerWebExchangeUtils.CLIENT_RESPONSE_HEADER_NAMES, Collections.emptySet());
+        addedHeaders.forEach(header -> exchange.getResponse().getHeaders().remove(header));
+        ServerWebExchangeUtils.removeAlreadyRouted(exchange);
+    }
+
+    private static Duration backoff(long retriesSoFar, Config config) {
+        long first = config.getFirstBackoff().toMillis();
+        long max = config.getMaxBackoff().toMillis();
+        long ceiling = Math.min(max, first << Math.min(retriesSoFar, 20));
+        return Duration.ofMillis(ThreadLocalRandom.current().nextLong(ceiling + 1));
+    }
+
+    private Counter counter(String name, String routeId, String description) {
+        return Counter.builder(name)
+                .description(description)
+                .tag("route", routeId)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,132 @@
+package com.ns.gateway.filter;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 모든 라우트에 적용되는 지연시간·페이로드 크기 메트릭 필터.
+ * gateway.route.latency (route, method, status 클래스) 타이머와 요청/응답 바디 크기 분포를 기록한다.
+ * 업스트림 구간은 {@link UpstreamTimingGlobalFilter}, JWT 구간은 JwtAuthentication 필터가 따로 기록한다.
+ */
+@Component
+public class RouteMetricsGlobalFilter implements GlobalFilter, Ordered {
+
+    /** 응답 바디 바이트 수 (AtomicLong). 액세스 로그 등 다른 필터가 재사용한다. */
+    public static final String RESPONSE_BYTES_ATTR = RouteMetricsGlobalFilter.class.getName() + ".responseBytes";
+
+    private static final String UNKNOWN_ROUTE = "unknown";
+
+    private final MeterRegistry meterRegistry;
+    private final Duration[] slo;
+    private final double[] percentiles;
+    private final boolean percentileHistogram;
+    private final Map<String, Timer> latencyTimers = new ConcurrentHashMap<>();
+    private final Map<String, DistributionSummary> requestSizes = new ConcurrentHashMap<>();
+    private final Map<String, DistributionSummary> responseSizes = new ConcurrentHashMap<>();
+
+    public RouteMetricsGlobalFilter(MeterRegistry meterRegistry,
+                                    @Value("${gateway.metrics.slo:50ms,100ms,250ms,500ms,1s,2s}") Duration[] slo,
+                                    @Value("${gateway.metrics.percentiles:0.5,0.95,0.99}") double[] percentiles,
+                                    @Value("${gateway.metrics.percentile-histogram:false}") boolean percentileHistogram) {
+        this.meterRegistry = meterRegistry;
+        this.slo = slo;
+        this.percentiles = percentiles;
+        this.percentileHistogram = percentileHistogram;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        long startNanos = System.nanoTime();
+        AtomicLong responseBytes = new AtomicLong();
+        exchange.getAttributes().put(RESPONSE_BYTES_ATTR, responseBytes);
+
+        ServerHttpResponseDecorator countingResponse = new ServerHttpResponseDecorator(exchange.getResponse()) {
+            @Override
+            public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+                return super.writeWith(Flux.from(body).doOnNext(buffer -> responseBytes.addAndGet(buffer.readableByteCount())));
+            }
+
+            @Override
+            public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+                return super.writeAndFlushWith(Flux.from(body).map(part ->
+                        Flux.from(part).doOnNext(buffer -> responseBytes.addAndGet(buffer.readableByteCount()))));
+            }
+        };
+
+        return chain.filter(exchange.mutate().response(countingResponse).build())
+                .doFinally(signal -> record(exchange, signal, System.nanoTime() - startNanos, responseBytes.get()));
+    }
+
+    private void record(ServerWebExchange exchange, SignalType signal, long elapsedNanos, long responseBytes) {
+        String routeId = routeId(exchange);
+        String status = statusClass(exchange.getResponse().getStatusCode(), signal);
+
+        String method = exchange.getRequest().getMethod().name();
+        latencyTimers.computeIfAbsent(routeId + ' ' + method + ' ' + status, key -> Timer.builder("gateway.route.latency")
+                        .description("게이트웨이 라우트별 전체 처리 시간")
+                        .tag("route", routeId)
+                        .tag("method", method)
+                        .tag("status", status)
+                        .serviceLevelObjectives(slo)
+                        .publishPercentiles(percentiles)
+                        .publishPercentileHistogram(percentileHistogram)
+                        .register(meterRegistry))
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+
+        long requestBytes = exchange.getRequest().getHeaders().getContentLength();
+        if (requestBytes >= 0) {
+            sizeSummary(requestSizes, "gateway.route.request.size", routeId).record(requestBytes);
+        }
+        sizeSummary(responseSizes, "gateway.route.response.size", routeId).record(responseBytes);
+    }
+
+    // 요청마다 빌더로 등록하지 않도록 라우트별로 재사용한다
+    private DistributionSummary sizeSummary(Map<String, DistributionSummary> summaries, String name, String routeId) {
+        return summaries.computeIfAbsent(routeId, key -> DistributionSummary.builder(name)
+                .baseUnit("bytes")
+                .tag("route", routeId)
+                .publishPercentiles(percentiles)
+                .publishPercentileHistogram(percentileHistogram)
+                .register(meterRegistry));
+    }
+
+    static String routeId(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        return route != null ? route.getId() : UNKNOWN_ROUTE;
+    }
+
+    // 2xx, 4xx ... 형태로 묶어 태그 카디널리티를 줄인다
+    static String statusClass(HttpStatusCode statusCode, SignalType signal) {
+        if (statusCode == null) {
+            return signal == SignalType.ON_ERROR ? "5xx" : "NONE";
+        }
+        return (statusCode.value() / 100) + "xx";
+    }
+}
@@ -0,0 +1,56 @@
+package com.ns.gateway.filter;
+
+import com.ns.gateway.timing.ServerTimings;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * X-Server-Timing: 1 로 옵트인한 요청에만 Server-Timing 응답 헤더를 붙인다.
+ * 게이트웨이 구간(gw-auth, gw-upstream, gw)은 각 필터가 {@link #TIMINGS_ATTR} 에 기록하고,
+ * 응답 커밋 직전에 다운스트림이 보낸 Server-Timing 값과 합친다. 옵트인하지 않은 요청은 속성 조회 한 번만 든다.
+ */
+@Component
+public class ServerTimingGlobalFilter implements GlobalFilter, Ordered {
+
+    /** 옵트인한 요청의 {@link ServerTimings}. 없으면 기록하지 않는다. */
+    public static final String TIMINGS_ATTR = ServerTimingGlobalFilter.class.getName() + ".timings";
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!ServerTimings.isRequested(exchange.getRequest().getHeaders().getFirst(ServerTimings.OPT_IN_HEADER))) {
+            return chain.filter(exchange);
+        }
+
+        long startNanos = System.nanoTime();
+        ServerTimings timings = new ServerTimings();
+        exchange.getAttributes().put(TIMINGS_ATTR, timings);
+
+        ServerHttpResponse response = exchange.getResponse();
+        response.beforeCommit(() -> {
+            timings.record("gw", "gateway", System.nanoTime() - startNanos);
+            HttpHeaders headers = response.getHeaders();
+            headers.set(ServerTimings.HEADER, timings.merge(headers.get(ServerTimings.HEADER)));
+            return Mono.empty();
+        });
+        return chain.filter(exchange);
+    }
+
+    /** 옵트인한 요청이면 구간 시간을 기록한다. */
+    public static void record(ServerWebExchange exchange, String name, String description, long nanos) {
+        ServerTimings timings = exchange.getAttribute(TIMINGS_ATTR);
+        if (timings != null) {
+            timings.record(name, description, nanos);
+        }
+    }
+}
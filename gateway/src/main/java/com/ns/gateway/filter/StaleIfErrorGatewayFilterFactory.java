@@ -0,0 +1,93 @@
+package com.ns.gateway.filter;
+
+import com.ns.gateway.cache.CacheKeys;
+import com.ns.gateway.cache.StaleResponse;
+import com.ns.gateway.cache.StaleResponseStore;
+import com.ns.gateway.path.PathPatternIndex;
+import lombok.Getter;
+import lombok.Setter;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * 성공한 GET 응답을 StaleResponseStore 에 기록하는 필터.
+ * CircuitBreaker 필터보다 앞에 두면, 브레이커가 열렸을 때 FallbackController 가 마지막 응답을 stale 로 내려준다.
+ */
+@Component
+public class StaleIfErrorGatewayFilterFactory extends AbstractGatewayFilterFactory<StaleIfErrorGatewayFilterFactory.Config> {
+
+    private final StaleResponseStore store;
+
+    public StaleIfErrorGatewayFilterFactory(StaleResponseStore store) {
+        super(Config.class);
+        this.store = store;
+    }
+
+    @Getter
+    @Setter
+    public static class Config {
+        private List<String> paths;                                 // 기록 대상 경로 (비어 있으면 모든 GET)
+        private DataSize maxEntrySize = DataSize.ofKilobytes(512);  // 이보다 큰 응답은 기록하지 않음
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        PathPatternIndex stalePaths = PathPatternIndex.compile(config.getPaths());
+        long maxEntryBytes = config.getMaxEntrySize().toBytes();
+
+        return (exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            if (!HttpMethod.GET.equals(request.getMethod())
+                    || (!stalePaths.isEmpty() && !stalePaths.matches(request.getURI().getPath()))) {
+                return chain.filter(exchange);
+            }
+
+            String key = CacheKeys.of(CacheKeys.routeId(exchange), exchange);
+            // fallback 으로 forward 되어도 exchange 속성은 공유되므로 키를 넘겨 둔다
+            exchange.getAttributes().put(StaleResponseStore.KEY_ATTR, key);
+
+            ServerHttpResponseDecorator decorated = new ServerHttpResponseDecorator(exchange.getResponse()) {
+                @Override
+                public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+                    HttpStatusCode status = getStatusCode();
+                    HttpHeaders headers = getHeaders();
+                    boolean fallback = exchange.getAttribute(ServerWebExchangeUtils.CIRCUITBREAKER_EXECUTION_EXCEPTION_ATTR) != null;
+
+                    if (fallback || status == null || status.value() != HttpStatus.OK.value()
+                            || headers.containsKey(HttpHeaders.SET_COOKIE)
+                            || headers.getContentLength() > maxEntryBytes) {
+                        return super.writeWith(body);
+                    }
+
+                    return DataBufferUtils.join(body).flatMap(joined -> {
+                        byte[] bytes = new byte[joined.readableByteCount()];
+                        joined.read(bytes);
+                        DataBufferUtils.release(joined);
+
+                        if (bytes.length <= maxEntryBytes) {
+                            store.put(key, new StaleResponse(bytes, headers.getContentType(), System.currentTimeMillis()));
+                        }
+                        return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+                    });
+                }
+            };
+
+            return chain.filter(exchange.mutate().response(decorated).build());
+        };
+    }
+}
@@ -0,0 +1,82 @@
+package com.ns.gateway.filter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyRoutingFilter;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * NettyRoutingFilter 바로 앞에서 업스트림 구간(요청 전송 ~ 응답 헤더 수신)만 따로 측정한다.
+ * 게이트웨이 자체 필터(JWT 등) 시간과 다운스트림 서비스 시간을 분리해서 볼 수 있다.
+ */
+@Component
+public class UpstreamTimingGlobalFilter implements GlobalFilter, Ordered {
+
+    /** 업스트림 소요 시간(nanos, Long). 종료 신호 전에 기록하므로 바깥 필터의 doFinally 에서 읽을 수 있다. */
+    public static final String UPSTREAM_NANOS_ATTR = UpstreamTimingGlobalFilter.class.getName() + ".upstreamNanos";
+
+    private final MeterRegistry meterRegistry;
+    private final Duration[] slo;
+    private final double[] percentiles;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public UpstreamTimingGlobalFilter(MeterRegistry meterRegistry,
+                                      @Value("${gateway.metrics.slo:50ms,100ms,250ms,500ms,1s,2s}") Duration[] slo,
+                                      @Value("${gateway.metrics.percentiles:0.5,0.95,0.99}") double[] percentiles) {
+        this.meterRegistry = meterRegistry;
+        this.slo = slo;
+        this.percentiles = percentiles;
+    }
+
+    // HedgingGlobalFilter(ORDER - 1) 가 직접 라우팅하는 요청도 측정하도록 그보다 바깥에 둔다
+    @Override
+    public int getOrder() {
+        return NettyRoutingFilter.ORDER - 2;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        URI requestUrl = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR);
+        String scheme = requestUrl != null ? requestUrl.getScheme() : null;
+        if (!"http".equals(scheme) && !"https".equals(scheme)) {
+            return chain.filter(exchange);
+        }
+
+        long startNanos = System.nanoTime();
+        return chain.filter(exchange)
+                // 바깥 필터의 doFinally 가 이 필터의 doFinally 보다 먼저 돌므로, 업스트림 시간은 종료 신호를 넘기기 전에 남긴다.
+                // Server-Timing 도 응답이 커밋되기 전에 기록해야 한다
+                .doOnTerminate(() -> {
+                    long elapsedNanos = System.nanoTime() - startNanos;
+                    exchange.getAttributes().put(UPSTREAM_NANOS_ATTR, elapsedNanos);
+                    ServerTimingGlobalFilter.record(exchange, "gw-upstream", "upstream", elapsedNanos);
+                })
+                .doFinally(signal -> timer(RouteMetricsGlobalFilter.routeId(exchange),
+                        RouteMetricsGlobalFilter.statusClass(exchange.getResponse().getStatusCode(), signal))
+                        .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS));
+    }
+
+    // 요청마다 빌더로 등록하지 않도록 (route, status) 별 타이머를 재사용한다
+    private Timer timer(String routeId, String status) {
+        return timers.computeIfAbsent(routeId + ' ' + status, key -> Timer.builder("gateway.route.upstream")
+                .description("업스트림 서비스 응답 헤더 수신까지의 시간")
+                .tag("route", routeId)
+                .tag("status", status)
+                .serviceLevelObjectives(slo)
+                .publishPercentiles(percentiles)
+                .register(meterRegistry));
+    }
+}
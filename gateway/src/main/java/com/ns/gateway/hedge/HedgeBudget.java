@@ -0,0 +1,37 @@
+package com.ns.gateway.hedge;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 헤지 요청이 전체 요청의 일정 비율(maxExtraLoad)을 넘지 않도록 하는 예산.
+ * 요청마다 maxExtraLoad 만큼 적립하고 헤지 한 번에 1 을 쓴다. 적립은 maxBalance 까지만 쌓인다.
+ */
+public class HedgeBudget {
+
+    private static final long UNIT = 1_000_000L;
+
+    private final long creditPerRequest;
+    private final long maxBalance;
+    private final AtomicLong balance = new AtomicLong();
+
+    public HedgeBudget(double maxExtraLoad, int maxBalance) {
+        this.creditPerRequest = (long) (maxExtraLoad * UNIT);
+        this.maxBalance = maxBalance * UNIT;
+    }
+
+    public void onRequest() {
+        balance.getAndUpdate(current -> Math.min(maxBalance, current + creditPerRequest));
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            long current = balance.get();
+            if (current < UNIT) {
+                return false;
+            }
+            if (balance.compareAndSet(current, current - UNIT)) {
+                return true;
+            }
+        }
+    }
+}
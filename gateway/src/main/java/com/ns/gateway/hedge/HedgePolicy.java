@@ -0,0 +1,67 @@
+package com.ns.gateway.hedge;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+
+/**
+ * 라우트 하나의 헤지 설정과 상태 (지연 추정, 예산, 메트릭).
+ * Hedging 라우트 필터가 만들어 exchange 속성으로 HedgingGlobalFilter 에 넘긴다.
+ */
+public class HedgePolicy {
+
+    private final LatencyTracker latency;
+    private final HedgeBudget budget;
+    private final long minDelayNanos;
+    private final long initialDelayNanos;
+
+    private final Counter sent;
+    private final Counter won;
+    private final Counter budgetExhausted;
+
+    public HedgePolicy(String routeId, double percentile, double maxExtraLoad, Duration minDelay, Duration initialDelay,
+                       MeterRegistry meterRegistry) {
+        this.latency = new LatencyTracker(1024, percentile, 100);
+        this.budget = new HedgeBudget(maxExtraLoad, 10);
+        this.minDelayNanos = minDelay.toNanos();
+        this.initialDelayNanos = initialDelay.toNanos();
+        this.sent = counter("gateway.hedge.sent", "보낸 헤지 요청 수", routeId, meterRegistry);
+        this.won = counter("gateway.hedge.won", "헤지 요청이 먼저 응답한 횟수", routeId, meterRegistry);
+        this.budgetExhausted = counter("gateway.hedge.budget_exhausted", "예산 부족으로 헤지하지 못한 횟수", routeId, meterRegistry);
+    }
+
+    /** 헤지를 보내기까지 기다릴 시간. 샘플이 모이기 전에는 initialDelay 를 쓴다. */
+    public Duration hedgeDelay() {
+        long observed = latency.percentileNanos();
+        long delay = observed < 0 ? initialDelayNanos : Math.max(minDelayNanos, observed);
+        return Duration.ofNanos(delay);
+    }
+
+    public void onRequest() {
+        budget.onRequest();
+    }
+
+    public boolean tryHedge() {
+        if (budget.tryAcquire()) {
+            sent.increment();
+            return true;
+        }
+        budgetExhausted.increment();
+        return false;
+    }
+
+    public void onResponse(long latencyNanos, boolean hedgeWon) {
+        latency.record(latencyNanos);
+        if (hedgeWon) {
+            won.increment();
+        }
+    }
+
+    private static Counter counter(String name, String description, String routeId, MeterRegistry meterRegistry) {
+        return Counter.builder(name)
+                .description(description)
+                .tag("route", routeId)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,50 @@
+package com.ns.gateway.hedge;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 최근 N 개 응답 시간의 퍼센타일을 추정한다.
+ * 샘플은 링에 덮어쓰기만 하고, recomputeEvery 개마다 한 번 정렬해서 퍼센타일을 갱신하므로 요청당 비용은 배열 쓰기 한 번이다.
+ */
+public class LatencyTracker {
+
+    private static final int RECOMPUTE_EVERY = 64;
+
+    private final AtomicLongArray samples;
+    private final AtomicLong count = new AtomicLong();
+    private final double percentile;
+    private final int minSamples;
+
+    private volatile long percentileNanos = -1;
+
+    public LatencyTracker(int windowSize, double percentile, int minSamples) {
+        this.samples = new AtomicLongArray(windowSize);
+        this.percentile = percentile;
+        this.minSamples = Math.min(minSamples, windowSize);
+    }
+
+    public void record(long nanos) {
+        long n = count.getAndIncrement();
+        samples.set((int) (n % samples.length()), nanos);
+        if ((n + 1) >= minSamples && (n + 1) % RECOMPUTE_EVERY == 0) {
+            recompute((int) Math.min(n + 1, samples.length()));
+        }
+    }
+
+    /** 샘플이 부족하면 -1 */
+    public long percentileNanos() {
+        return percentileNanos;
+    }
+
+    private void recompute(int size) {
+        long[] copy = new long[size];
+        for (int i = 0; i < size; i++) {
+            copy[i] = samples.get(i);
+        }
+        Arrays.sort(copy);
+        int index = (int) Math.ceil(percentile * size) - 1;
+        percentileNanos = copy[Math.max(0, Math.min(size - 1, index))];
+    }
+}
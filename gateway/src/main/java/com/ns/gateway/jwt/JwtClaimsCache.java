@@ -0,0 +1,87 @@
+package com.ns.gateway.jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.function.Function;
+
+/**
+ * 서명 검증이 끝난 JWT 클레임 캐시.
+ * 키는 토큰 원문 대신 SHA-256 다이제스트를 사용하고, 각 엔트리는 토큰의 exp 시점 이전에 만료된다.
+ */
+@Component
+public class JwtClaimsCache {
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    private final Cache<String, Claims> cache;
+
+    public JwtClaimsCache(@Value("${jwt.claims-cache.max-size:10000}") long maxSize,
+                          @Value("${jwt.claims-cache.max-ttl:10m}") Duration maxTtl,
+                          MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new TokenExpiry(maxTtl))
+                .recordStats()
+                .build();
+
+        // cache.gets{result=hit|miss}, cache.evictions 등으로 노출
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwt.claims");
+    }
+
+    /**
+     * 캐시에 검증된 클레임이 있으면 반환하고, 없으면 verifier 로 검증한 뒤 저장한다.
+     * 검증 실패 시 verifier 가 던진 예외는 그대로 전파되며 캐시에 남지 않는다.
+     */
+    public Claims get(String jwt, Function<String, Claims> verifier) {
+        return cache.get(digest(jwt), key -> verifier.apply(jwt));
+    }
+
+    private static String digest(String jwt) {
+        MessageDigest md = SHA_256.get();
+        return HexFormat.of().formatHex(md.digest(jwt.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    // 토큰 exp 까지 남은 시간과 maxTtl 중 짧은 쪽으로 엔트리 수명을 정한다.
+    private record TokenExpiry(Duration maxTtl) implements Expiry<String, Claims> {
+
+        @Override
+        public long expireAfterCreate(String key, Claims claims, long currentTime) {
+            long maxNanos = maxTtl.toNanos();
+            Date exp = claims.getExpiration();
+            if (exp == null) {
+                return maxNanos;
+            }
+            long remainingNanos = Duration.ofMillis(exp.getTime() - System.currentTimeMillis()).toNanos();
+            return Math.max(0L, Math.min(maxNanos, remainingNanos));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
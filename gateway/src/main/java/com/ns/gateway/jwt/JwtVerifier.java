@@ -0,0 +1,59 @@
+package com.ns.gateway.jwt;
+
+import com.ns.gateway.revocation.RevocationSet;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+/**
+ * JWT 서명 검증 + 클레임 캐시.
+ * JwtAuthentication 필터와 배치 엔드포인트가 같은 파서·캐시를 공유한다.
+ * 검증 실패 시 jjwt 예외(ExpiredJwtException 등)를 그대로 던지고,
+ * 서명 검증 뒤 폐기 목록({@link RevocationSet})에 있으면 {@link RevokedTokenException} 을 던진다.
+ */
+@Component
+public class JwtVerifier {
+
+    /** user 서비스가 액세스 토큰에 넣는 발급 시각(ms) 클레임 */
+    public static final String ISSUED_AT_MILLIS_CLAIM = "iat_ms";
+
+    private final JwtParser jwtParser;
+    private final JwtClaimsCache claimsCache;
+    private final RevocationSet revocationSet;
+
+    public JwtVerifier(@Value("${jwt.secret}") String secret, JwtClaimsCache claimsCache, RevocationSet revocationSet) {
+        SecretKey signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        // JwtParser 는 불변이라 요청마다 새로 만들지 않고 재사용
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+        this.claimsCache = claimsCache;
+        this.revocationSet = revocationSet;
+    }
+
+    public Claims verify(String jwt) {
+        Claims claims = claimsCache.get(jwt, token -> jwtParser.parseClaimsJws(token).getBody());
+        // 폐기 여부는 캐시하지 않고 매번 메모리에서 확인
+        if (revocationSet.isRevoked(claims.getSubject(), issuedAtMillis(claims))) {
+            throw new RevokedTokenException("token revoked for " + claims.getSubject());
+        }
+        return claims;
+    }
+
+    // user 서비스가 넣는 iat_ms(밀리초)를 우선 쓰고, 없는 예전 토큰은 iat(초)의 그 초 끝으로 본다
+    private static Long issuedAtMillis(Claims claims) {
+        Object issuedAtMillis = claims.get(ISSUED_AT_MILLIS_CLAIM);
+        if (issuedAtMillis instanceof Number number) {
+            return number.longValue();
+        }
+        Date issuedAt = claims.getIssuedAt();
+        return issuedAt != null ? issuedAt.getTime() + 999 : null;
+    }
+}
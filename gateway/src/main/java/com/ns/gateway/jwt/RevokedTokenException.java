@@ -0,0 +1,11 @@
+package com.ns.gateway.jwt;
+
+import io.jsonwebtoken.JwtException;
+
+/** 서명은 유효하지만 로그아웃으로 폐기된 토큰 */
+public class RevokedTokenException extends JwtException {
+
+    public RevokedTokenException(String message) {
+        super(message);
+    }
+}
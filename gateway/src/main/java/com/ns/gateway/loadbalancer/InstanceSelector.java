@@ -0,0 +1,139 @@
+package com.ns.gateway.loadbalancer;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 라우트 하나의 인스턴스 목록과 선택 로직.
+ * 제외되지 않은 인스턴스 중 무작위로 둘을 뽑아 비용(EWMA 지연 × 처리 중 요청)이 낮은 쪽을 고른다 (power of two choices).
+ * 연속 실패가 failureThreshold 에 이르면 인스턴스를 제외하되, 한 번에 maxEjectionPercent 이상은 제외하지 않는다.
+ * 모두 제외된 상태면 제외 여부를 무시하고 전체에서 고른다 (요청을 버리는 것보다 낫다).
+ */
+public class InstanceSelector {
+
+    private static final int MAX_EJECTION_MULTIPLIER = 10;
+
+    private final long decayNanos;
+    private final int failureThreshold;
+    private final long baseEjectionNanos;
+    private final int maxEjectionPercent;
+
+    private volatile UpstreamInstance[] instances = new UpstreamInstance[0];
+
+    public InstanceSelector(long decayNanos, int failureThreshold, long baseEjectionNanos, int maxEjectionPercent) {
+        this.decayNanos = decayNanos;
+        this.failureThreshold = failureThreshold;
+        this.baseEjectionNanos = baseEjectionNanos;
+        this.maxEjectionPercent = maxEjectionPercent;
+    }
+
+    public List<UpstreamInstance> instances() {
+        return List.of(instances);
+    }
+
+    /** 목록을 교체한다. 그대로 남은 인스턴스는 통계를 유지한다. @return 목록에서 빠진 인스턴스 */
+    public synchronized List<UpstreamInstance> update(List<URI> uris) {
+        Map<URI, UpstreamInstance> current = new HashMap<>();
+        for (UpstreamInstance instance : instances) {
+            current.put(instance.uri(), instance);
+        }
+        List<UpstreamInstance> next = new ArrayList<>(uris.size());
+        for (URI uri : uris) {
+            UpstreamInstance existing = current.remove(uri);
+            next.add(existing != null ? existing : new UpstreamInstance(uri, decayNanos));
+        }
+        instances = next.toArray(UpstreamInstance[]::new);
+        return List.copyOf(current.values());
+    }
+
+    public UpstreamInstance choose() {
+        return choose(System.nanoTime(), ThreadLocalRandom.current());
+    }
+
+    UpstreamInstance choose(long nowNanos, Random random) {
+        UpstreamInstance[] snapshot = instances;
+        if (snapshot.length == 0) {
+            return null;
+        }
+        if (snapshot.length == 1) {
+            return snapshot[0];
+        }
+
+        int healthy = 0;
+        for (UpstreamInstance instance : snapshot) {
+            if (!instance.isEjected(nowNanos)) {
+                healthy++;
+            }
+        }
+        boolean ignoreEjection = healthy == 0;
+        int candidates = ignoreEjection ? snapshot.length : healthy;
+        if (candidates == 1) {
+            return nth(snapshot, 0, nowNanos, ignoreEjection);
+        }
+
+        int first = random.nextInt(candidates);
+        int second = random.nextInt(candidates - 1);
+        if (second >= first) {
+            second++;
+        }
+        UpstreamInstance a = nth(snapshot, first, nowNanos, ignoreEjection);
+        UpstreamInstance b = nth(snapshot, second, nowNanos, ignoreEjection);
+        return a.cost() <= b.cost() ? a : b;
+    }
+
+    /** 선택한 인스턴스로 요청을 보내기 직전에 호출한다. 끝나면 {@link #onResult} 또는 {@link #onCancel} 로 짝을 맞춘다. */
+    public void onStart(UpstreamInstance instance) {
+        instance.start();
+    }
+
+    /** 헤지 경주에서 졌거나 클라이언트가 끊은 요청. 성공으로 치면 연속 실패가 초기화되므로 처리 중 수만 줄인다. */
+    public void onCancel(UpstreamInstance instance) {
+        instance.cancel();
+    }
+
+    /** @return 이번 결과로 인스턴스가 제외되었으면 true */
+    public boolean onResult(UpstreamInstance instance, long rttNanos, boolean failed) {
+        return onResult(instance, System.nanoTime(), rttNanos, failed);
+    }
+
+    boolean onResult(UpstreamInstance instance, long nowNanos, long rttNanos, boolean failed) {
+        int failures = instance.finish(nowNanos, rttNanos, failed);
+        if (failures < failureThreshold || instance.isEjected(nowNanos)) {
+            return false;
+        }
+        synchronized (this) {
+            UpstreamInstance[] snapshot = instances;
+            int ejected = 0;
+            for (UpstreamInstance other : snapshot) {
+                if (other.isEjected(nowNanos)) {
+                    ejected++;
+                }
+            }
+            int maxEjected = Math.max(1, snapshot.length * maxEjectionPercent / 100);
+            if (snapshot.length < 2 || ejected >= maxEjected) {
+                return false;
+            }
+            instance.eject(nowNanos, baseEjectionNanos, MAX_EJECTION_MULTIPLIER);
+            return true;
+        }
+    }
+
+    // 제외된 인스턴스를 건너뛴 n 번째 후보
+    private static UpstreamInstance nth(UpstreamInstance[] snapshot, int n, long nowNanos, boolean ignoreEjection) {
+        int seen = 0;
+        for (UpstreamInstance instance : snapshot) {
+            if (!ignoreEjection && instance.isEjected(nowNanos)) {
+                continue;
+            }
+            if (seen++ == n) {
+                return instance;
+            }
+        }
+        return snapshot[snapshot.length - 1];
+    }
+}
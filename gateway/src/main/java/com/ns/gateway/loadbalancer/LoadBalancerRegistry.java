@@ -0,0 +1,207 @@
+package com.ns.gateway.loadbalancer;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 라우트별 {@link InstanceSelector} 를 만들고 인스턴스 목록을 관리한다.
+ * 라우트 metadata 로 켠다.
+ * <ul>
+ *     <li>lb-instances: 쉼표로 구분한 정적 인스턴스 목록 (예: http://note-1:8002,http://note-2:8002)</li>
+ *     <li>lb-dns: true 면 라우트 URI 호스트의 A 레코드 전체를 인스턴스로 쓰고 dns-refresh-interval 마다 다시 조회한다
+ *     (쿠버네티스 headless 서비스 등)</li>
+ * </ul>
+ * DNS 조회는 블로킹이라 이벤트 루프가 아닌 boundedElastic 에서 한다. 첫 조회 전에는 라우트 URI 하나로 동작한다.
+ */
+@Slf4j
+@Component
+public class LoadBalancerRegistry {
+
+    public static final String INSTANCES = "lb-instances";
+    public static final String DNS = "lb-dns";
+
+    private final MeterRegistry meterRegistry;
+    private final Duration dnsRefreshInterval;
+    private final long decayNanos;
+    private final int failureThreshold;
+    private final long baseEjectionNanos;
+    private final int maxEjectionPercent;
+
+    private final Map<String, Balanced> routes = new ConcurrentHashMap<>();
+    private final Map<UpstreamInstance, List<Meter>> instanceMeters = new ConcurrentHashMap<>();
+    private Disposable dnsRefresh;
+
+    public LoadBalancerRegistry(MeterRegistry meterRegistry,
+                                @Value("${gateway.load-balancer.dns-refresh-interval:10s}") Duration dnsRefreshInterval,
+                                @Value("${gateway.load-balancer.latency-decay:10s}") Duration latencyDecay,
+                                @Value("${gateway.load-balancer.failure-threshold:5}") int failureThreshold,
+                                @Value("${gateway.load-balancer.base-ejection-time:30s}") Duration baseEjectionTime,
+                                @Value("${gateway.load-balancer.max-ejection-percent:50}") int maxEjectionPercent) {
+        this.meterRegistry = meterRegistry;
+        this.dnsRefreshInterval = dnsRefreshInterval;
+        this.decayNanos = latencyDecay.toNanos();
+        this.failureThreshold = failureThreshold;
+        this.baseEjectionNanos = baseEjectionTime.toNanos();
+        this.maxEjectionPercent = maxEjectionPercent;
+    }
+
+    @PostConstruct
+    void start() {
+        dnsRefresh = Flux.interval(dnsRefreshInterval, dnsRefreshInterval, Schedulers.boundedElastic())
+                .subscribe(tick -> routes.values().stream()
+                        .filter(Balanced::dns)
+                        .forEach(this::resolve));
+    }
+
+    @PreDestroy
+    void stop() {
+        if (dnsRefresh != null) {
+            dnsRefresh.dispose();
+        }
+    }
+
+    /** 로드밸런싱 metadata 가 없는 라우트면 null. */
+    public InstanceSelector selectorFor(Route route) {
+        Balanced cached = routes.get(route.getId());
+        if (cached != null && cached.metadata() == route.getMetadata()) {
+            return cached.selector();
+        }
+        Balanced balanced = routes.compute(route.getId(), (routeId, existing) -> {
+            if (existing != null && existing.metadata() == route.getMetadata()) {
+                return existing;
+            }
+            if (existing != null && existing.selector() != null) {
+                existing.selector().update(List.of()).forEach(this::removeMeters);
+            }
+            return create(route);
+        });
+        if (balanced.dns() && balanced != cached) {
+            Mono.fromRunnable(() -> resolve(balanced))
+                    .subscribeOn(Schedulers.boundedElastic())
+                    .subscribe();
+        }
+        return balanced.selector();
+    }
+
+    public void onEjected(String routeId, UpstreamInstance instance) {
+        log.warn("upstream instance {} ejected from route {}", instance.uri(), routeId);
+        Counter.builder("gateway.lb.ejections")
+                .description("연속 실패로 제외된 횟수")
+                .tag("route", routeId)
+                .tag("instance", instance.uri().getAuthority())
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private Balanced create(Route route) {
+        Map<String, Object> metadata = route.getMetadata();
+        Object staticInstances = metadata.get(INSTANCES);
+        boolean dns = Boolean.parseBoolean(String.valueOf(metadata.getOrDefault(DNS, "false")));
+        if (staticInstances == null && !dns) {
+            return new Balanced(metadata, null, false, route);
+        }
+
+        InstanceSelector selector = new InstanceSelector(decayNanos, failureThreshold, baseEjectionNanos, maxEjectionPercent);
+        Balanced balanced = new Balanced(metadata, selector, staticInstances == null, route);
+        if (staticInstances != null) {
+            List<URI> uris = Arrays.stream(staticInstances.toString().split(","))
+                    .map(String::trim)
+                    .filter(value -> !value.isEmpty())
+                    .map(URI::create)
+                    .toList();
+            apply(balanced, uris);
+        } else {
+            apply(balanced, List.of(route.getUri()));
+        }
+        return balanced;
+    }
+
+    private void resolve(Balanced balanced) {
+        URI routeUri = balanced.route().getUri();
+        if (routes.get(balanced.route().getId()) != balanced) {
+            // 라우트가 새로 고쳐져 버려진 selector
+            return;
+        }
+        try {
+            InetAddress[] addresses = InetAddress.getAllByName(routeUri.getHost());
+            List<URI> uris = new ArrayList<>(addresses.length);
+            for (InetAddress address : addresses) {
+                uris.add(URI.create(routeUri.getScheme() + "://" + address.getHostAddress() + ":" + port(routeUri)));
+            }
+            if (!uris.isEmpty()) {
+                apply(balanced, uris);
+            }
+        } catch (UnknownHostException e) {
+            // 조회 실패 시 기존 목록 유지
+            log.warn("dns lookup failed for route {} ({}): {}", balanced.route().getId(), routeUri.getHost(), e.getMessage());
+        }
+    }
+
+    private void apply(Balanced balanced, List<URI> uris) {
+        InstanceSelector selector = balanced.selector();
+        List<URI> before = selector.instances().stream().map(UpstreamInstance::uri).toList();
+        selector.update(uris).forEach(this::removeMeters);
+        for (UpstreamInstance instance : selector.instances()) {
+            instanceMeters.computeIfAbsent(instance, i -> registerMeters(balanced.route().getId(), i));
+        }
+        if (!before.equals(uris)) {
+            log.info("route {} instances: {}", balanced.route().getId(), uris);
+        }
+    }
+
+    private List<Meter> registerMeters(String routeId, UpstreamInstance instance) {
+        String authority = instance.uri().getAuthority();
+        return List.of(
+                Gauge.builder("gateway.lb.in_flight", instance, UpstreamInstance::inFlight)
+                        .description("인스턴스별 처리 중 요청 수")
+                        .tag("route", routeId)
+                        .tag("instance", authority)
+                        .register(meterRegistry),
+                Gauge.builder("gateway.lb.latency_ewma", instance, UpstreamInstance::ewmaMillis)
+                        .description("인스턴스별 EWMA 지연 (ms)")
+                        .baseUnit("milliseconds")
+                        .tag("route", routeId)
+                        .tag("instance", authority)
+                        .register(meterRegistry)
+        );
+    }
+
+    private void removeMeters(UpstreamInstance instance) {
+        List<Meter> meters = instanceMeters.remove(instance);
+        if (meters != null) {
+            meters.forEach(meterRegistry::remove);
+        }
+    }
+
+    private static int port(URI uri) {
+        if (uri.getPort() > 0) {
+            return uri.getPort();
+        }
+        return "https".equals(uri.getScheme()) ? 443 : 80;
+    }
+
+    private record Balanced(Map<String, Object> metadata, InstanceSelector selector, boolean dns, Route route) {
+    }
+}
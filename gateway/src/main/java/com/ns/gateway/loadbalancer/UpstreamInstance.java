@@ -0,0 +1,92 @@
+package com.ns.gateway.loadbalancer;
+
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 라우트 업스트림 인스턴스 하나의 상태.
+ * 처리 중 요청 수와 시간 감쇠 EWMA 지연(peak EWMA: 더 느린 샘플은 바로 반영)을 들고 있고,
+ * 연속 실패가 쌓이면 {@link InstanceSelector} 가 일정 시간 제외(eject)한다.
+ */
+public class UpstreamInstance {
+
+    private static final int SUCCESSES_TO_FORGIVE = 100;
+
+    private final URI uri;
+    private final long decayNanos;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private double ewmaNanos;
+    private long lastSampleNanos;
+    private int consecutiveFailures;
+    private int successesSinceEjection;
+    private int ejections;
+    private volatile long ejectedUntilNanos;
+
+    public UpstreamInstance(URI uri, long decayNanos) {
+        this.uri = uri;
+        this.decayNanos = decayNanos;
+    }
+
+    public URI uri() {
+        return uri;
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    public synchronized double ewmaMillis() {
+        return ewmaNanos / 1_000_000.0;
+    }
+
+    /** P2C 비교 비용: 지연이 길고 처리 중 요청이 많을수록 크다. 샘플이 없으면 처리 중 요청 수로만 비교한다. */
+    synchronized double cost() {
+        return (ewmaNanos + 1.0) * (inFlight.get() + 1);
+    }
+
+    boolean isEjected(long nowNanos) {
+        return ejectedUntilNanos - nowNanos > 0;
+    }
+
+    void start() {
+        inFlight.incrementAndGet();
+    }
+
+    /** 결과 없이 끝난 요청 (취소). 처리 중 요청 수만 줄이고 지연·실패 통계는 건드리지 않는다. */
+    void cancel() {
+        inFlight.decrementAndGet();
+    }
+
+    /** @return 이번 결과까지의 연속 실패 수 */
+    synchronized int finish(long nowNanos, long rttNanos, boolean failed) {
+        inFlight.decrementAndGet();
+        if (rttNanos > 0) {
+            if (lastSampleNanos == 0 || rttNanos > ewmaNanos) {
+                ewmaNanos = rttNanos;
+            } else {
+                double weight = Math.exp(-(double) (nowNanos - lastSampleNanos) / decayNanos);
+                ewmaNanos = ewmaNanos * weight + rttNanos * (1.0 - weight);
+            }
+            lastSampleNanos = nowNanos;
+        }
+
+        if (failed) {
+            return ++consecutiveFailures;
+        }
+        consecutiveFailures = 0;
+        // 복귀 후 충분히 성공하면 제외 시간 배수를 초기화한다
+        if (ejections > 0 && ++successesSinceEjection >= SUCCESSES_TO_FORGIVE) {
+            ejections = 0;
+        }
+        return 0;
+    }
+
+    /** 제외 횟수에 비례해 제외 시간을 늘린다 (최대 maxMultiplier 배). */
+    synchronized void eject(long nowNanos, long baseEjectionNanos, int maxMultiplier) {
+        ejections = Math.min(ejections + 1, maxMultiplier);
+        successesSinceEjection = 0;
+        consecutiveFailures = 0;
+        ejectedUntilNanos = nowNanos + baseEjectionNanos * ejections;
+    }
+}
@@ -0,0 +1,66 @@
+package com.ns.gateway.mirror;
+
+import com.ns.gateway.transport.NettyTransport;
+import io.netty.channel.ChannelOption;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.resources.LoopResources;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 섀도 업스트림 전용 HttpClient.
+ * 라우트마다 작은 커넥션 풀(이름 mirror-{라우트 ID})을 따로 두고, 이벤트 루프도 게이트웨이 본 루프와 분리해
+ * 섀도 쪽 I/O 가 느려지거나 밀려도 주 요청 처리 스레드에는 영향이 가지 않게 한다.
+ */
+@Slf4j
+@Component
+public class MirrorClientRegistry {
+
+    private final LoopResources loops;
+    private final boolean preferNative;
+    private final Map<String, ConnectionProvider> providers = new ConcurrentHashMap<>();
+
+    public MirrorClientRegistry(NettyTransport transport,
+                                @Value("${gateway.mirror.event-loop-threads:2}") int eventLoopThreads) {
+        this.loops = LoopResources.create("gateway-mirror", eventLoopThreads, true);
+        this.preferNative = transport.isPreferNative();
+    }
+
+    /** 라우트 필터가 다시 만들어지면 이전 풀은 진행 중 요청이 끝난 뒤 닫는다. */
+    public HttpClient create(String routeId, int maxConnections, int maxPending,
+                             Duration connectTimeout, Duration responseTimeout) {
+        ConnectionProvider provider = ConnectionProvider.builder("mirror-" + routeId)
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(maxPending)
+                .pendingAcquireTimeout(connectTimeout)
+                .maxIdleTime(Duration.ofSeconds(30))
+                .evictInBackground(Duration.ofSeconds(30))
+                .metrics(true)
+                .build();
+        ConnectionProvider previous = providers.put(routeId, provider);
+        if (previous != null) {
+            previous.disposeLater().subscribe();
+        }
+        log.info("mirror pool for route {}: maxConnections={}, maxPending={}", routeId, maxConnections, maxPending);
+
+        return HttpClient.create(provider)
+                .runOn(loops, preferNative)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .responseTimeout(responseTimeout)
+                // 섀도 요청은 버려도 되는 트래픽이라 재연결 재시도를 하지 않는다
+                .disableRetry(true);
+    }
+
+    @PreDestroy
+    void close() {
+        providers.values().forEach(ConnectionProvider::dispose);
+        loops.dispose();
+    }
+}
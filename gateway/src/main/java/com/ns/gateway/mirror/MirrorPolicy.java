@@ -0,0 +1,72 @@
+package com.ns.gateway.mirror;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.net.URI;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 라우트 하나의 미러링 정책.
+ * 요청 바디가 없는 지정 메서드 요청 중 percentage % 를 골라 섀도 업스트림으로 복제하고,
+ * 섀도 요청이 maxInFlight 개 이상 진행 중이면 (섀도가 느려지고 있다는 뜻이므로) 더 보내지 않고 건너뛴다.
+ */
+public final class MirrorPolicy {
+
+    private final URI shadowBase;
+    private final double ratio;
+    private final Set<HttpMethod> methods;
+    private final int maxInFlight;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public MirrorPolicy(URI shadowBase, double percentage, Collection<HttpMethod> methods, int maxInFlight) {
+        if (percentage < 0 || percentage > 100) {
+            throw new IllegalArgumentException("percentage must be between 0 and 100: " + percentage);
+        }
+        this.shadowBase = shadowBase;
+        this.ratio = percentage / 100.0;
+        this.methods = Set.copyOf(methods);
+        this.maxInFlight = maxInFlight;
+    }
+
+    /** random 은 [0, 1) 균등 난수. */
+    public boolean shouldMirror(HttpMethod method, HttpHeaders headers, double random) {
+        if (random >= ratio || !methods.contains(method)) {
+            return false;
+        }
+        // 바디를 복제하려면 주 요청 바디를 버퍼링해야 하므로 바디 없는 요청만 미러링한다
+        return headers.getContentLength() <= 0 && !headers.containsKey(HttpHeaders.TRANSFER_ENCODING);
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= maxInFlight) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /** 주 요청의 경로·쿼리를 섀도 업스트림 주소에 붙인다. */
+    public URI shadowUri(URI requestUri) {
+        return UriComponentsBuilder.fromUri(shadowBase)
+                .replacePath(requestUri.getRawPath())
+                .replaceQuery(requestUri.getRawQuery())
+                .build(true)
+                .toUri();
+    }
+}
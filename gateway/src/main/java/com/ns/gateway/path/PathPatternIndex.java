@@ -0,0 +1,227 @@
+package com.ns.gateway.path;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Ant 스타일 경로 패턴을 세그먼트 트라이로 미리 컴파일해 둔 매처.
+ * 필터 생성 시 한 번만 만들고, 요청 경로 매칭은 세그먼트 수에 비례하며 객체를 할당하지 않는다.
+ *
+ * 지원 문법: 리터럴 세그먼트, {@code *}·{@code {var}}(한 세그먼트), {@code **}(0개 이상 세그먼트),
+ * 세그먼트 내부의 {@code *}·{@code ?} 글롭(예: {@code *.html}).
+ */
+public final class PathPatternIndex {
+
+    private static final PathPatternIndex EMPTY = new PathPatternIndex(new Node(), List.of());
+
+    // 경로 끝 슬래시 여부에 따라 매칭 여부를 나눈다 (AntPathMatcher 와 동일한 규칙)
+    private static final int END_PLAIN = 1;
+    private static final int END_SLASH = 2;
+
+    private final Node root;
+    private final List<String> patterns;
+
+    private PathPatternIndex(Node root, List<String> patterns) {
+        this.root = root;
+        this.patterns = patterns;
+    }
+
+    public static PathPatternIndex empty() {
+        return EMPTY;
+    }
+
+    public static PathPatternIndex compile(Collection<String> patterns) {
+        if (patterns == null || patterns.isEmpty()) {
+            return EMPTY;
+        }
+        Node root = new Node();
+        for (String pattern : patterns) {
+            insert(root, pattern);
+        }
+        return new PathPatternIndex(root, List.copyOf(patterns));
+    }
+
+    public List<String> patterns() {
+        return patterns;
+    }
+
+    public boolean isEmpty() {
+        return patterns.isEmpty();
+    }
+
+    public boolean matches(String path) {
+        if (path == null || this == EMPTY) {
+            return false;
+        }
+        int endMask = path.length() > 1 && path.charAt(path.length() - 1) == '/' ? END_SLASH : END_PLAIN;
+        return match(root, path, 0, endMask);
+    }
+
+    private static boolean match(Node node, String path, int pos, int endMask) {
+        int len = path.length();
+        while (pos < len && path.charAt(pos) == '/') {
+            pos++;
+        }
+
+        if (node.anyDepth != null && matchAnyDepth(node.anyDepth, path, pos, endMask)) {
+            return true;
+        }
+
+        if (pos >= len) {
+            return (node.terminal & endMask) != 0;
+        }
+
+        int end = path.indexOf('/', pos);
+        if (end < 0) {
+            end = len;
+        }
+        int segLen = end - pos;
+
+        for (int i = 0; i < node.literalCount; i++) {
+            String literal = node.literals[i];
+            if (literal.length() == segLen && path.regionMatches(pos, literal, 0, segLen)
+                    && match(node.literalNodes[i], path, end, endMask)) {
+                return true;
+            }
+        }
+
+        if (node.single != null && match(node.single, path, end, endMask)) {
+            return true;
+        }
+
+        for (int i = 0; i < node.globCount; i++) {
+            if (globMatches(node.globs[i], path, pos, end) && match(node.globNodes[i], path, end, endMask)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // '**' 는 현재 위치부터 0개 이상의 세그먼트를 소비할 수 있다
+    private static boolean matchAnyDepth(Node next, String path, int pos, int endMask) {
+        int len = path.length();
+        int cursor = pos;
+        while (true) {
+            if (match(next, path, cursor, endMask)) {
+                return true;
+            }
+            if (cursor >= len) {
+                return false;
+            }
+            int slash = path.indexOf('/', cursor);
+            if (slash < 0) {
+                cursor = len;
+            } else {
+                cursor = slash + 1;
+            }
+        }
+    }
+
+    // 세그먼트 내부 글롭 매칭 ('*' = 0개 이상 문자, '?' = 한 문자)
+    private static boolean globMatches(String glob, String path, int start, int end) {
+        int g = 0;
+        int p = start;
+        int starG = -1;
+        int starP = -1;
+        while (p < end) {
+            if (g < glob.length() && (glob.charAt(g) == '?' || glob.charAt(g) == path.charAt(p))) {
+                g++;
+                p++;
+            } else if (g < glob.length() && glob.charAt(g) == '*') {
+                starG = g++;
+                starP = p;
+            } else if (starG >= 0) {
+                g = starG + 1;
+                p = ++starP;
+            } else {
+                return false;
+            }
+        }
+        while (g < glob.length() && glob.charAt(g) == '*') {
+            g++;
+        }
+        return g == glob.length();
+    }
+
+    private static void insert(Node root, String pattern) {
+        List<String> segments = new ArrayList<>();
+        for (String segment : pattern.split("/")) {
+            if (!segment.isEmpty()) {
+                segments.add(segment);
+            }
+        }
+
+        Node node = root;
+        for (String segment : segments) {
+            if (segment.equals("**")) {
+                if (node.anyDepth == null) {
+                    node.anyDepth = new Node();
+                }
+                node = node.anyDepth;
+            } else if (segment.equals("*") || isVariable(segment)) {
+                if (node.single == null) {
+                    node.single = new Node();
+                }
+                node = node.single;
+            } else if (segment.indexOf('*') >= 0 || segment.indexOf('?') >= 0 || segment.indexOf('{') >= 0) {
+                node = node.globChild(segment.replaceAll("\\{[^}/]*}", "*"));
+            } else {
+                node = node.literalChild(segment);
+            }
+        }
+
+        boolean endsWithAnyDepth = !segments.isEmpty() && segments.getLast().equals("**");
+        if (endsWithAnyDepth) {
+            node.terminal |= END_PLAIN | END_SLASH;
+        } else {
+            node.terminal |= pattern.length() > 1 && pattern.endsWith("/") ? END_SLASH : END_PLAIN;
+        }
+    }
+
+    private static boolean isVariable(String segment) {
+        return segment.length() > 2 && segment.charAt(0) == '{' && segment.charAt(segment.length() - 1) == '}'
+                && segment.indexOf('{', 1) < 0;
+    }
+
+    private static final class Node {
+        private String[] literals = new String[0];
+        private Node[] literalNodes = new Node[0];
+        private int literalCount;
+
+        private String[] globs = new String[0];
+        private Node[] globNodes = new Node[0];
+        private int globCount;
+
+        private Node single;
+        private Node anyDepth;
+        private int terminal;
+
+        private Node literalChild(String literal) {
+            for (int i = 0; i < literalCount; i++) {
+                if (literals[i].equals(literal)) {
+                    return literalNodes[i];
+                }
+            }
+            literals = Arrays.copyOf(literals, literalCount + 1);
+            literalNodes = Arrays.copyOf(literalNodes, literalCount + 1);
+            literals[literalCount] = literal;
+            literalNodes[literalCount] = new Node();
+            return literalNodes[literalCount++];
+        }
+
+        private Node globChild(String glob) {
+            for (int i = 0; i < globCount; i++) {
+                if (globs[i].equals(glob)) {
+                    return globNodes[i];
+                }
+            }
+            globs = Arrays.copyOf(globs, globCount + 1);
+            globNodes = Arrays.copyOf(globNodes, globCount + 1);
+            globs[globCount] = glob;
+            globNodes[globCount] = new Node();
+            return globNodes[globCount++];
+        }
+    }
+}
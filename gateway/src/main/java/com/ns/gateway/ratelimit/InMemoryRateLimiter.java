@@ -0,0 +1,87 @@
+package com.ns.gateway.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 단일 노드용 토큰 버킷 테이블.
+ * 버킷은 사용되지 않으면 idle-timeout 후 사라지고, 갱신은 키 해시로 고른 락 스트라이프 안에서만 일어난다.
+ */
+@Component
+@ConditionalOnProperty(name = "gateway.rate-limit.mode", havingValue = "memory", matchIfMissing = true)
+public class InMemoryRateLimiter implements RateLimiter {
+
+    private final Cache<String, TokenBucket> buckets;
+    private final ReentrantLock[] stripes;
+    private final int mask;
+
+    public InMemoryRateLimiter(@Value("${gateway.rate-limit.memory.stripes:64}") int stripeCount,
+                               @Value("${gateway.rate-limit.memory.max-buckets:100000}") long maxBuckets,
+                               @Value("${gateway.rate-limit.memory.idle-timeout:10m}") Duration idleTimeout) {
+        int size = Integer.highestOneBit(Math.max(1, stripeCount - 1) << 1);
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.mask = size - 1;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxBuckets)
+                .expireAfterAccess(idleTimeout)
+                .build();
+    }
+
+    @Override
+    public Mono<RateLimitDecision> tryAcquire(String key, RateLimitQuota quota) {
+        return Mono.just(acquire(key, quota, System.nanoTime()));
+    }
+
+    RateLimitDecision acquire(String key, RateLimitQuota quota, long nowNanos) {
+        ReentrantLock lock = stripes[spread(key.hashCode()) & mask];
+        lock.lock();
+        try {
+            TokenBucket bucket = buckets.get(key, k -> new TokenBucket(quota.burstCapacity(), nowNanos));
+            bucket.refill(quota, nowNanos);
+
+            if (bucket.tokens >= 1.0) {
+                bucket.tokens -= 1.0;
+                return RateLimitDecision.allowed((long) bucket.tokens);
+            }
+
+            double deficit = 1.0 - bucket.tokens;
+            long waitNanos = (long) Math.ceil(deficit / quota.replenishRate() * 1_000_000_000L);
+            return RateLimitDecision.rejected(Duration.ofNanos(waitNanos));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    // 스트라이프 락 안에서만 접근한다
+    private static final class TokenBucket {
+        private double tokens;
+        private long lastRefillNanos;
+
+        private TokenBucket(double tokens, long nowNanos) {
+            this.tokens = tokens;
+            this.lastRefillNanos = nowNanos;
+        }
+
+        private void refill(RateLimitQuota quota, long nowNanos) {
+            long elapsed = nowNanos - lastRefillNanos;
+            if (elapsed > 0) {
+                tokens = Math.min(quota.burstCapacity(), tokens + elapsed * quota.replenishRate() / 1_000_000_000d);
+                lastRefillNanos = nowNanos;
+            }
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.ns.gateway.ratelimit;
+
+import java.time.Duration;
+
+/**
+ * @param remaining  남은 토큰 수 (알 수 없으면 -1)
+ * @param retryAfter 거부된 경우 다음 토큰이 생길 때까지 기다릴 시간
+ */
+public record RateLimitDecision(boolean allowed, long remaining, Duration retryAfter) {
+
+    public static RateLimitDecision allowed(long remaining) {
+        return new RateLimitDecision(true, remaining, Duration.ZERO);
+    }
+
+    public static RateLimitDecision rejected(Duration retryAfter) {
+        return new RateLimitDecision(false, 0, retryAfter);
+    }
+}
@@ -0,0 +1,10 @@
+package com.ns.gateway.ratelimit;
+
+/**
+ * 토큰 버킷 할당량.
+ *
+ * @param replenishRate 초당 보충되는 토큰 수
+ * @param burstCapacity 버킷 최대 토큰 수
+ */
+public record RateLimitQuota(double replenishRate, long burstCapacity) {
+}
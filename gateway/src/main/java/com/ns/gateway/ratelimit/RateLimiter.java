@@ -0,0 +1,12 @@
+package com.ns.gateway.ratelimit;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * 키(라우트 + 사용자) 단위 토큰 버킷 rate limiter.
+ * gateway.rate-limit.mode 로 단일 노드용 in-memory(memory) 와 다중 레플리카용 Redis(redis) 구현을 고른다.
+ */
+public interface RateLimiter {
+
+    Mono<RateLimitDecision> tryAcquire(String key, RateLimitQuota quota);
+}
@@ -0,0 +1,187 @@
+package com.ns.gateway.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * 다중 레플리카용 Redis 토큰 버킷.
+ * 요청마다 Redis 를 호출하지 않고, Lua 스크립트로 토큰을 batch-size 개씩 한 번에 가져와(리스) 로컬에서 소진한다.
+ * 한 노드가 버킷을 독차지하지 않도록 배치는 버스트 용량의 1/4 을 넘지 않는다.
+ * 리스가 1/4 이하로 줄면 백그라운드에서 미리 다음 배치를 가져오고, 리스가 완전히 비었을 때만 요청이 Redis 왕복을 기다린다.
+ * 키마다 진행 중인 배치 요청은 하나뿐이며, 그동안 리스가 빈 요청들은 같은 결과를 기다린다.
+ * 쓰지 못한 리스 토큰은 lease-ttl 후 버려지므로 노드 간 허용량 편차는 배치 크기 이내로 제한된다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "gateway.rate-limit.mode", havingValue = "redis")
+public class RedisTokenBucketRateLimiter implements RateLimiter {
+
+    private static final String KEY_PREFIX = "rate_limit:";
+    // 한 노드가 한 번에 리스할 수 있는 버스트 용량 비율 (1/4)
+    private static final int BURST_SHARE = 4;
+
+    private final ReactiveStringRedisTemplate redis;
+    private final RedisScript<List<Long>> script;
+    private final int batchSize;
+    private final long leaseTtlNanos;
+    private final Cache<String, Lease> leases;
+    private final Counter redisFetches;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public RedisTokenBucketRateLimiter(ReactiveStringRedisTemplate redis,
+                                       @Value("${gateway.rate-limit.redis.batch-size:10}") int batchSize,
+                                       @Value("${gateway.rate-limit.redis.lease-ttl:1s}") Duration leaseTtl,
+                                       MeterRegistry meterRegistry) {
+        this.redis = redis;
+        this.script = (RedisScript) RedisScript.of(new ClassPathResource("scripts/token_bucket.lua"), List.class);
+        this.batchSize = Math.max(1, batchSize);
+        this.leaseTtlNanos = leaseTtl.toNanos();
+        this.leases = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterAccess(Duration.ofMinutes(10))
+                .build();
+        this.redisFetches = Counter.builder("gateway.rate_limit.redis.fetches")
+                .description("Redis 토큰 배치 요청 횟수")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<RateLimitDecision> tryAcquire(String key, RateLimitQuota quota) {
+        long now = System.nanoTime();
+        Lease lease = leases.get(key, k -> new Lease());
+        int batch = batchFor(quota);
+
+        if (lease.tryTake(now)) {
+            prefetchIfLow(key, quota, lease, batch);
+            return Mono.just(RateLimitDecision.allowed(lease.remaining()));
+        }
+
+        // 로컬 리스가 비었을 때만 Redis 왕복을 기다린다
+        return awaitRefill(key, quota, lease, batch)
+                // Redis 장애 시 전체 트래픽을 막지 않도록 허용 (fail-open)
+                .defaultIfEmpty(RateLimitDecision.allowed(-1))
+                .onErrorResume(e -> {
+                    log.warn("rate limit redis call failed, allowing request: {}", e.getMessage());
+                    return Mono.just(RateLimitDecision.allowed(-1));
+                });
+    }
+
+    private int batchFor(RateLimitQuota quota) {
+        return (int) Math.max(1L, Math.min(batchSize, quota.burstCapacity() / BURST_SHARE));
+    }
+
+    // 배치를 받은 뒤 토큰을 못 얻었으면 같은 배치를 기다린 다른 요청이 먼저 가져간 것이므로 다음 배치를 기다린다.
+    // Redis 가 토큰을 하나도 주지 않으면 거부하므로, 라운드마다 최소 한 요청은 끝난다
+    private Mono<RateLimitDecision> awaitRefill(String key, RateLimitQuota quota, Lease lease, int batch) {
+        return lease.refill(() -> fetch(key, quota, batch), leaseTtlNanos)
+                .flatMap(result -> {
+                    if (lease.tryTake(System.nanoTime())) {
+                        return Mono.just(RateLimitDecision.allowed(lease.remaining()));
+                    }
+                    if (result.get(0) <= 0) {
+                        return Mono.just(RateLimitDecision.rejected(Duration.ofMillis(Math.max(1L, result.get(1)))));
+                    }
+                    return awaitRefill(key, quota, lease, batch);
+                });
+    }
+
+    private void prefetchIfLow(String key, RateLimitQuota quota, Lease lease, int batch) {
+        if (lease.remaining() > batch / 4) {
+            return;
+        }
+        // 이미 진행 중인 배치 요청이 있으면 새로 보내지 않는다
+        lease.refill(() -> fetch(key, quota, batch), leaseTtlNanos);
+    }
+
+    private Mono<List<Long>> fetch(String key, RateLimitQuota quota, int requested) {
+        redisFetches.increment();
+        // 해시태그로 두 키를 같은 슬롯에 둔다 (Redis Cluster 대응)
+        String prefix = KEY_PREFIX + "{" + key + "}";
+        List<String> keys = List.of(prefix + ":tokens", prefix + ":ts");
+        List<String> args = List.of(
+                String.valueOf(quota.replenishRate()),
+                String.valueOf(quota.burstCapacity()),
+                String.valueOf(System.currentTimeMillis()),
+                String.valueOf(requested));
+        return redis.execute(script, keys, args).next();
+    }
+
+    private static final class Lease {
+        private final AtomicLong tokens = new AtomicLong();
+        private final AtomicReference<Sinks.One<List<Long>>> pending = new AtomicReference<>();
+        private volatile long expiresAtNanos;
+
+        // 진행 중인 배치 요청이 있으면 그 결과를 같이 기다리고, 없을 때만 새로 보낸다 (받은 토큰은 리스에 한 번만 더한다)
+        private Mono<List<Long>> refill(Supplier<Mono<List<Long>>> fetcher, long ttlNanos) {
+            Sinks.One<List<Long>> sink = Sinks.one();
+            Sinks.One<List<Long>> current = pending.compareAndExchange(null, sink);
+            if (current != null) {
+                return current.asMono();
+            }
+            fetcher.get().subscribe(
+                    result -> {
+                        if (result.get(0) > 0) {
+                            add(result.get(0), System.nanoTime(), ttlNanos);
+                        }
+                        pending.compareAndSet(sink, null);
+                        sink.tryEmitValue(result);
+                    },
+                    e -> {
+                        pending.compareAndSet(sink, null);
+                        sink.tryEmitError(e);
+                    },
+                    () -> {
+                        if (pending.compareAndSet(sink, null)) {
+                            sink.tryEmitEmpty();
+                        }
+                    });
+            return sink.asMono();
+        }
+
+        private boolean tryTake(long nowNanos) {
+            if (nowNanos - expiresAtNanos > 0) {
+                return false;
+            }
+            while (true) {
+                long current = tokens.get();
+                if (current <= 0) {
+                    return false;
+                }
+                if (tokens.compareAndSet(current, current - 1)) {
+                    return true;
+                }
+            }
+        }
+
+        private void add(long granted, long nowNanos, long ttlNanos) {
+            if (nowNanos - expiresAtNanos > 0) {
+                // 만료된 리스의 남은 토큰은 버린다
+                tokens.set(granted);
+            } else {
+                tokens.addAndGet(granted);
+            }
+            expiresAtNanos = nowNanos + ttlNanos;
+        }
+
+        private long remaining() {
+            return Math.max(0L, tokens.get());
+        }
+    }
+}
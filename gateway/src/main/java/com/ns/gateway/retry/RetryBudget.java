@@ -0,0 +1,81 @@
+package com.ns.gateway.retry;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * 라우트별 재시도 예산.
+ * 최근 window 동안의 성공 요청 수 × ratio (+ 초당 최소 허용량) 까지만 재시도를 허용한다.
+ * 1초 단위 버킷을 링으로 돌려 슬라이딩 윈도를 근사하므로, 백엔드가 느려져 성공이 줄면 재시도 허용량도 같이 줄어
+ * 재시도가 부하를 키우는 재시도 폭주를 막는다.
+ */
+public class RetryBudget {
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final double ratio;
+    private final int minRetriesPerSecond;
+    private final int windowSeconds;
+
+    private final long[] bucketSecond;
+    private final long[] successes;
+    private final long[] retries;
+
+    /**
+     * @param ratio               성공 요청 대비 허용 재시도 비율 (예: 0.1 이면 10%)
+     * @param minRetriesPerSecond 트래픽이 적을 때도 허용할 초당 재시도 수
+     * @param window              슬라이딩 윈도 길이 (초 단위로 반올림)
+     */
+    public RetryBudget(double ratio, int minRetriesPerSecond, Duration window) {
+        this.ratio = ratio;
+        this.minRetriesPerSecond = minRetriesPerSecond;
+        this.windowSeconds = (int) Math.max(1, window.toSeconds());
+        this.bucketSecond = new long[windowSeconds];
+        this.successes = new long[windowSeconds];
+        this.retries = new long[windowSeconds];
+        Arrays.fill(bucketSecond, Long.MIN_VALUE);
+    }
+
+    public void onSuccess() {
+        onSuccess(System.nanoTime());
+    }
+
+    public boolean tryAcquire() {
+        return tryAcquire(System.nanoTime());
+    }
+
+    synchronized void onSuccess(long nowNanos) {
+        successes[bucket(nowNanos / NANOS_PER_SECOND)]++;
+    }
+
+    synchronized boolean tryAcquire(long nowNanos) {
+        long second = nowNanos / NANOS_PER_SECOND;
+        int current = bucket(second);
+        long successSum = 0;
+        long retrySum = 0;
+        for (int i = 0; i < windowSeconds; i++) {
+            // 윈도 밖으로 밀려난 버킷은 합산하지 않는다
+            if (bucketSecond[i] > second - windowSeconds) {
+                successSum += successes[i];
+                retrySum += retries[i];
+            }
+        }
+        double allowed = successSum * ratio + (double) minRetriesPerSecond * windowSeconds;
+        if (retrySum + 1 > allowed) {
+            return false;
+        }
+        retries[current]++;
+        return true;
+    }
+
+    // 현재 초의 버킷을 고르고, 이전 주기의 값이 남아 있으면 비운다
+    private int bucket(long second) {
+        int index = (int) Math.floorMod(second, (long) windowSeconds);
+        if (bucketSecond[index] != second) {
+            bucketSecond[index] = second;
+            successes[index] = 0;
+            retries[index] = 0;
+        }
+        return index;
+    }
+}
@@ -0,0 +1,84 @@
+package com.ns.gateway.revocation;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 로그아웃으로 폐기된 사용자 목록 (게이트웨이 메모리).
+ * 사용자별로 "이 시각(ms) 이전에 발급된 토큰은 무효" 라는 기준 시각을 저장한다.
+ * 초 단위로 비교하면 로그아웃과 같은 초에 다시 로그인해 받은 토큰까지 막히므로 밀리초로 비교한다.
+ * 대부분의 요청은 Bloom 필터에서 바로 통과하고, 필터가 양성일 때만 정확한 맵으로 확인한다.
+ * 엔트리는 액세스 토큰 수명(retention)이 지나면 의미가 없으므로 주기적으로 지우고 Bloom 필터를 다시 만든다.
+ */
+@Component
+public class RevocationSet {
+
+    private final int expectedEntries;
+    private final double falsePositiveRate;
+    private final Map<String, Long> revokedBefore = new ConcurrentHashMap<>();
+    private final Counter rejected;
+
+    private volatile BloomFilter bloom;
+
+    public RevocationSet(@Value("${gateway.revocation.expected-entries:100000}") int expectedEntries,
+                         @Value("${gateway.revocation.false-positive-rate:0.01}") double falsePositiveRate,
+                         MeterRegistry meterRegistry) {
+        this.expectedEntries = expectedEntries;
+        this.falsePositiveRate = falsePositiveRate;
+        this.bloom = new BloomFilter(expectedEntries, falsePositiveRate);
+        this.rejected = Counter.builder("gateway.revocation.rejected")
+                .description("폐기된 토큰으로 거부된 요청 수")
+                .register(meterRegistry);
+        Gauge.builder("gateway.revocation.entries", revokedBefore, Map::size)
+                .description("메모리에 보관 중인 폐기 사용자 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 요청 경로에서 호출. 네트워크 호출 없음.
+     *
+     * @param issuedAtMillis 토큰 발급 시각(ms). 없으면 null
+     */
+    public boolean isRevoked(String userId, Long issuedAtMillis) {
+        if (userId == null || !bloom.mightContain(userId)) {
+            return false;
+        }
+        Long cutoff = revokedBefore.get(userId);
+        if (cutoff == null) {
+            return false; // Bloom 필터 오탐
+        }
+        // iat 가 없으면 보수적으로 폐기된 것으로 본다
+        boolean revoked = issuedAtMillis == null || issuedAtMillis <= cutoff;
+        if (revoked) {
+            rejected.increment();
+        }
+        return revoked;
+    }
+
+    /** @param revokedAtEpochMillis 이 시각(ms) 이하에 발급된 토큰을 무효로 한다 */
+    public synchronized void revoke(String userId, long revokedAtEpochMillis) {
+        revokedBefore.merge(userId, revokedAtEpochMillis, Math::max);
+        bloom.put(userId);
+    }
+
+    /** 기준 시각이 cutoff 이전인 엔트리를 지우고 남은 엔트리로 Bloom 필터를 새로 만든다. */
+    public synchronized void expireBefore(long cutoffEpochMillis) {
+        boolean removed = revokedBefore.values().removeIf(revokedAt -> revokedAt < cutoffEpochMillis);
+        if (!removed) {
+            return;
+        }
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedEntries, revokedBefore.size()), falsePositiveRate);
+        revokedBefore.keySet().forEach(rebuilt::put);
+        bloom = rebuilt;
+    }
+
+    public int size() {
+        return revokedBefore.size();
+    }
+}
@@ -0,0 +1,98 @@
+package com.ns.gateway.revocation;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.stream.StreamReceiver;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * user 서비스가 로그아웃 시 기록하는 Redis 스트림(auth:revocations)을 구독해 {@link RevocationSet} 을 채운다.
+ * 시작할 때는 retention 만큼 과거부터 다시 읽어, 재시작 직후에도 아직 유효한 폐기 기록을 놓치지 않는다.
+ * Redis 가 끊기면 마지막으로 읽은 ID 부터 백오프로 재구독한다 (요청 경로는 영향 없음).
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "gateway.revocation.enabled", havingValue = "true", matchIfMissing = true)
+public class RevocationStreamListener {
+
+    private final ReactiveRedisConnectionFactory connectionFactory;
+    private final RevocationSet revocationSet;
+    private final String streamKey;
+    private final Duration retention;
+    private final Duration cleanupInterval;
+
+    private Disposable subscription;
+    private Disposable cleanup;
+
+    public RevocationStreamListener(ReactiveRedisConnectionFactory connectionFactory,
+                                    RevocationSet revocationSet,
+                                    @Value("${gateway.revocation.stream-key:auth:revocations}") String streamKey,
+                                    @Value("${gateway.revocation.retention:100m}") Duration retention,
+                                    @Value("${gateway.revocation.cleanup-interval:1m}") Duration cleanupInterval) {
+        this.connectionFactory = connectionFactory;
+        this.revocationSet = revocationSet;
+        this.streamKey = streamKey;
+        this.retention = retention;
+        this.cleanupInterval = cleanupInterval;
+    }
+
+    @PostConstruct
+    void start() {
+        StreamReceiver<String, MapRecord<String, String, String>> receiver = StreamReceiver.create(connectionFactory);
+        AtomicReference<String> lastId = new AtomicReference<>((System.currentTimeMillis() - retention.toMillis()) + "-0");
+
+        subscription = Flux.defer(() -> receiver.receive(StreamOffset.create(streamKey, ReadOffset.from(lastId.get()))))
+                .doOnNext(record -> {
+                    lastId.set(record.getId().getValue());
+                    apply(record);
+                })
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1))
+                        .maxBackoff(Duration.ofSeconds(30))
+                        .doBeforeRetry(signal -> log.warn("revocation stream read failed, retrying: {}", signal.failure().getMessage())))
+                .subscribe();
+
+        cleanup = Flux.interval(cleanupInterval)
+                .subscribe(tick -> revocationSet.expireBefore(System.currentTimeMillis() - retention.toMillis()));
+    }
+
+    @PreDestroy
+    void stop() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+        if (cleanup != null) {
+            cleanup.dispose();
+        }
+    }
+
+    private void apply(MapRecord<String, String, String> record) {
+        String userId = record.getValue().get("userId");
+        String revokedAtMillis = record.getValue().get("revokedAtMillis");
+        String revokedAt = record.getValue().get("revokedAt");
+        if (userId == null || (revokedAtMillis == null && revokedAt == null)) {
+            return;
+        }
+        try {
+            // 예전 기록(초 단위)은 그 초의 끝까지 발급된 토큰을 무효로 본다
+            long cutoffMillis = revokedAtMillis != null
+                    ? Long.parseLong(revokedAtMillis)
+                    : Long.parseLong(revokedAt) * 1000 + 999;
+            revocationSet.revoke(userId, cutoffMillis);
+        } catch (NumberFormatException e) {
+            log.warn("invalid revocation record {}: {}", record.getId(), record.getValue());
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.ns.gateway.shedding;
+
+import com.ns.gateway.transport.NettyTransport;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.channel.EventLoopGroup;
+import io.netty.util.concurrent.EventExecutor;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.netty.http.HttpResources;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 게이트웨이 과부하 감지기.
+ * 세 가지 신호를 각자의 임계치로 나눈 값 중 최댓값을 과부하 지수로 쓴다 (1.0 이면 임계치 도달).
+ * <ul>
+ *     <li>이벤트 루프 지연: 주기적으로 각 서버 이벤트 루프에 프로브 태스크를 넣고 실행되기까지 걸린 시간</li>
+ *     <li>처리 중 요청 수: LoadShedding 필터를 통과해 아직 끝나지 않은 요청 수</li>
+ *     <li>업스트림 지연: 최근 업스트림 시간 EWMA 와 장기 EWMA 의 비율</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class OverloadDetector {
+
+    private static final double SHORT_ALPHA = 0.1;
+    private static final int LONG_WINDOW = 1000;
+    private static final int MIN_LATENCY_SAMPLES = 100;
+    private static final double LAG_SMOOTHING = 0.5;
+
+    private final NettyTransport transport;
+    private final Duration probeInterval;
+    private final long lagThresholdNanos;
+    private final int maxInFlight;
+    private final double latencyRatioThreshold;
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong tickMaxLagNanos = new AtomicLong();
+    private volatile long lagNanos;
+
+    private double shortLatencyNanos;
+    private double longLatencyNanos;
+    private long latencySamples;
+    private volatile double latencyRatio = 1.0;
+
+    private ScheduledExecutorService prober;
+    private EventExecutor[] loops = new EventExecutor[0];
+    private AtomicLongArray probeSentAt = new AtomicLongArray(0);
+
+    public OverloadDetector(NettyTransport transport,
+                            @Value("${gateway.load-shedding.probe-interval:100ms}") Duration probeInterval,
+                            @Value("${gateway.load-shedding.event-loop-lag-threshold:50ms}") Duration lagThreshold,
+                            @Value("${gateway.load-shedding.max-in-flight:2000}") int maxInFlight,
+                            @Value("${gateway.load-shedding.upstream-latency-ratio:2.0}") double latencyRatioThreshold,
+                            MeterRegistry meterRegistry) {
+        this.transport = transport;
+        this.probeInterval = probeInterval;
+        this.lagThresholdNanos = lagThreshold.toNanos();
+        this.maxInFlight = maxInFlight;
+        this.latencyRatioThreshold = latencyRatioThreshold;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    void start() {
+        // 생성자에서 this 를 게이지에 넘기지 않도록 빈 초기화 뒤에 등록한다
+        Gauge.builder("gateway.overload.pressure", this, OverloadDetector::pressure)
+                .description("과부하 지수 (1.0 이면 임계치 도달)")
+                .register(meterRegistry);
+        Gauge.builder("gateway.overload.event_loop_lag", this, d -> d.lagNanos / 1_000_000.0)
+                .description("서버 이벤트 루프 지연 (ms)")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        Gauge.builder("gateway.overload.in_flight", inFlight, AtomicInteger::get)
+                .description("게이트웨이에서 처리 중인 요청 수")
+                .register(meterRegistry);
+        Gauge.builder("gateway.overload.upstream_latency_ratio", this, d -> d.latencyRatio)
+                .description("최근 업스트림 지연 / 장기 평균")
+                .register(meterRegistry);
+
+        // 서버는 Reactor Netty 전역 루프 리소스(설정된 전송 계층)를 쓰므로 같은 그룹에 프로브를 넣는다
+        EventLoopGroup group = HttpResources.get().onServer(transport.isPreferNative());
+        List<EventExecutor> executors = new ArrayList<>();
+        group.forEach(executors::add);
+        loops = executors.toArray(EventExecutor[]::new);
+        probeSentAt = new AtomicLongArray(loops.length);
+
+        prober = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "overload-probe");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalNanos = probeInterval.toNanos();
+        prober.scheduleAtFixedRate(this::probe, intervalNanos, intervalNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (prober != null) {
+            prober.shutdownNow();
+        }
+    }
+
+    public void enter() {
+        inFlight.incrementAndGet();
+    }
+
+    /** @param upstreamNanos 업스트림까지 가지 않은 요청이면 0 이하 */
+    public void exit(long upstreamNanos) {
+        inFlight.decrementAndGet();
+        if (upstreamNanos > 0) {
+            onUpstreamSample(upstreamNanos);
+        }
+    }
+
+    public double pressure() {
+        double lag = lagThresholdNanos > 0 ? (double) lagNanos / lagThresholdNanos : 0.0;
+        double concurrency = maxInFlight > 0 ? (double) inFlight.get() / maxInFlight : 0.0;
+        double latency = latencyRatioThreshold > 0 ? latencyRatio / latencyRatioThreshold : 0.0;
+        return Math.max(lag, Math.max(concurrency, latency));
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    // 이전 프로브가 아직 실행되지 않았다면 지금까지 밀린 시간을 지연으로 보고 새로 넣지 않는다
+    private void probe() {
+        long now = System.nanoTime();
+        long tickMax = tickMaxLagNanos.getAndSet(0);
+        for (int i = 0; i < loops.length; i++) {
+            long sentAt = probeSentAt.get(i);
+            if (sentAt != 0) {
+                tickMax = Math.max(tickMax, now - sentAt);
+                continue;
+            }
+            probeSentAt.set(i, now);
+            int index = i;
+            try {
+                loops[i].execute(() -> {
+                    long lag = System.nanoTime() - probeSentAt.getAndSet(index, 0);
+                    tickMaxLagNanos.accumulateAndGet(lag, Math::max);
+                });
+            } catch (RuntimeException e) {
+                // 종료 중인 이벤트 루프
+                probeSentAt.set(i, 0);
+            }
+        }
+        onLagSample(tickMax);
+    }
+
+    void onLagSample(long tickMaxLagNanos) {
+        lagNanos = (long) (lagNanos * (1 - LAG_SMOOTHING) + tickMaxLagNanos * LAG_SMOOTHING);
+    }
+
+    synchronized void onUpstreamSample(long nanos) {
+        if (latencySamples++ == 0) {
+            shortLatencyNanos = nanos;
+            longLatencyNanos = nanos;
+            return;
+        }
+        shortLatencyNanos += (nanos - shortLatencyNanos) * SHORT_ALPHA;
+        longLatencyNanos += (nanos - longLatencyNanos) / Math.min(latencySamples, LONG_WINDOW);
+        // 기준선이 잡히기 전에는 지연 신호를 쓰지 않는다
+        latencyRatio = latencySamples < MIN_LATENCY_SAMPLES ? 1.0 : shortLatencyNanos / longLatencyNanos;
+    }
+}
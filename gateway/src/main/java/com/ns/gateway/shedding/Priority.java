@@ -0,0 +1,23 @@
+package com.ns.gateway.shedding;
+
+/**
+ * 라우트(경로) 우선순위 등급.
+ * 과부하 지수({@link OverloadDetector#pressure()})가 등급별 임계치를 넘으면 해당 등급부터 거부한다.
+ * 낮은 등급일수록 먼저 버려지고, CRITICAL 은 버리지 않는다.
+ */
+public enum Priority {
+    CRITICAL(Double.POSITIVE_INFINITY), // 노트 저장, Yorkie 토큰 발급 등 편집 흐름
+    HIGH(1.5),                          // 로그인·토큰 갱신
+    NORMAL(1.25),                       // 일반 조회
+    LOW(1.0);                           // 키워드 추출, 검색 등 미뤄도 되는 작업
+
+    private final double shedAt;
+
+    Priority(double shedAt) {
+        this.shedAt = shedAt;
+    }
+
+    public boolean shouldShed(double pressure) {
+        return pressure >= shedAt;
+    }
+}
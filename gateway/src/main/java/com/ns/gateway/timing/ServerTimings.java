@@ -0,0 +1,73 @@
+package com.ns.gateway.timing;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 요청 1건의 Server-Timing 항목 모음.
+ * X-Server-Timing 요청 헤더로 옵트인한 요청에만 만들어지며, 같은 이름으로 여러 번 기록하면 시간을 합산한다.
+ * 응답 직전에 다운스트림(note, user 등)이 보낸 Server-Timing 값과 합쳐 하나의 헤더 값으로 만든다.
+ */
+public final class ServerTimings {
+
+    /** 옵트인 요청 헤더. 다운스트림 서비스에도 그대로 전달되어 각 서비스가 자기 구간을 붙인다. */
+    public static final String OPT_IN_HEADER = "X-Server-Timing";
+    public static final String HEADER = "Server-Timing";
+
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+
+    public static boolean isRequested(String optInHeader) {
+        return optInHeader != null && ("1".equals(optInHeader) || "true".equalsIgnoreCase(optInHeader));
+    }
+
+    public synchronized void record(String name, String description, long nanos) {
+        Entry entry = entries.get(name);
+        if (entry == null) {
+            entries.put(name, new Entry(description, nanos));
+        } else {
+            entry.nanos += nanos;
+        }
+    }
+
+    /** 게이트웨이 항목을 앞에, 다운스트림 항목을 뒤에 두어 하나의 헤더 값으로 합친다. */
+    public synchronized String merge(List<String> downstream) {
+        StringBuilder value = new StringBuilder(64);
+        for (Map.Entry<String, Entry> e : entries.entrySet()) {
+            appendEntry(value, e.getKey(), e.getValue().description, e.getValue().nanos);
+        }
+        if (downstream != null) {
+            for (String header : downstream) {
+                if (header != null && !header.isBlank()) {
+                    if (!value.isEmpty()) {
+                        value.append(", ");
+                    }
+                    value.append(header.trim());
+                }
+            }
+        }
+        return value.toString();
+    }
+
+    // name;desc="...";dur=<ms> (소수점 둘째 자리까지)
+    static void appendEntry(StringBuilder value, String name, String description, long nanos) {
+        if (!value.isEmpty()) {
+            value.append(", ");
+        }
+        value.append(name);
+        if (description != null) {
+            value.append(";desc=\"").append(description).append('"');
+        }
+        value.append(";dur=").append(Math.round(nanos / 10_000.0) / 100.0);
+    }
+
+    private static final class Entry {
+        private final String description;
+        private long nanos;
+
+        private Entry(String description, long nanos) {
+            this.description = description;
+            this.nanos = nanos;
+        }
+    }
+}
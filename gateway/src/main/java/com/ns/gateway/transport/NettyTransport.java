@@ -0,0 +1,76 @@
+package com.ns.gateway.transport;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.netty.http.HttpResources;
+import reactor.netty.resources.LoopResources;
+
+import java.util.Locale;
+
+/**
+ * 서버·업스트림 클라이언트가 함께 쓰는 Netty 전송 계층 선택.
+ * <ul>
+ *     <li>nio: JDK NIO</li>
+ *     <li>native: 쓸 수 있는 네이티브 전송 중 가장 나은 것 (io_uring → epoll), 없으면 NIO</li>
+ *     <li>epoll / io_uring: native 와 같이 동작하되, 실제 선택된 전송이 다르면 경고한다</li>
+ * </ul>
+ * epoll 과 io_uring 중 무엇을 쓸지는 Reactor Netty 가 클래스패스와 커널 지원 여부로 고른다.
+ * epoll 네이티브 라이브러리는 항상 포함되고, io_uring 은 -PioUring 으로 빌드했을 때만 포함된다.
+ */
+@Slf4j
+@Component
+public class NettyTransport {
+
+    private final String requested;
+    @Getter
+    private final boolean preferNative;
+    private final MeterRegistry meterRegistry;
+
+    @Getter
+    private volatile String actual = "unknown";
+
+    public NettyTransport(@Value("${gateway.transport.mode:native}") String mode, MeterRegistry meterRegistry) {
+        this.requested = mode.trim().toLowerCase(Locale.ROOT).replace('-', '_');
+        if (!requested.equals("nio") && !requested.equals("native")
+                && !requested.equals("epoll") && !requested.equals("io_uring")) {
+            throw new IllegalArgumentException("gateway.transport.mode must be one of nio, native, epoll, io_uring: " + mode);
+        }
+        this.preferNative = !requested.equals("nio");
+        this.meterRegistry = meterRegistry;
+    }
+
+    // 서버가 쓰는 것과 같은 루프 그룹을 만들어 실제 전송을 확인한다
+    @PostConstruct
+    void resolve() {
+        String executor = HttpResources.get().onServer(preferNative).next().getClass().getSimpleName();
+        if (executor.startsWith("IOUring")) {
+            actual = "io_uring";
+        } else if (executor.startsWith("Epoll")) {
+            actual = "epoll";
+        } else if (executor.startsWith("KQueue")) {
+            actual = "kqueue";
+        } else {
+            actual = "nio";
+        }
+
+        if (preferNative && actual.equals("nio")) {
+            log.warn("native transport requested ({}) but not available (hasNativeSupport={}); falling back to NIO",
+                    requested, LoopResources.hasNativeSupport());
+        } else if ((requested.equals("epoll") || requested.equals("io_uring")) && !requested.equals(actual)) {
+            log.warn("transport {} requested but Reactor Netty selected {}", requested, actual);
+        } else {
+            log.info("netty transport: {} (requested {})", actual, requested);
+        }
+
+        Gauge.builder("gateway.transport", () -> 1)
+                .description("실제 사용 중인 Netty 전송 계층")
+                .tag("requested", requested)
+                .tag("actual", actual)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,116 @@
+package com.ns.gateway.upstream;
+
+import com.ns.gateway.transport.NettyTransport;
+import io.netty.channel.ChannelOption;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.HttpResources;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 풀 metadata 가 있는 라우트마다 전용 ConnectionProvider·HttpClient 를 만들어 둔다.
+ * 풀 이름을 라우트 ID 로 두므로 Reactor Netty 풀 메트릭
+ * (reactor.netty.connection.provider.active/idle/pending.connections, pending.connections.time 등)
+ * 이 name 태그로 라우트별로 나뉜다.
+ * 라우트가 새로 고쳐져 설정이 바뀌면 풀을 새로 만들고 이전 풀은 진행 중 요청이 끝난 뒤 닫는다.
+ */
+@Slf4j
+@Component
+public class UpstreamClientRegistry {
+
+    private final Map<String, PooledClient> clients = new ConcurrentHashMap<>();
+    private final NettyTransport transport;
+
+    public UpstreamClientRegistry(NettyTransport transport) {
+        this.transport = transport;
+    }
+
+    /** 풀 설정이 없는 라우트면 null. */
+    public HttpClient clientFor(Route route) {
+        // 라우트 객체가 그대로면 metadata 도 그대로이므로 매 요청 파싱하지 않는다
+        PooledClient cached = clients.get(route.getId());
+        if (cached != null && cached.metadata() == route.getMetadata()) {
+            return cached.client();
+        }
+        UpstreamPoolSettings settings = UpstreamPoolSettings.from(route.getMetadata());
+        PooledClient pooled = clients.compute(route.getId(), (routeId, existing) -> {
+            if (existing != null && Objects.equals(existing.settings(), settings)) {
+                return new PooledClient(route.getMetadata(), settings, existing.provider(), existing.client());
+            }
+            if (existing != null && existing.provider() != null) {
+                existing.provider().disposeLater().subscribe();
+            }
+            return settings == null ? new PooledClient(route.getMetadata(), null, null, null) : create(route, settings);
+        });
+        return pooled.client();
+    }
+
+    /**
+     * 이벤트 루프·DNS 리졸버를 미리 초기화하고 warmupConnections 개의 커넥션을 연다.
+     * 업스트림이 아직 떠 있지 않아도 기동을 막지 않도록 실패는 무시한다.
+     */
+    public Mono<Void> warmup(Route route) {
+        HttpClient client = clientFor(route);
+        if (client == null) {
+            return Mono.empty();
+        }
+        int connections = clients.get(route.getId()).settings().warmupConnections();
+        URI root = route.getUri().resolve("/");
+        Mono<Void> openConnections = connections <= 0 ? Mono.empty() : Flux.range(0, connections)
+                .flatMap(i -> client.head().uri(root).response().then()
+                        .onErrorResume(e -> {
+                            log.warn("upstream pool warmup failed for route {}: {}", route.getId(), e.getMessage());
+                            return Mono.empty();
+                        }), connections)
+                .then();
+        return client.warmup().then(openConnections);
+    }
+
+    @PreDestroy
+    void close() {
+        clients.values().stream()
+                .map(PooledClient::provider)
+                .filter(Objects::nonNull)
+                .forEach(ConnectionProvider::dispose);
+    }
+
+    private PooledClient create(Route route, UpstreamPoolSettings settings) {
+        String routeId = route.getId();
+        ConnectionProvider.Builder builder = ConnectionProvider.builder(routeId)
+                .maxConnections(settings.maxConnections())
+                .maxIdleTime(settings.maxIdleTime())
+                .pendingAcquireMaxCount(settings.pendingAcquireMaxCount())
+                .pendingAcquireTimeout(settings.pendingAcquireTimeout())
+                // 유휴 커넥션을 요청 시점이 아니라 백그라운드에서 정리해 끊긴 커넥션 재사용을 줄인다
+                .evictInBackground(settings.maxIdleTime())
+                .metrics(true);
+        if (settings.maxLifeTime() != null) {
+            builder.maxLifeTime(settings.maxLifeTime());
+        }
+        ConnectionProvider provider = builder.build();
+
+        HttpClient client = HttpClient.create(provider)
+                .runOn(HttpResources.get(), transport.isPreferNative())
+                .protocol(settings.h2c() ? new HttpProtocol[]{HttpProtocol.H2C} : new HttpProtocol[]{HttpProtocol.HTTP11});
+        if (settings.connectTimeoutMillis() != null) {
+            client = client.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, settings.connectTimeoutMillis());
+        }
+        log.info("upstream pool for route {}: {}", routeId, settings);
+        return new PooledClient(route.getMetadata(), settings, provider, client);
+    }
+
+    private record PooledClient(Map<String, Object> metadata, UpstreamPoolSettings settings,
+                                ConnectionProvider provider, HttpClient client) {
+    }
+}
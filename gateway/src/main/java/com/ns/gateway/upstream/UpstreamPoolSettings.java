@@ -0,0 +1,78 @@
+package com.ns.gateway.upstream;
+
+import org.springframework.boot.convert.DurationStyle;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+
+/**
+ * 라우트 metadata 로 지정하는 업스트림 커넥션 풀 설정.
+ * connect-timeout / response-timeout 처럼 게이트웨이 기본 metadata 와 같은 방식으로 라우트마다 둔다.
+ * 시간 값은 숫자면 밀리초, 문자열이면 Spring Duration 형식(예: 30s)으로 읽는다.
+ *
+ * @param maxConnections          업스트림 호스트당 최대 커넥션 수 (h2c 면 HTTP/2 커넥션 수)
+ * @param maxIdleTime             이 시간 동안 쓰이지 않은 커넥션은 닫는다
+ * @param maxLifeTime             커넥션 최대 수명 (null 이면 제한 없음)
+ * @param pendingAcquireMaxCount  커넥션을 기다릴 수 있는 요청 수 (넘으면 바로 실패)
+ * @param pendingAcquireTimeout   커넥션을 기다리는 최대 시간
+ * @param h2c                     평문 HTTP/2(prior knowledge) 로 멀티플렉싱
+ * @param warmupConnections       기동 시 미리 열어 둘 커넥션 수
+ * @param connectTimeoutMillis    connect-timeout metadata (null 이면 기본값)
+ */
+public record UpstreamPoolSettings(int maxConnections,
+                                   Duration maxIdleTime,
+                                   Duration maxLifeTime,
+                                   int pendingAcquireMaxCount,
+                                   Duration pendingAcquireTimeout,
+                                   boolean h2c,
+                                   int warmupConnections,
+                                   Integer connectTimeoutMillis) {
+
+    public static final String MAX_CONNECTIONS = "pool-max-connections";
+    public static final String MAX_IDLE_TIME = "pool-max-idle-time";
+    public static final String MAX_LIFE_TIME = "pool-max-life-time";
+    public static final String PENDING_ACQUIRE_MAX_COUNT = "pool-pending-acquire-max-count";
+    public static final String PENDING_ACQUIRE_TIMEOUT = "pool-pending-acquire-timeout";
+    public static final String WARMUP_CONNECTIONS = "pool-warmup-connections";
+    public static final String H2C = "h2c";
+    private static final String CONNECT_TIMEOUT = "connect-timeout";
+
+    private static final Duration DEFAULT_MAX_IDLE_TIME = Duration.ofSeconds(30);
+
+    /** 풀 관련 metadata 가 하나도 없으면 null (게이트웨이 공용 HttpClient 를 쓴다). */
+    public static UpstreamPoolSettings from(Map<String, Object> metadata) {
+        if (metadata == null || metadata.keySet().stream().noneMatch(key -> key.startsWith("pool-") || key.equals(H2C))) {
+            return null;
+        }
+        int maxConnections = intOf(metadata.get(MAX_CONNECTIONS), ConnectionProvider.DEFAULT_POOL_MAX_CONNECTIONS);
+        return new UpstreamPoolSettings(
+                maxConnections,
+                durationOf(metadata.get(MAX_IDLE_TIME), DEFAULT_MAX_IDLE_TIME),
+                durationOf(metadata.get(MAX_LIFE_TIME), null),
+                intOf(metadata.get(PENDING_ACQUIRE_MAX_COUNT), 2 * maxConnections),
+                durationOf(metadata.get(PENDING_ACQUIRE_TIMEOUT), Duration.ofMillis(ConnectionProvider.DEFAULT_POOL_ACQUIRE_TIMEOUT)),
+                Boolean.parseBoolean(String.valueOf(metadata.getOrDefault(H2C, "false"))),
+                intOf(metadata.get(WARMUP_CONNECTIONS), 0),
+                metadata.get(CONNECT_TIMEOUT) != null ? intOf(metadata.get(CONNECT_TIMEOUT), 0) : null
+        );
+    }
+
+    private static int intOf(Object value, int defaultValue) {
+        if (value == null) {
+            return defaultValue;
+        }
+        return value instanceof Number number ? number.intValue() : Integer.parseInt(value.toString().trim());
+    }
+
+    private static Duration durationOf(Object value, Duration defaultValue) {
+        if (value == null) {
+            return defaultValue;
+        }
+        if (value instanceof Number number) {
+            return Duration.ofMillis(number.longValue());
+        }
+        return DurationStyle.detectAndParse(value.toString().trim(), ChronoUnit.MILLIS);
+    }
+}
@@ -0,0 +1,42 @@
+package com.ns.gateway.upstream;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.cloud.gateway.route.RouteLocator;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 기동 시 풀 설정이 있는 라우트의 업스트림 커넥션을 미리 연다.
+ * ApplicationRunner 는 readiness 가 ACCEPTING_TRAFFIC 으로 바뀌기 전에 실행되므로,
+ * 워밍이 끝나야 /actuator/health/readiness 가 UP 이 된다 (최대 warmup-timeout 까지만 기다림).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UpstreamPoolWarmer implements ApplicationRunner {
+
+    private final RouteLocator routeLocator;
+    private final UpstreamClientRegistry registry;
+
+    @Value("${gateway.upstream.warmup-timeout:10s}")
+    private Duration warmupTimeout;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long startNanos = System.nanoTime();
+        try {
+            routeLocator.getRoutes()
+                    .flatMap(registry::warmup)
+                    .then()
+                    .block(warmupTimeout);
+            log.info("upstream pools warmed in {} ms", (System.nanoTime() - startNanos) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.warn("upstream pool warmup did not finish: {}", e.getMessage());
+        }
+    }
+}
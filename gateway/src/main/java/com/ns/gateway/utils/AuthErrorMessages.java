@@ -6,6 +6,7 @@ public class AuthErrorMessages {
     public static final String INVALID_SIGNATURE = "유효하지 않은 JWT 서명입니다.";
     public static final String EXPIRED_TOKEN = "만료된 JWT 토큰입니다.";
     public static final String UNSUPPORTED_TOKEN = "지원되지 않는 JWT 토큰입니다.";
+    public static final String REVOKED_TOKEN = "로그아웃으로 폐기된 JWT 토큰입니다.";
     public static final String MALFORMED_TOKEN = "손상된 JWT 토큰입니다.";
     public static final String EMPTY_CLAIMS = "JWT 클레임 문자열이 비어 있습니다.";
     public static final String MISSING_USER_ID = "유효하지 않은 JWT: userId 클레임이 누락되었습니다.";
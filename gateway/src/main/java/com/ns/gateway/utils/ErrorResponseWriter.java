@@ -0,0 +1,33 @@
+package com.ns.gateway.utils;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+/** 게이트웨이에서 직접 내려주는 에러 응답 (JwtAuthentication 필터와 같은 JSON 형식) */
+public class ErrorResponseWriter {
+
+    private ErrorResponseWriter() {
+    }
+
+    public static Mono<Void> write(ServerWebExchange exchange, HttpStatus httpStatus, String err) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(httpStatus);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+
+        String errorJson = String.format(
+                "{\"timestamp\": \"%s\", \"status\": %d, \"error\": \"%s\", \"path\": \"%s\"}",
+                Instant.now().toString(),
+                httpStatus.value(),
+                err,
+                exchange.getRequest().getPath()
+        );
+
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(errorJson.getBytes(StandardCharsets.UTF_8))));
+    }
+}
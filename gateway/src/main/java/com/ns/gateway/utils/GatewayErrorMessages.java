@@ -0,0 +1,8 @@
+package com.ns.gateway.utils;
+
+public class GatewayErrorMessages {
+    public static final String TOO_MANY_REQUESTS = "요청 한도를 초과했습니다. 잠시 후 다시 시도해주세요.";
+    public static final String INVALID_BATCH_SIZE = "배치 요청은 1개 이상, 최대 개수 이하의 하위 요청을 포함해야 합니다.";
+    public static final String NESTED_BATCH = "배치 요청 안에서 다시 배치 요청을 보낼 수 없습니다.";
+    public static final String SERVICE_OVERLOADED = "서비스가 일시적으로 과부하 상태입니다. 잠시 후 다시 시도해주세요.";
+}
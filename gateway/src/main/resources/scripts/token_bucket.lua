@@ -0,0 +1,40 @@
+-- 토큰 버킷에서 최대 requested 개의 토큰을 한 번에 가져간다 (게이트웨이 노드별 배치 리필용)
+-- KEYS[1] = 토큰 수, KEYS[2] = 마지막 리필 시각(ms)
+-- ARGV[1] = 초당 보충 토큰 수, ARGV[2] = 버킷 용량, ARGV[3] = 현재 시각(ms), ARGV[4] = 요청 토큰 수
+-- 반환: { 지급한 토큰 수, 다음 토큰까지 대기 시간(ms) }
+local tokens_key = KEYS[1]
+local timestamp_key = KEYS[2]
+
+local rate = tonumber(ARGV[1])
+local capacity = tonumber(ARGV[2])
+local now = tonumber(ARGV[3])
+local requested = tonumber(ARGV[4])
+
+local fill_time = capacity / rate
+local ttl = math.floor(fill_time * 2 + 1)
+
+local tokens = tonumber(redis.call("get", tokens_key))
+if tokens == nil then
+  tokens = capacity
+end
+
+local last_refreshed = tonumber(redis.call("get", timestamp_key))
+if last_refreshed == nil then
+  last_refreshed = now
+end
+
+local delta = math.max(0, now - last_refreshed)
+tokens = math.min(capacity, tokens + (delta / 1000) * rate)
+
+local granted = math.min(requested, math.floor(tokens))
+tokens = tokens - granted
+
+local retry_after = 0
+if granted == 0 then
+  retry_after = math.ceil(((1 - tokens) / rate) * 1000)
+end
+
+redis.call("setex", tokens_key, ttl, tostring(tokens))
+redis.call("setex", timestamp_key, ttl, now)
+
+return { granted, retry_after }
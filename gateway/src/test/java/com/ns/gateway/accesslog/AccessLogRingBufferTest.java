@@ -0,0 +1,45 @@
+package com.ns.gateway.accesslog;
+
+import com.ns.gateway.LogState;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AccessLogRingBufferTest {
+
+    @Test
+    @DisplayName("넣은 순서대로 꺼내고, 가득 차면 버린다")
+    void offerAndDrain_fifoAndDropWhenFull() {
+        AccessLogRingBuffer buffer = new AccessLogRingBuffer(4);
+
+        for (int i = 0; i < 4; i++) {
+            assertThat(buffer.offer(record("/note/" + i))).isTrue();
+        }
+        assertThat(buffer.offer(record("/note/overflow"))).isFalse();
+
+        List<String> paths = new ArrayList<>();
+        int drained = buffer.drain(r -> paths.add(r.path()), 10);
+
+        assertThat(drained).isEqualTo(4);
+        assertThat(paths).containsExactly("/note/0", "/note/1", "/note/2", "/note/3");
+        assertThat(buffer.offer(record("/note/4"))).isTrue();
+        assertThat(buffer.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("JSON 직렬화 시 문자열을 이스케이프한다")
+    void appendJson_escapesStrings() {
+        StringBuilder sb = new StringBuilder();
+        record("/note/\"q\"").appendJson(sb);
+
+        assertThat(sb.toString()).contains("\"path\":\"/note/\\\"q\\\"\"").contains("\"userId\":null");
+    }
+
+    private AccessLogRecord record(String path) {
+        return new AccessLogRecord(0L, "note_route", "GET", path, 200, null, 1L, 1L, -1L, 10L, LogState.INFO, "default");
+    }
+}
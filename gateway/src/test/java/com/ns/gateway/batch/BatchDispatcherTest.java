@@ -0,0 +1,103 @@
+package com.ns.gateway.batch;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BatchDispatcherTest {
+
+    private final List<ClientRequest> sent = new CopyOnWriteArrayList<>();
+    private final BatchDispatcher dispatcher = new BatchDispatcher(
+            WebClient.builder().exchangeFunction(this::respond), new ObjectMapper(),
+            8000, 4, 50, Duration.ofSeconds(1), DataSize.ofMegabytes(1));
+
+    @Test
+    @DisplayName("API 경로가 아니거나 지원하지 않는 메서드는 해당 항목만 400 으로 거부한다")
+    void dispatch_invalidRequests_rejectedPerItem() {
+        List<BatchResponse> responses = dispatch(
+                new BatchRequest("1", "GET", "/actuator/health", null, null),
+                new BatchRequest("2", "TRACE", "/api/v1/notes/1", null, null),
+                new BatchRequest("3", "GET", "/api/v1/notes/1", null, null));
+
+        assertThat(statusOf(responses, "1")).isEqualTo(400);
+        assertThat(statusOf(responses, "2")).isEqualTo(400);
+        assertThat(statusOf(responses, "3")).isEqualTo(200);
+        assertThat(sent).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("경로를 바꿔 적어도 중첩 배치 요청은 보내지 않는다")
+    void dispatch_nestedBatch_rejected() {
+        List<BatchResponse> responses = dispatch(
+                new BatchRequest("1", "POST", "/api/v1/batch", null, null),
+                new BatchRequest("2", "POST", "/api/v1/batch;x=1", null, null),
+                new BatchRequest("3", "POST", "/api/v1/batch/", null, null),
+                new BatchRequest("4", "POST", "/api/v1/%62atch", null, null));
+
+        assertThat(responses).extracting(BatchResponse::status).containsOnly(400);
+        assertThat(sent).isEmpty();
+    }
+
+    @Test
+    @DisplayName("일부 하위 요청이 실패해도 나머지 결과는 그대로 돌려준다")
+    void dispatch_partialFailure_otherItemsSucceed() {
+        List<BatchResponse> responses = dispatch(
+                new BatchRequest("ok", "GET", "/api/v1/notes/1", null, null),
+                new BatchRequest("down", "GET", "/api/v1/graphs/fail", null, null),
+                new BatchRequest("template", "GET", "/api/v1/notes/search?q={x}", null, null));
+
+        assertThat(responses).hasSize(3);
+        assertThat(statusOf(responses, "ok")).isEqualTo(200);
+        assertThat(statusOf(responses, "down")).isEqualTo(HttpStatus.BAD_GATEWAY.value());
+        // {x} 는 URI 변수로 풀지 않고 그대로 인코딩해 보낸다
+        assertThat(statusOf(responses, "template")).isEqualTo(200);
+        assertThat(sent).anySatisfy(request -> assertThat(request.url().getRawQuery()).isEqualTo("q=%7Bx%7D"));
+    }
+
+    @Test
+    @DisplayName("하위 요청에는 배치의 Authorization 과 하위 요청 표시 헤더를 붙인다")
+    void dispatch_setsAuthorizationAndSubRequestHeader() {
+        dispatch(new BatchRequest("1", "GET", "/api/v1/notes/1",
+                Map.of(HttpHeaders.AUTHORIZATION, "Bearer other", BatchDispatcher.SUB_REQUEST_HEADER, "0"), null));
+
+        HttpHeaders headers = sent.get(0).headers();
+        assertThat(headers.getFirst(HttpHeaders.AUTHORIZATION)).isEqualTo("Bearer token");
+        assertThat(headers.get(BatchDispatcher.SUB_REQUEST_HEADER)).containsExactly("1");
+        assertThat(sent.get(0).url().toString()).isEqualTo("http://127.0.0.1:8000/api/v1/notes/1");
+    }
+
+    private List<BatchResponse> dispatch(BatchRequest... requests) {
+        return dispatcher.dispatch(List.of(requests), "Bearer token", "10.0.0.1").collectList().block();
+    }
+
+    private Mono<ClientResponse> respond(ClientRequest request) {
+        sent.add(request);
+        if (request.url().getPath().endsWith("/fail")) {
+            return Mono.error(new IOException("connection refused"));
+        }
+        return Mono.just(ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body("{\"ok\":true}")
+                .build());
+    }
+
+    private static int statusOf(List<BatchResponse> responses, String id) {
+        return responses.stream().filter(response -> response.id().equals(id)).findFirst().orElseThrow().status();
+    }
+}
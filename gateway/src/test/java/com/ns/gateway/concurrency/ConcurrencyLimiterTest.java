@@ -0,0 +1,55 @@
+package com.ns.gateway.concurrency;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
+import reactor.core.publisher.BaseSubscriber;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConcurrencyLimiterTest {
+
+    @Test
+    @DisplayName("허가를 넘겼지만 받기 전에 취소한 대기자의 허가는 반납된다")
+    void acquire_cancelledAfterGrant_permitReturned() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(
+                new GradientLimit(1, 1, 1, 0.2, 1.5, 100), 10, Duration.ofSeconds(10));
+        assertThat(limiter.acquire().block()).isTrue();
+
+        // 값을 요청하지 않는 구독자: 허가가 넘어와도 전달되지 않은 채로 남는다
+        BaseSubscriber<Boolean> waiter = new BaseSubscriber<>() {
+            @Override
+            protected void hookOnSubscribe(Subscription subscription) {
+            }
+        };
+        limiter.acquire().subscribe(waiter);
+        assertThat(limiter.getQueued()).isEqualTo(1);
+
+        limiter.release();
+        assertThat(limiter.getInFlight()).isEqualTo(1);
+        assertThat(limiter.getQueued()).isZero();
+
+        waiter.cancel();
+
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("대기 중에 취소하면 허가 없이 대기열에서 빠진다")
+    void acquire_cancelledWhileQueued_leavesQueue() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(
+                new GradientLimit(1, 1, 1, 0.2, 1.5, 100), 10, Duration.ofSeconds(10));
+        assertThat(limiter.acquire().block()).isTrue();
+
+        BaseSubscriber<Boolean> waiter = new BaseSubscriber<>() {
+        };
+        limiter.acquire().subscribe(waiter);
+        waiter.cancel();
+        limiter.release();
+
+        assertThat(limiter.getQueued()).isZero();
+        assertThat(limiter.getInFlight()).isZero();
+    }
+}
@@ -0,0 +1,51 @@
+package com.ns.gateway.concurrency;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GradientLimitTest {
+
+    private static final long MS = 1_000_000L;
+
+    @Test
+    @DisplayName("RTT 가 일정하고 한도를 충분히 쓰면 한도가 늘어난다")
+    void onSample_stableRtt_limitGrows() {
+        GradientLimit limit = new GradientLimit(20, 5, 200, 0.2, 1.5, 100);
+
+        for (int i = 0; i < 50; i++) {
+            limit.onSample(10 * MS, limit.getLimit(), false);
+        }
+
+        assertThat(limit.getLimit()).isGreaterThan(20);
+    }
+
+    @Test
+    @DisplayName("RTT 가 장기 평균보다 크게 늘면 한도가 줄어든다")
+    void onSample_rttSpike_limitShrinks() {
+        GradientLimit limit = new GradientLimit(100, 5, 200, 0.2, 1.5, 100);
+        for (int i = 0; i < 100; i++) {
+            limit.onSample(10 * MS, 100, false);
+        }
+        int before = limit.getLimit();
+
+        for (int i = 0; i < 20; i++) {
+            limit.onSample(100 * MS, limit.getLimit(), false);
+        }
+
+        assertThat(limit.getLimit()).isLessThan(before);
+    }
+
+    @Test
+    @DisplayName("과부하 신호가 오면 최소 한도까지만 줄어든다")
+    void onSample_dropped_backsOffToMinLimit() {
+        GradientLimit limit = new GradientLimit(20, 5, 200, 0.2, 1.5, 100);
+
+        for (int i = 0; i < 100; i++) {
+            limit.onSample(0, 0, true);
+        }
+
+        assertThat(limit.getLimit()).isEqualTo(5);
+    }
+}
@@ -0,0 +1,91 @@
+package com.ns.gateway.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.TextNode;
+import com.ns.gateway.batch.BatchDispatcher;
+import com.ns.gateway.batch.BatchResponse;
+import com.ns.gateway.jwt.JwtVerifier;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BatchControllerTest {
+
+    private static final String BODY = "[{\"id\":\"a\",\"path\":\"/api/v1/notes/1\"},{\"id\":\"b\",\"path\":\"/api/v1/notes/2\"}]";
+
+    private final JwtVerifier jwtVerifier = mock(JwtVerifier.class);
+    private final BatchDispatcher dispatcher = mock(BatchDispatcher.class);
+    private WebTestClient client;
+
+    @BeforeEach
+    void setUp() {
+        when(jwtVerifier.verify("token")).thenReturn(Jwts.claims().setSubject("user-1"));
+        when(dispatcher.getMaxRequests()).thenReturn(50);
+        when(dispatcher.dispatch(anyList(), eq("Bearer token"), any())).thenReturn(Flux.just(
+                new BatchResponse("b", 200, Map.of(), TextNode.valueOf("second")),
+                new BatchResponse("a", 502, Map.of(), TextNode.valueOf("Bad Gateway"))));
+        client = WebTestClient.bindToController(new BatchController(jwtVerifier, dispatcher, new ObjectMapper())).build();
+    }
+
+    @Test
+    @DisplayName("Accept 가 NDJSON 이면 끝난 순서대로 한 줄에 하나씩 내려준다")
+    void batch_ndjson_streamsLines() {
+        String body = client.post().uri("/api/v1/batch")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer token")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(BODY)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBody(String.class).returnResult().getResponseBody();
+
+        assertThat(body.split("\n")).containsExactly(
+                "{\"id\":\"b\",\"status\":200,\"headers\":{},\"body\":\"second\"}",
+                "{\"id\":\"a\",\"status\":502,\"headers\":{},\"body\":\"Bad Gateway\"}");
+    }
+
+    @Test
+    @DisplayName("기본 응답은 하위 요청이 실패해도 200 인 JSON 배열이다")
+    void batch_json_partialFailureStillOk() {
+        client.post().uri("/api/v1/batch")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer token")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(BODY)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[1].status").isEqualTo(502);
+    }
+
+    @Test
+    @DisplayName("배치가 보낸 하위 요청은 다시 배치로 받지 않는다")
+    void batch_subRequest_rejected() {
+        client.post().uri("/api/v1/batch")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer token")
+                .header(BatchDispatcher.SUB_REQUEST_HEADER, "1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(BODY)
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verify(dispatcher, never()).dispatch(anyList(), any(), any());
+    }
+}
@@ -0,0 +1,73 @@
+package com.ns.gateway.filter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyGatewayFilterFactoryTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final UpstreamTimingGlobalFilter upstreamTiming = new UpstreamTimingGlobalFilter(
+            meterRegistry, new Duration[]{Duration.ofMillis(100)}, new double[]{0.5});
+
+    @Test
+    @DisplayName("업스트림을 거친 요청의 RTT 로 한도가 조정된다")
+    void filter_upstreamRtt_movesLimit() {
+        AdaptiveConcurrencyGatewayFilterFactory.Config config = new AdaptiveConcurrencyGatewayFilterFactory.Config();
+        config.setRouteId("note_route");
+        config.setInitialLimit(2);
+        config.setMinLimit(1);
+        config.setSmoothing(1.0);
+        config.setRttTolerance(1.0);
+        GatewayFilter filter = new AdaptiveConcurrencyGatewayFilterFactory(meterRegistry).apply(config);
+
+        for (int i = 0; i < 10; i++) {
+            filter.filter(proxiedExchange(), upstreamChain()).block();
+        }
+
+        // 한도의 절반 이상을 쓰는 동안 RTT 가 일정하면 한도가 늘어난다
+        assertThat(limit()).isGreaterThan(2);
+    }
+
+    @Test
+    @DisplayName("업스트림까지 가지 않은 요청은 한도를 바꾸지 않는다")
+    void filter_noUpstream_keepsLimit() {
+        AdaptiveConcurrencyGatewayFilterFactory.Config config = new AdaptiveConcurrencyGatewayFilterFactory.Config();
+        config.setRouteId("note_route");
+        config.setInitialLimit(2);
+        config.setMinLimit(1);
+        GatewayFilter filter = new AdaptiveConcurrencyGatewayFilterFactory(meterRegistry).apply(config);
+
+        for (int i = 0; i < 10; i++) {
+            filter.filter(proxiedExchange(), exchange -> Mono.empty()).block();
+        }
+
+        assertThat(limit()).isEqualTo(2);
+    }
+
+    private GatewayFilterChain upstreamChain() {
+        return exchange -> upstreamTiming.filter(exchange, routed -> Mono.delay(Duration.ofMillis(2)).then());
+    }
+
+    private static MockServerWebExchange proxiedExchange() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/note/1"));
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR, URI.create("http://note-service:8002/note/1"));
+        return exchange;
+    }
+
+    private double limit() {
+        return meterRegistry.get("gateway.concurrency.limit").tag("route", "note_route").gauge().value();
+    }
+}
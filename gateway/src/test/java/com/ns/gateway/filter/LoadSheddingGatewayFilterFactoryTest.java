@@ -0,0 +1,62 @@
+package com.ns.gateway.filter;
+
+import com.ns.gateway.shedding.OverloadDetector;
+import com.ns.gateway.shedding.Priority;
+import com.ns.gateway.transport.NettyTransport;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoadSheddingGatewayFilterFactoryTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final OverloadDetector detector = new OverloadDetector(new NettyTransport("nio", meterRegistry),
+            Duration.ofMillis(100), Duration.ofMillis(50), 1000, 2.0, meterRegistry);
+    private final UpstreamTimingGlobalFilter upstreamTiming = new UpstreamTimingGlobalFilter(
+            meterRegistry, new Duration[]{Duration.ofMillis(100)}, new double[]{0.5});
+
+    @Test
+    @DisplayName("필터를 거친 요청의 업스트림 지연이 늘면 낮은 등급부터 거부한다")
+    void filter_upstreamLatencyRises_shedsLowPriority() {
+        LoadSheddingGatewayFilterFactory.Config config = new LoadSheddingGatewayFilterFactory.Config();
+        config.setRouteId("topic_route");
+        config.setPriority(Priority.LOW);
+        GatewayFilter filter = new LoadSheddingGatewayFilterFactory(detector, meterRegistry, Duration.ofSeconds(2)).apply(config);
+
+        // 기준선이 잡힐 만큼 빠른 응답을 보낸 뒤 업스트림을 느리게 만든다
+        for (int i = 0; i < 120; i++) {
+            filter.filter(proxiedExchange(), upstreamChain(Duration.ofMillis(1))).block();
+        }
+        for (int i = 0; i < 3; i++) {
+            filter.filter(proxiedExchange(), upstreamChain(Duration.ofMillis(30))).block();
+        }
+
+        MockServerWebExchange exchange = proxiedExchange();
+        filter.filter(exchange, upstreamChain(Duration.ofMillis(1))).block();
+
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(detector.getInFlight()).isZero();
+    }
+
+    private GatewayFilterChain upstreamChain(Duration upstreamDelay) {
+        return exchange -> upstreamTiming.filter(exchange, routed -> Mono.delay(upstreamDelay).then());
+    }
+
+    private static MockServerWebExchange proxiedExchange() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/topic/extract"));
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR, URI.create("http://topic-service:8004/topic/extract"));
+        return exchange;
+    }
+}
@@ -0,0 +1,38 @@
+package com.ns.gateway.hedge;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HedgeBudgetTest {
+
+    @Test
+    @DisplayName("요청 20건당 헤지 1건까지만 허용한다 (5%)")
+    void tryAcquire_withinFivePercent() {
+        HedgeBudget budget = new HedgeBudget(0.05, 10);
+
+        int hedges = 0;
+        for (int i = 0; i < 200; i++) {
+            budget.onRequest();
+            if (budget.tryAcquire()) {
+                hedges++;
+            }
+        }
+
+        assertThat(hedges).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("적립은 최대 잔액까지만 쌓인다")
+    void onRequest_cappedAtMaxBalance() {
+        HedgeBudget budget = new HedgeBudget(0.05, 2);
+        for (int i = 0; i < 1000; i++) {
+            budget.onRequest();
+        }
+
+        assertThat(budget.tryAcquire()).isTrue();
+        assertThat(budget.tryAcquire()).isTrue();
+        assertThat(budget.tryAcquire()).isFalse();
+    }
+}
@@ -0,0 +1,60 @@
+package com.ns.gateway.jwt;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtClaimsCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final JwtClaimsCache cache = new JwtClaimsCache(100, Duration.ofMinutes(10), meterRegistry);
+
+    @Test
+    @DisplayName("같은 토큰은 한 번만 검증한다")
+    void get_sameToken_verifiedOnce() {
+        AtomicInteger verified = new AtomicInteger();
+        Claims claims = claimsExpiringIn(Duration.ofMinutes(5));
+
+        cache.get("token-a", t -> { verified.incrementAndGet(); return claims; });
+        Claims cached = cache.get("token-a", t -> { verified.incrementAndGet(); return claims; });
+
+        assertThat(cached).isSameAs(claims);
+        assertThat(verified.get()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("이미 만료된 토큰은 캐시하지 않는다")
+    void get_expiredToken_notCached() {
+        AtomicInteger verified = new AtomicInteger();
+        Claims claims = claimsExpiringIn(Duration.ofSeconds(-1));
+
+        cache.get("token-b", t -> { verified.incrementAndGet(); return claims; });
+        cache.get("token-b", t -> { verified.incrementAndGet(); return claims; });
+
+        assertThat(verified.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("검증 실패 예외는 그대로 전파된다")
+    void get_verifierThrows_propagates() {
+        assertThatThrownBy(() -> cache.get("token-c", t -> { throw new IllegalArgumentException("bad"); }))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("bad");
+    }
+
+    private Claims claimsExpiringIn(Duration ttl) {
+        Claims claims = Jwts.claims().setSubject("user-1");
+        claims.setExpiration(new Date(System.currentTimeMillis() + ttl.toMillis()));
+        return claims;
+    }
+}
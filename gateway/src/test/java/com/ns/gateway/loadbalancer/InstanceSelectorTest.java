@@ -0,0 +1,117 @@
+package com.ns.gateway.loadbalancer;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InstanceSelectorTest {
+
+    private static final long MS = 1_000_000L;
+    private static final long SECOND = 1_000 * MS;
+
+    private static final URI A = URI.create("http://10.0.0.1:8002");
+    private static final URI B = URI.create("http://10.0.0.2:8002");
+    private static final URI C = URI.create("http://10.0.0.3:8002");
+
+    private final InstanceSelector selector = new InstanceSelector(10 * SECOND, 3, 30 * SECOND, 50);
+    private final Random random = new Random(42);
+
+    @Test
+    @DisplayName("지연이 긴 인스턴스는 덜 고른다")
+    void choose_prefersFasterInstance() {
+        selector.update(List.of(A, B));
+        long now = SECOND;
+        for (UpstreamInstance instance : selector.instances()) {
+            instance.start();
+            selector.onResult(instance, now, instance.uri().equals(A) ? 10 * MS : 200 * MS, false);
+        }
+
+        int fast = 0;
+        for (int i = 0; i < 100; i++) {
+            if (selector.choose(now, random).uri().equals(A)) {
+                fast++;
+            }
+        }
+
+        assertThat(fast).isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("연속 실패한 인스턴스는 제외 시간 동안 고르지 않는다")
+    void onResult_consecutiveFailures_ejects() {
+        selector.update(List.of(A, B, C));
+        UpstreamInstance a = instance(A);
+        long now = SECOND;
+
+        boolean ejected = false;
+        for (int i = 0; i < 3; i++) {
+            a.start();
+            ejected = selector.onResult(a, now, 5 * MS, true);
+        }
+
+        assertThat(ejected).isTrue();
+        for (int i = 0; i < 100; i++) {
+            assertThat(selector.choose(now + SECOND, random).uri()).isNotEqualTo(A);
+        }
+        // 제외 시간이 지나면 다시 후보가 된다
+        assertThat(a.isEjected(now + 31 * SECOND)).isFalse();
+    }
+
+    @Test
+    @DisplayName("취소된 요청은 연속 실패를 초기화하지 않는다")
+    void onCancel_keepsFailureStreak() {
+        selector.update(List.of(A, B, C));
+        UpstreamInstance a = instance(A);
+        long now = SECOND;
+
+        boolean ejected = false;
+        for (int i = 0; i < 3; i++) {
+            a.start();
+            ejected = selector.onResult(a, now, 5 * MS, true);
+            // 실패 사이사이 헤지 경주에서 진 요청
+            a.start();
+            selector.onCancel(a);
+        }
+
+        assertThat(ejected).isTrue();
+        assertThat(a.inFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("최대 제외 비율을 넘겨서는 제외하지 않는다")
+    void onResult_respectsMaxEjectionPercent() {
+        selector.update(List.of(A, B));
+        long now = SECOND;
+        for (URI uri : List.of(A, B)) {
+            UpstreamInstance instance = instance(uri);
+            for (int i = 0; i < 3; i++) {
+                instance.start();
+                selector.onResult(instance, now, 5 * MS, true);
+            }
+        }
+
+        assertThat(instance(A).isEjected(now)).isTrue();
+        assertThat(instance(B).isEjected(now)).isFalse();
+    }
+
+    @Test
+    @DisplayName("목록을 바꿔도 남은 인스턴스의 통계는 유지한다")
+    void update_keepsExistingInstances() {
+        selector.update(List.of(A, B));
+        UpstreamInstance a = instance(A);
+
+        List<UpstreamInstance> removed = selector.update(List.of(A, C));
+
+        assertThat(instance(A)).isSameAs(a);
+        assertThat(removed).extracting(UpstreamInstance::uri).containsExactly(B);
+    }
+
+    private UpstreamInstance instance(URI uri) {
+        return selector.instances().stream().filter(i -> i.uri().equals(uri)).findFirst().orElseThrow();
+    }
+}
@@ -0,0 +1,68 @@
+package com.ns.gateway.mirror;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+
+import java.net.URI;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MirrorPolicyTest {
+
+    private final MirrorPolicy policy = new MirrorPolicy(URI.create("http://note-shadow:8002"), 10,
+            List.of(HttpMethod.GET, HttpMethod.HEAD), 2);
+
+    @Test
+    @DisplayName("난수가 비율 미만인 지정 메서드 요청만 미러링한다")
+    void shouldMirror_sampledByPercentage() {
+        HttpHeaders headers = new HttpHeaders();
+
+        assertThat(policy.shouldMirror(HttpMethod.GET, headers, 0.05)).isTrue();
+        assertThat(policy.shouldMirror(HttpMethod.GET, headers, 0.10)).isFalse();
+        assertThat(policy.shouldMirror(HttpMethod.POST, headers, 0.05)).isFalse();
+    }
+
+    @Test
+    @DisplayName("바디가 있는 요청은 미러링하지 않는다")
+    void shouldMirror_skipsRequestsWithBody() {
+        HttpHeaders withLength = new HttpHeaders();
+        withLength.setContentLength(12);
+        HttpHeaders chunked = new HttpHeaders();
+        chunked.set(HttpHeaders.TRANSFER_ENCODING, "chunked");
+
+        assertThat(policy.shouldMirror(HttpMethod.GET, withLength, 0.0)).isFalse();
+        assertThat(policy.shouldMirror(HttpMethod.GET, chunked, 0.0)).isFalse();
+    }
+
+    @Test
+    @DisplayName("진행 중인 섀도 요청이 상한에 닿으면 더 보내지 않는다")
+    void tryAcquire_boundedByMaxInFlight() {
+        assertThat(policy.tryAcquire()).isTrue();
+        assertThat(policy.tryAcquire()).isTrue();
+        assertThat(policy.tryAcquire()).isFalse();
+
+        policy.release();
+
+        assertThat(policy.getInFlight()).isEqualTo(1);
+        assertThat(policy.tryAcquire()).isTrue();
+    }
+
+    @Test
+    @DisplayName("섀도 주소에 주 요청의 경로와 쿼리를 붙인다")
+    void shadowUri_keepsPathAndQuery() {
+        URI shadow = policy.shadowUri(URI.create("http://gateway:8000/note/search?keyword=%ED%95%9C&page=0"));
+
+        assertThat(shadow).hasToString("http://note-shadow:8002/note/search?keyword=%ED%95%9C&page=0");
+    }
+
+    @Test
+    @DisplayName("비율은 0 ~ 100 사이여야 한다")
+    void constructor_rejectsInvalidPercentage() {
+        assertThatThrownBy(() -> new MirrorPolicy(URI.create("http://x"), 120, List.of(HttpMethod.GET), 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,43 @@
+package com.ns.gateway.path;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PathPatternIndexTest {
+
+    private static final List<String> PATTERNS = List.of(
+            "/auth/google/callback",
+            "/auth/refresh",
+            "/actuator/**",
+            "/note/*/public",
+            "/note/{id}/share",
+            "/docs/*.html",
+            "/files/**/raw",
+            "/trail/"
+    );
+
+    private final PathPatternIndex index = PathPatternIndex.compile(PATTERNS);
+    private final AntPathMatcher antPathMatcher = new AntPathMatcher();
+
+    @ParameterizedTest
+    @DisplayName("AntPathMatcher 루프와 동일한 결과를 반환한다")
+    @ValueSource(strings = {
+            "/auth/refresh", "/auth/refresh/", "/auth/google", "/auth/google/callback",
+            "/actuator", "/actuator/", "/actuator/health/liveness",
+            "/note/1/public", "/note/1/private", "/note/1/share", "/note/public",
+            "/docs/index.html", "/docs/index.htm",
+            "/files/raw", "/files/a/b/raw", "/files/a/b",
+            "/trail/", "/trail", "/", "/unknown"
+    })
+    void matches_sameAsAntPathMatcher(String path) {
+        boolean expected = PATTERNS.stream().anyMatch(pattern -> antPathMatcher.match(pattern, path));
+
+        assertThat(index.matches(path)).isEqualTo(expected);
+    }
+}
@@ -0,0 +1,51 @@
+package com.ns.gateway.ratelimit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryRateLimiterTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    private final InMemoryRateLimiter limiter = new InMemoryRateLimiter(4, 1000, Duration.ofMinutes(10));
+    private final RateLimitQuota quota = new RateLimitQuota(2, 3);
+
+    @Test
+    @DisplayName("버스트 용량까지 허용하고 그 다음 요청은 거부한다")
+    void acquire_beyondBurst_rejected() {
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.acquire("note_route:user:1", quota, 0L).allowed()).isTrue();
+        }
+
+        RateLimitDecision decision = limiter.acquire("note_route:user:1", quota, 0L);
+
+        assertThat(decision.allowed()).isFalse();
+        // 초당 2개 보충이므로 다음 토큰까지 0.5초
+        assertThat(decision.retryAfter()).isEqualTo(Duration.ofMillis(500));
+    }
+
+    @Test
+    @DisplayName("시간이 지나면 보충 속도만큼 토큰이 다시 생긴다")
+    void acquire_afterRefill_allowed() {
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire("note_route:user:1", quota, 0L);
+        }
+
+        assertThat(limiter.acquire("note_route:user:1", quota, SECOND / 2).allowed()).isTrue();
+        assertThat(limiter.acquire("note_route:user:1", quota, SECOND / 2).allowed()).isFalse();
+    }
+
+    @Test
+    @DisplayName("사용자마다 버킷이 따로 있다")
+    void acquire_differentUsers_independentBuckets() {
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire("note_route:user:1", quota, 0L);
+        }
+
+        assertThat(limiter.acquire("note_route:user:2", quota, 0L).allowed()).isTrue();
+    }
+}
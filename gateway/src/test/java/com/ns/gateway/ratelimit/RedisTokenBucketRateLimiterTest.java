@@ -0,0 +1,89 @@
+package com.ns.gateway.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class RedisTokenBucketRateLimiterTest {
+
+    private final ReactiveStringRedisTemplate redis = mock(ReactiveStringRedisTemplate.class);
+    private final RedisTokenBucketRateLimiter limiter =
+            new RedisTokenBucketRateLimiter(redis, 10, Duration.ofSeconds(1), new SimpleMeterRegistry());
+
+    @Test
+    @DisplayName("한 번에 리스하는 토큰은 버스트 용량의 1/4 을 넘지 않는다")
+    void tryAcquire_batchCappedByBurst() {
+        doReturn(Flux.just(List.of(2L, 0L))).when(redis).execute(any(), anyList(), anyList());
+
+        limiter.tryAcquire("note_route:user:1", new RateLimitQuota(5, 10)).block();
+
+        ArgumentCaptor<List<?>> args = ArgumentCaptor.forClass(List.class);
+        verify(redis).execute(any(), anyList(), args.capture());
+        assertThat(args.getValue().get(3)).isEqualTo("2");
+    }
+
+    @Test
+    @DisplayName("리스가 빈 동시 요청들은 진행 중인 Redis 호출 하나를 같이 기다린다")
+    void tryAcquire_emptyLease_singleFetch() {
+        Sinks.One<List<Long>> firstBatch = Sinks.one();
+        doReturn(firstBatch.asMono().flux(), Flux.just(List.of(0L, 500L)))
+                .when(redis).execute(any(), anyList(), anyList());
+        RateLimitQuota quota = new RateLimitQuota(5, 10);
+
+        List<RateLimitDecision> decisions = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("note_route:user:1", quota).subscribe(decisions::add);
+        }
+        verify(redis, times(1)).execute(any(), anyList(), anyList());
+
+        firstBatch.tryEmitValue(List.of(2L, 0L));
+
+        // 배치 2개는 두 요청이 쓰고, 남은 한 요청은 다음 배치를 기다렸다가 거부된다
+        assertThat(decisions).hasSize(3);
+        assertThat(decisions).filteredOn(RateLimitDecision::allowed).hasSize(2);
+        assertThat(decisions).filteredOn(decision -> !decision.allowed())
+                .extracting(RateLimitDecision::retryAfter)
+                .containsExactly(Duration.ofMillis(500));
+        verify(redis, times(2)).execute(any(), anyList(), anyList());
+    }
+
+    @Test
+    @DisplayName("리스가 남아 있으면 Redis 를 다시 부르지 않는다")
+    void tryAcquire_leaseLeft_noFetch() {
+        doReturn(Flux.just(List.of(5L, 0L))).when(redis).execute(any(), anyList(), anyList());
+        RateLimitQuota quota = new RateLimitQuota(10, 20);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire("note_route:user:1", quota).block().allowed()).isTrue();
+        }
+
+        verify(redis, times(1)).execute(any(), anyList(), anyList());
+    }
+
+    @Test
+    @DisplayName("Redis 호출이 실패하면 요청을 허용한다")
+    void tryAcquire_redisError_failOpen() {
+        doReturn(Flux.error(new IllegalStateException("redis down"))).when(redis).execute(any(), anyList(), anyList());
+
+        RateLimitDecision decision = limiter.tryAcquire("note_route:user:1", new RateLimitQuota(5, 10)).block();
+
+        assertThat(decision.allowed()).isTrue();
+        assertThat(decision.remaining()).isEqualTo(-1);
+    }
+}
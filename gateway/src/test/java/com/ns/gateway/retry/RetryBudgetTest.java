@@ -0,0 +1,60 @@
+package com.ns.gateway.retry;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RetryBudgetTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    @DisplayName("재시도는 윈도 안 성공 요청 수의 비율까지만 허용한다")
+    void tryAcquire_cappedByRatio() {
+        RetryBudget budget = new RetryBudget(0.1, 0, Duration.ofSeconds(10));
+        long now = 100 * SECOND;
+        for (int i = 0; i < 100; i++) {
+            budget.onSuccess(now);
+        }
+
+        int granted = 0;
+        for (int i = 0; i < 50; i++) {
+            if (budget.tryAcquire(now)) {
+                granted++;
+            }
+        }
+
+        assertThat(granted).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("성공이 없으면 초당 최소 허용량만 재시도한다")
+    void tryAcquire_minRetriesWithoutSuccesses() {
+        RetryBudget budget = new RetryBudget(0.1, 1, Duration.ofSeconds(5));
+        long now = 100 * SECOND;
+
+        int granted = 0;
+        for (int i = 0; i < 20; i++) {
+            if (budget.tryAcquire(now)) {
+                granted++;
+            }
+        }
+
+        assertThat(granted).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("윈도를 벗어난 성공은 예산에서 빠진다")
+    void tryAcquire_oldSuccessesExpire() {
+        RetryBudget budget = new RetryBudget(0.5, 0, Duration.ofSeconds(10));
+        for (int i = 0; i < 10; i++) {
+            budget.onSuccess(100 * SECOND);
+        }
+        assertThat(budget.tryAcquire(105 * SECOND)).isTrue();
+
+        assertThat(budget.tryAcquire(111 * SECOND)).isFalse();
+    }
+}
@@ -0,0 +1,44 @@
+package com.ns.gateway.revocation;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RevocationSetTest {
+
+    private final RevocationSet revocationSet = new RevocationSet(1000, 0.01, new SimpleMeterRegistry());
+
+    @Test
+    @DisplayName("로그아웃 이전에 발급된 토큰만 거부한다")
+    void isRevoked_issuedBeforeLogout() {
+        revocationSet.revoke("user-1", 1_000_500L);
+
+        assertThat(revocationSet.isRevoked("user-1", 999_000L)).isTrue();
+        assertThat(revocationSet.isRevoked("user-1", 1_000_500L)).isTrue();
+        assertThat(revocationSet.isRevoked("user-2", 999_000L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("로그아웃과 같은 초라도 그 뒤에 발급된 토큰은 통과한다")
+    void isRevoked_reLoginWithinSameSecond() {
+        revocationSet.revoke("user-1", 1_000_500L);
+
+        assertThat(revocationSet.isRevoked("user-1", 1_000_400L)).isTrue();
+        assertThat(revocationSet.isRevoked("user-1", 1_000_501L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("보관 기간이 지난 폐기 기록은 지운다")
+    void expireBefore_removesOldEntries() {
+        revocationSet.revoke("user-1", 1_000_000L);
+        revocationSet.revoke("user-2", 5_000_000L);
+
+        revocationSet.expireBefore(2_000_000L);
+
+        assertThat(revocationSet.size()).isEqualTo(1);
+        assertThat(revocationSet.isRevoked("user-1", 500_000L)).isFalse();
+        assertThat(revocationSet.isRevoked("user-2", 500_000L)).isTrue();
+    }
+}
@@ -0,0 +1,64 @@
+package com.ns.gateway.shedding;
+
+import com.ns.gateway.transport.NettyTransport;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OverloadDetectorTest {
+
+    private static final long MS = 1_000_000L;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final OverloadDetector detector = new OverloadDetector(new NettyTransport("nio", meterRegistry),
+            Duration.ofMillis(100), Duration.ofMillis(50), 10, 2.0, meterRegistry);
+
+    @Test
+    @DisplayName("처리 중 요청이 한도에 가까워질수록 낮은 등급부터 거부 대상이 된다")
+    void pressure_inFlight_shedsLowPriorityFirst() {
+        for (int i = 0; i < 10; i++) {
+            detector.enter();
+        }
+
+        double pressure = detector.pressure();
+        assertThat(Priority.LOW.shouldShed(pressure)).isTrue();
+        assertThat(Priority.NORMAL.shouldShed(pressure)).isFalse();
+        assertThat(Priority.CRITICAL.shouldShed(pressure)).isFalse();
+
+        for (int i = 0; i < 10; i++) {
+            detector.exit(0);
+        }
+        assertThat(Priority.LOW.shouldShed(detector.pressure())).isFalse();
+    }
+
+    @Test
+    @DisplayName("이벤트 루프 지연이 임계치를 넘으면 과부하로 본다")
+    void pressure_eventLoopLag() {
+        for (int i = 0; i < 10; i++) {
+            detector.onLagSample(100 * MS);
+        }
+
+        assertThat(detector.pressure()).isGreaterThanOrEqualTo(1.5);
+        assertThat(Priority.HIGH.shouldShed(detector.pressure())).isTrue();
+        assertThat(Priority.CRITICAL.shouldShed(detector.pressure())).isFalse();
+    }
+
+    @Test
+    @DisplayName("업스트림 지연이 장기 평균보다 크게 늘면 과부하로 본다")
+    void pressure_upstreamLatencyRatio() {
+        for (int i = 0; i < 500; i++) {
+            detector.onUpstreamSample(10 * MS);
+        }
+        assertThat(detector.pressure()).isLessThan(1.0);
+
+        for (int i = 0; i < 30; i++) {
+            detector.onUpstreamSample(100 * MS);
+        }
+
+        assertThat(detector.pressure()).isGreaterThanOrEqualTo(1.0);
+    }
+}
@@ -0,0 +1,43 @@
+package com.ns.gateway.timing;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ServerTimingsTest {
+
+    @Test
+    @DisplayName("옵트인 헤더는 1 또는 true 일 때만 인정한다")
+    void isRequested() {
+        assertThat(ServerTimings.isRequested("1")).isTrue();
+        assertThat(ServerTimings.isRequested("TRUE")).isTrue();
+        assertThat(ServerTimings.isRequested(null)).isFalse();
+        assertThat(ServerTimings.isRequested("0")).isFalse();
+        assertThat(ServerTimings.isRequested("yes")).isFalse();
+    }
+
+    @Test
+    @DisplayName("같은 이름은 합산하고 밀리초 단위로 소수점 둘째 자리까지 표시한다")
+    void record_sumsSameName() {
+        ServerTimings timings = new ServerTimings();
+        timings.record("gw-auth", "jwt", 1_200_000);
+        timings.record("gw-auth", "jwt", 300_000);
+        timings.record("gw", null, 12_345_678);
+
+        assertThat(timings.merge(null)).isEqualTo("gw-auth;desc=\"jwt\";dur=1.5, gw;dur=12.35");
+    }
+
+    @Test
+    @DisplayName("게이트웨이 항목 뒤에 다운스트림 항목을 이어 붙인다")
+    void merge_appendsDownstream() {
+        ServerTimings timings = new ServerTimings();
+        timings.record("gw", "gateway", 5_000_000);
+
+        String merged = timings.merge(List.of("note-es;dur=3.1, note;dur=4.0", " user-redis;dur=0.4 ", ""));
+
+        assertThat(merged).isEqualTo("gw;desc=\"gateway\";dur=5.0, note-es;dur=3.1, note;dur=4.0, user-redis;dur=0.4");
+    }
+}
@@ -0,0 +1,40 @@
+package com.ns.gateway.upstream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UpstreamPoolSettingsTest {
+
+    @Test
+    @DisplayName("풀 metadata 가 없으면 공용 HttpClient 를 쓴다")
+    void from_noPoolMetadata_returnsNull() {
+        assertThat(UpstreamPoolSettings.from(Map.of("response-timeout", 1000))).isNull();
+        assertThat(UpstreamPoolSettings.from(null)).isNull();
+    }
+
+    @Test
+    @DisplayName("숫자는 밀리초, 문자열은 Duration 형식으로 읽는다")
+    void from_parsesValues() {
+        UpstreamPoolSettings settings = UpstreamPoolSettings.from(Map.of(
+                "pool-max-connections", "64",
+                "pool-max-idle-time", "30s",
+                "pool-pending-acquire-timeout", 2000,
+                "h2c", "true",
+                "connect-timeout", 500
+        ));
+
+        assertThat(settings.maxConnections()).isEqualTo(64);
+        assertThat(settings.maxIdleTime()).isEqualTo(Duration.ofSeconds(30));
+        assertThat(settings.pendingAcquireTimeout()).isEqualTo(Duration.ofSeconds(2));
+        assertThat(settings.pendingAcquireMaxCount()).isEqualTo(128);
+        assertThat(settings.maxLifeTime()).isNull();
+        assertThat(settings.h2c()).isTrue();
+        assertThat(settings.warmupConnections()).isZero();
+        assertThat(settings.connectTimeoutMillis()).isEqualTo(500);
+    }
+}
@@ -0,0 +1,17 @@
+package com.ns.note.configs;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration
+public class AsyncConfig {
+
+    // 다른 서비스 호출·DB 조회를 병렬로 실행할 때 사용 (I/O 대기 위주라 가상 스레드)
+    @Bean(destroyMethod = "close")
+    public ExecutorService fanOutExecutor() {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+}
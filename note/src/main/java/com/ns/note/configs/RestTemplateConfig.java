@@ -1,15 +1,121 @@
 package com.ns.note.configs;
 
 
+import com.ns.note.timing.ServerTimingPropagationInterceptor;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.pool.PoolStats;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.net.URI;
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * 다른 서비스(USER, GRAPH) 호출용 RestTemplate.
+ * Apache HttpClient 5 커넥션 풀을 대상 서비스별 크기로 나눠 keep-alive 커넥션을 재사용하고,
+ * 연결·응답·풀 대기 타임아웃을 두어 대상 서비스가 멈춰도 Tomcat 스레드가 무한정 묶이지 않게 한다.
+ * 호출 지연시간은 RestTemplateBuilder 의 http.client.requests (client.name = 대상 호스트) 로,
+ * 풀 포화도는 note.http.client.pool.* (target = user | graph) 게이지로 내보낸다.
+ */
 @Configuration
 public class RestTemplateConfig {
 
+    @Value("${services.user.base-url}")
+    private String userBaseUrl;
+
+    @Value("${services.graph.base-url}")
+    private String graphBaseUrl;
+
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager interServiceConnectionManager(
+            @Value("${services.user.max-connections:50}") int userMaxConnections,
+            @Value("${services.graph.max-connections:20}") int graphMaxConnections,
+            @Value("${services.http-client.connect-timeout:1s}") Duration connectTimeout,
+            @Value("${services.http-client.response-timeout:5s}") Duration responseTimeout,
+            MeterRegistry meterRegistry) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(userMaxConnections + graphMaxConnections)
+                .setMaxConnPerRoute(userMaxConnections)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(connectTimeout))
+                        .setSocketTimeout(Timeout.of(responseTimeout))
+                        // 오래 놀던 커넥션은 쓰기 전에 살아 있는지 확인
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .build();
+
+        HttpRoute userRoute = routeOf(userBaseUrl);
+        HttpRoute graphRoute = routeOf(graphBaseUrl);
+        connectionManager.setMaxPerRoute(userRoute, userMaxConnections);
+        connectionManager.setMaxPerRoute(graphRoute, graphMaxConnections);
+        registerPoolGauges(meterRegistry, connectionManager, "user", userRoute);
+        registerPoolGauges(meterRegistry, connectionManager, "graph", graphRoute);
+        return connectionManager;
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient interServiceHttpClient(
+            PoolingHttpClientConnectionManager interServiceConnectionManager,
+            @Value("${services.http-client.connection-request-timeout:500ms}") Duration connectionRequestTimeout,
+            @Value("${services.http-client.response-timeout:5s}") Duration responseTimeout) {
+        return HttpClients.custom()
+                .setConnectionManager(interServiceConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        // 풀이 가득 차면 오래 기다리지 않고 실패시켜 스레드가 쌓이지 않게 한다
+                        .setConnectionRequestTimeout(Timeout.of(connectionRequestTimeout))
+                        .setResponseTimeout(Timeout.of(responseTimeout))
+                        .build())
+                .evictIdleConnections(TimeValue.ofSeconds(30))
+                .evictExpiredConnections()
+                .build();
+    }
+
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(RestTemplateBuilder restTemplateBuilder, CloseableHttpClient interServiceHttpClient) {
+        return restTemplateBuilder
+                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(interServiceHttpClient))
+                // 옵트인한 요청이면 USER 서비스 등의 Server-Timing 항목을 받아 합친다
+                .additionalInterceptors(new ServerTimingPropagationInterceptor())
+                .build();
+    }
+
+    // HttpClient 의 라우트 계획과 같도록 기본 포트를 채운다
+    private static HttpRoute routeOf(String baseUrl) {
+        URI uri = URI.create(baseUrl);
+        int port = uri.getPort() != -1 ? uri.getPort() : ("https".equalsIgnoreCase(uri.getScheme()) ? 443 : 80);
+        return new HttpRoute(new HttpHost(uri.getScheme(), uri.getHost(), port));
+    }
+
+    private static void registerPoolGauges(MeterRegistry meterRegistry, PoolingHttpClientConnectionManager connectionManager,
+                                           String target, HttpRoute route) {
+        gauge(meterRegistry, connectionManager, target, route, "leased", "사용 중인 커넥션 수", PoolStats::getLeased);
+        gauge(meterRegistry, connectionManager, target, route, "available", "재사용 대기 중인 유휴 커넥션 수", PoolStats::getAvailable);
+        gauge(meterRegistry, connectionManager, target, route, "pending", "커넥션을 기다리는 요청 수", PoolStats::getPending);
+        gauge(meterRegistry, connectionManager, target, route, "max", "대상 서비스별 최대 커넥션 수", PoolStats::getMax);
+    }
+
+    private static void gauge(MeterRegistry meterRegistry, PoolingHttpClientConnectionManager connectionManager,
+                              String target, HttpRoute route, String name, String description,
+                              Function<PoolStats, Integer> stat) {
+        Gauge.builder("note.http.client.pool." + name, connectionManager, cm -> stat.apply(cm.getStats(route)))
+                .description(description)
+                .tag("target", target)
+                .register(meterRegistry);
     }
-}
\ No newline at end of file
+}
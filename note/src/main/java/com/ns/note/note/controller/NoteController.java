@@ -3,9 +3,12 @@ package com.ns.note.note.controller;
 import com.ns.note.note.dto.request.NoteCreateRequestDto;
 import com.ns.note.note.dto.request.NoteParaMappingRequestDto;
 import com.ns.note.note.dto.request.NoteUpdateRequestDto;
+import com.ns.note.note.dto.response.NoteOpenResponseDto;
 import com.ns.note.note.dto.response.NoteResponseDto;
 import com.ns.note.note.dto.response.NoteSummaryResponseDto;
+import com.ns.note.note.service.NoteOpenService;
 import com.ns.note.note.service.NoteService;
+import com.ns.note.note.vo.NoteOpenVo;
 import com.ns.note.note.vo.NoteRequestVo;
 import com.ns.note.note.vo.NoteResponseVo;
 import com.ns.note.response.GlobalResponseHandler;
@@ -27,6 +30,7 @@ import org.springframework.web.bind.annotation.*;
 public class NoteController {
 
     private final NoteService noteService;
+    private final NoteOpenService noteOpenService;
 
     // 노트 생성
     @PostMapping("/create")
@@ -54,6 +58,7 @@ public class NoteController {
     public  ResponseEntity<GlobalResponseHandler<NoteResponseDto>> updateNote(
             @PathVariable @NotBlank String id,
             @RequestBody NoteUpdateRequestDto dto,
+            @RequestHeader("X-User-ID") String userId,
             @RequestHeader("Authorization") String authorization) {
 
         NoteRequestVo vo = new NoteRequestVo(
@@ -64,7 +69,7 @@ public class NoteController {
                 dto.getParaCategory()
         );
 
-        NoteResponseVo note = noteService.updateNote(id, vo, authorization);
+        NoteResponseVo note = noteService.updateNote(id, vo, userId, authorization);
 
         return GlobalResponseHandler.success(
                 ResponseStatus.NOTE_UPDATE_SUCCESS,
@@ -76,8 +81,9 @@ public class NoteController {
     @GetMapping("/{id}")
     public  ResponseEntity<GlobalResponseHandler<NoteResponseDto>> findNoteDetails(
             @PathVariable @NotBlank String id,
+            @RequestHeader("X-User-ID") String userId,
             @RequestHeader("Authorization") String authorization) {
-        NoteResponseVo note = noteService.findNoteDetails(id, authorization);
+        NoteResponseVo note = noteService.findNoteDetails(id, userId, authorization);
 
         return GlobalResponseHandler.success(
                 ResponseStatus.NOTE_SEARCH_SUCCESS,
@@ -85,12 +91,26 @@ public class NoteController {
         );
     }
 
+    // 노트 열기 (본문 + 내 역할 + yorkie 토큰을 한 번에)
+    @GetMapping("/{id}/open")
+    public ResponseEntity<GlobalResponseHandler<NoteOpenResponseDto>> openNote(
+            @PathVariable @NotBlank String id,
+            @RequestHeader("Authorization") String authorization) {
+        NoteOpenVo opened = noteOpenService.openNote(id, authorization);
+
+        return GlobalResponseHandler.success(
+                ResponseStatus.NOTE_OPEN_SUCCESS,
+                NoteOpenResponseDto.from(opened)
+        );
+    }
+
     // 노트 삭제 (소프트)
     @DeleteMapping("/delete/{id}")
     public ResponseEntity<GlobalResponseHandler<Void>> deleteNote(
             @PathVariable @NotBlank String id,
+            @RequestHeader("X-User-ID") String userId,
             @RequestHeader("Authorization") String authorization) {
-        noteService.deleteNote(id, authorization);
+        noteService.deleteNote(id, userId, authorization);
         return GlobalResponseHandler.success(ResponseStatus.NOTE_DELETE_SUCCESS);
     }
 
@@ -0,0 +1,42 @@
+package com.ns.note.note.dto.response;
+
+import com.ns.note.note.vo.NoteOpenVo;
+import lombok.Getter;
+
+@Getter
+public class NoteOpenResponseDto {
+
+    private final NoteResponseDto note;
+    private final String role;
+    private final Yorkie yorkie;
+
+    private NoteOpenResponseDto(NoteResponseDto note, String role, Yorkie yorkie) {
+        this.note = note;
+        this.role = role;
+        this.yorkie = yorkie;
+    }
+
+    @Getter
+    public static class Yorkie {
+        private final String token;
+        private final int expiresIn;
+        private final String documentKey;
+        private final String verb;
+
+        private Yorkie(String token, int expiresIn, String documentKey, String verb) {
+            this.token = token;
+            this.expiresIn = expiresIn;
+            this.documentKey = documentKey;
+            this.verb = verb;
+        }
+    }
+
+    // VO → ResponseDto 변환
+    public static NoteOpenResponseDto from(NoteOpenVo vo) {
+        return new NoteOpenResponseDto(
+                NoteResponseDto.from(vo.note()),
+                vo.role(),
+                new Yorkie(vo.yorkieToken(), vo.yorkieExpiresIn(), vo.documentKey(), vo.documentVerb())
+        );
+    }
+}
@@ -0,0 +1,42 @@
+package com.ns.note.note.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// USER 서비스 /yorkie/session 응답
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class NoteSessionHandlerDto {
+    private Integer statusCode;
+    private String message;
+    private NoteSessionDto data;
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class NoteSessionDto {
+        private String noteId;
+        private String userId;
+        private String role; // OWNER | WRITER | READER
+        private YorkieTokenDto yorkie;
+    }
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class YorkieTokenDto {
+        private String token;
+        private int expiresIn; // seconds
+        private DocumentAttributeDto documentAttributes;
+    }
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class DocumentAttributeDto {
+        private String key;  // "note-123"
+        private String verb; // "r" | "rw"
+    }
+}
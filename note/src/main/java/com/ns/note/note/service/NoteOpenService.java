@@ -0,0 +1,118 @@
+package com.ns.note.note.service;
+
+import com.ns.note.exception.ServiceException;
+import com.ns.note.note.dto.response.NoteSessionHandlerDto;
+import com.ns.note.note.vo.NoteOpenVo;
+import com.ns.note.note.vo.NoteResponseVo;
+import com.ns.note.timing.ServerTimings;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+
+import static com.ns.note.exception.ExceptionStatus.*;
+
+/**
+ * 노트 열기 (본문 + 내 역할 + Yorkie 토큰).
+ * USER 서비스 /yorkie/session 한 번으로 권한 조회와 토큰 발급을 끝내고, 그동안 노트 본문 조회를 병렬로 진행한다.
+ * 권한이 없으면 이미 조회한 본문은 버리고 예외를 던진다.
+ */
+@Slf4j
+@Service
+public class NoteOpenService {
+
+    private static final Set<String> READABLE_ROLES = Set.of("OWNER", "WRITER", "READER");
+
+    private final NoteService noteService;
+    private final RestTemplate restTemplate;
+    private final ExecutorService fanOutExecutor;
+
+    @Value("${services.user.base-url}")
+    private String userBaseUrl;
+
+    public NoteOpenService(NoteService noteService, RestTemplate restTemplate,
+                           @Qualifier("fanOutExecutor") ExecutorService fanOutExecutor) {
+        this.noteService = noteService;
+        this.restTemplate = restTemplate;
+        this.fanOutExecutor = fanOutExecutor;
+    }
+
+    public NoteOpenVo openNote(String id, String authorization) {
+        CompletableFuture<NoteSessionHandlerDto.NoteSessionDto> session =
+                CompletableFuture.supplyAsync(ServerTimings.propagate(
+                        () -> ServerTimings.time("note-perm", "permission", () -> openSession(id, authorization))), fanOutExecutor);
+        CompletableFuture<NoteResponseVo> note =
+                CompletableFuture.supplyAsync(ServerTimings.propagate(() -> noteService.findActiveNote(id)), fanOutExecutor);
+
+        NoteSessionHandlerDto.NoteSessionDto granted = join(session);
+        if (!READABLE_ROLES.contains(granted.getRole())) {
+            note.cancel(true);
+            throw new ServiceException(NOTE_SERVICE_NOT_AUTHENTICATION_ROLE);
+        }
+
+        NoteSessionHandlerDto.YorkieTokenDto yorkie = granted.getYorkie();
+        return NoteOpenVo.of(
+                join(note),
+                granted.getRole(),
+                yorkie.getToken(),
+                yorkie.getExpiresIn(),
+                yorkie.getDocumentAttributes() != null ? yorkie.getDocumentAttributes().getKey() : null,
+                yorkie.getDocumentAttributes() != null ? yorkie.getDocumentAttributes().getVerb() : null
+        );
+    }
+
+    // USER 서비스에서 역할 + yorkie 토큰을 한 번에 발급
+    private NoteSessionHandlerDto.NoteSessionDto openSession(String noteId, String bearer) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("Authorization", bearer);
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        HttpEntity<Map<String, String>> entity = new HttpEntity<>(Map.of("noteId", noteId), headers);
+
+        try {
+            ResponseEntity<NoteSessionHandlerDto> response = restTemplate.exchange(
+                    userBaseUrl + "/yorkie/session",
+                    HttpMethod.POST,
+                    entity,
+                    NoteSessionHandlerDto.class
+            );
+
+            NoteSessionHandlerDto body = response.getBody();
+            if (body == null || body.getData() == null || body.getData().getRole() == null
+                    || body.getData().getYorkie() == null) {
+                throw new ServiceException(USER_SERVICE_INVALID_ROLE);
+            }
+            return body.getData();
+
+        } catch (HttpStatusCodeException e) { // 4xx / 5xx 모두 처리
+            throw new ServiceException(NOTE_SERVICE_PERMISSION_DENIED);
+        } catch (ResourceAccessException e) { // 연결 문제
+            throw new ServiceException(USER_SERVICE_ACCESS_FAILED);
+        }
+    }
+
+    // 병렬 작업에서 난 ServiceException 은 그대로 전달
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -9,6 +9,8 @@ import com.ns.note.note.repository.NoteRepository;
 import com.ns.note.note.vo.NoteParaMappingVo;
 import com.ns.note.note.vo.NoteRequestVo;
 import com.ns.note.note.vo.NoteResponseVo;
+import com.ns.note.permission.NoteRoleCache;
+import com.ns.note.timing.ServerTimings;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -35,6 +37,7 @@ public class NoteService {
 
     private final NoteRepository noteRepository;
     private final RestTemplate restTemplate;
+    private final NoteRoleCache roleCache;
 
     @Value("${services.user.base-url}")
     private String userBaseUrl;
@@ -67,8 +70,8 @@ public class NoteService {
         return NoteEntitytoNoteResponseVo(newNote);
     }
 
-    public NoteResponseVo updateNote(String id, NoteRequestVo vo,  String authorization) {
-        String role = getMyRole(id, authorization);
+    public NoteResponseVo updateNote(String id, NoteRequestVo vo, String userId, String authorization) {
+        String role = getMyRole(id, userId, authorization);
         if(!(role.equals("OWNER")||role.equals("WRITER"))){
             throw new ServiceException(ExceptionStatus.NOTE_SERVICE_NOT_AUTHENTICATION_ROLE);
         }
@@ -77,13 +80,13 @@ public class NoteService {
 
         note.update(vo.workspaceId(), vo.title(), vo.description(), vo.contents(),vo.paraCategory());
 
-        NoteEntity updatedNote = noteRepository.save(note);
+        NoteEntity updatedNote = ServerTimings.time("note-es", "elasticsearch", () -> noteRepository.save(note));
 
         return NoteEntitytoNoteResponseVo(updatedNote);
     }
 
-    public NoteResponseVo findNoteDetails(String id, String authorization) {
-        String role = getMyRole(id, authorization);
+    public NoteResponseVo findNoteDetails(String id, String userId, String authorization) {
+        String role = getMyRole(id, userId, authorization);
         if(!(role.equals("OWNER")||role.equals("WRITER")||role.equals("READER"))){
             throw new ServiceException(ExceptionStatus.NOTE_SERVICE_NOT_AUTHENTICATION_ROLE);
         }
@@ -93,8 +96,13 @@ public class NoteService {
         return NoteEntitytoNoteResponseVo(note);
     }
 
-    public void deleteNote(String id, String authorization) {
-        String role = getMyRole(id, authorization);
+    // 권한 확인 없이 노트 본문만 조회 (권한은 호출하는 쪽에서 별도로 확인)
+    public NoteResponseVo findActiveNote(String id) {
+        return NoteEntitytoNoteResponseVo(getActiveNoteById(id));
+    }
+
+    public void deleteNote(String id, String userId, String authorization) {
+        String role = getMyRole(id, userId, authorization);
         if(!(role.equals("OWNER"))) {
             throw new ServiceException(ExceptionStatus.NOTE_SERVICE_NOT_AUTHENTICATION_ROLE);
         }
@@ -110,7 +118,8 @@ public class NoteService {
     }
 
     public List<String> getAllNoteIdsByWorkspace(String workspaceId) {
-        return noteRepository.findAllByWorkspaceIdAndDeletedAtIsNull(workspaceId)
+        return ServerTimings.time("note-es", "elasticsearch",
+                        () -> noteRepository.findAllByWorkspaceIdAndDeletedAtIsNull(workspaceId))
                 .stream()
                 .map(NoteEntity::getId)
                 .collect(Collectors.toList());
@@ -119,7 +128,8 @@ public class NoteService {
 
     public List<NoteResponseVo> searchNotesByKeyword(String workspaceId, String keyword, Pageable pageable) {
         log.info("Parameters: workspaceId={}, keyword='{}', Pageable={}", workspaceId, keyword, pageable.toString());
-        List<NoteEntity> entities = noteRepository.searchByKeywordAndWorkspaceId(workspaceId, keyword, pageable);
+        List<NoteEntity> entities = ServerTimings.time("note-es", "elasticsearch",
+                () -> noteRepository.searchByKeywordAndWorkspaceId(workspaceId, keyword, pageable));
 
         return entities.stream()
                 .map(this::NoteEntitytoNoteResponseVo)
@@ -128,7 +138,8 @@ public class NoteService {
 
     public List<NoteResponseVo> findRecentUpdatedNotes(String workspaceId, Pageable pageable) {
         log.info("Parameters: workspaceId={}, Pageable={}", workspaceId, pageable.toString());
-        List<NoteEntity> entities = noteRepository.findAllByWorkspaceIdAndDeletedAtIsNullOrderByUpdatedAtDesc(workspaceId, pageable);
+        List<NoteEntity> entities = ServerTimings.time("note-es", "elasticsearch",
+                () -> noteRepository.findAllByWorkspaceIdAndDeletedAtIsNullOrderByUpdatedAtDesc(workspaceId, pageable));
 
         return entities.stream()
                 .map(this::NoteEntitytoNoteResponseVo)
@@ -173,8 +184,6 @@ public class NoteService {
     }
 
     private void notifyGraphParaSync(String workspaceId, String userId, String newStyle) {
-        String url = graphBaseUrl + "/workspaces/" + workspaceId + "/style";
-
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
         headers.set("X-User-ID", userId);
@@ -183,7 +192,7 @@ public class NoteService {
         HttpEntity<Map<String, String>> entity = new HttpEntity<>(body, headers);
 
         try {
-            restTemplate.exchange(url, HttpMethod.POST, entity, Void.class);
+            restTemplate.exchange(graphBaseUrl + "/workspaces/{workspaceId}/style", HttpMethod.POST, entity, Void.class, workspaceId);
             log.info("Workspace style sync request sent: workspaceId={}, newStyle={}", workspaceId, newStyle);
 
         } catch (HttpStatusCodeException e) {
@@ -197,7 +206,7 @@ public class NoteService {
 
     // 삭제되지 않은 노트 조회
     private NoteEntity getActiveNoteById(String id) {
-        return noteRepository.findByIdAndDeletedAtIsNull(id)
+        return ServerTimings.time("note-es", "elasticsearch", () -> noteRepository.findByIdAndDeletedAtIsNull(id))
                 .orElseThrow(() -> new ServiceException(ExceptionStatus.NOTE_NOT_FOUND));
     }
 
@@ -231,19 +240,26 @@ public class NoteService {
         );
     }
 
-    // USER 서비스에서 나의 역할 조회
-    private String getMyRole(String noteId, String bearer) {
+    // 나의 역할 조회 (로컬 캐시 → USER 서비스)
+    private String getMyRole(String noteId, String userId, String bearer) {
+        return roleCache.get(noteId, userId, bearer, () -> fetchMyRole(noteId, bearer));
+    }
+
+    // USER 서비스에서 토큰의 사용자와 나의 역할 조회
+    private NoteRoleCache.VerifiedRole fetchMyRole(String noteId, String bearer) {
         HttpHeaders headers = new HttpHeaders();
         headers.set("Authorization", bearer);
         HttpEntity<Void> entity = new HttpEntity<>(headers);
 
         try{
-            ResponseEntity<ResponseHandlerDto> response = restTemplate.exchange(
-                    userBaseUrl + "/permission/" + noteId + "/me",
-                    HttpMethod.GET,
-                    entity,
-                    ResponseHandlerDto.class
-            );
+            ResponseEntity<ResponseHandlerDto> response = ServerTimings.time("note-perm", "permission",
+                    () -> restTemplate.exchange(
+                            userBaseUrl + "/permission/{noteId}/me",
+                            HttpMethod.GET,
+                            entity,
+                            ResponseHandlerDto.class,
+                            noteId
+                    ));
 
             ResponseHandlerDto body = response.getBody();
 
@@ -251,7 +267,7 @@ public class NoteService {
                 throw new ServiceException(USER_SERVICE_INVALID_ROLE);
             }
 
-            return body.getData().getRole();
+            return new NoteRoleCache.VerifiedRole(body.getData().getUserId(), body.getData().getRole());
 
         }catch (HttpStatusCodeException e) { // 4xx / 5xx 모두 처리
             throw new ServiceException(NOTE_SERVICE_PERMISSION_DENIED);
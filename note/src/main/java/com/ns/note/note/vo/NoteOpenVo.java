@@ -0,0 +1,22 @@
+package com.ns.note.note.vo;
+
+// 노트 열기 결과 Vo (노트 본문 + 내 역할 + Yorkie 토큰)
+public record NoteOpenVo(
+        NoteResponseVo note,
+        String role,
+        String yorkieToken,
+        int yorkieExpiresIn,
+        String documentKey,
+        String documentVerb
+) {
+    public static NoteOpenVo of(
+            NoteResponseVo note,
+            String role,
+            String yorkieToken,
+            int yorkieExpiresIn,
+            String documentKey,
+            String documentVerb
+    ) {
+        return new NoteOpenVo(note, role, yorkieToken, yorkieExpiresIn, documentKey, documentVerb);
+    }
+}
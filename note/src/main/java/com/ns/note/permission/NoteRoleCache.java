@@ -0,0 +1,209 @@
+package com.ns.note.permission;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.ns.note.exception.ExceptionStatus;
+import com.ns.note.exception.ServiceException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * USER 서비스 /permission/{noteId}/me 결과를 (noteId, 토큰) 단위로 잠깐 들고 있는 로컬 캐시.
+ * 키는 호출자가 바꿀 수 있는 X-User-ID 가 아니라 Authorization 토큰의 해시이고, 엔트리에는 USER 서비스가 토큰으로 확인한 userId 를 함께 둔다.
+ * X-User-ID 가 토큰의 사용자와 다르면 권한 없음으로 거절한다.
+ * <ul>
+ *     <li>ttl 이내: 캐시된 역할을 그대로 쓴다</li>
+ *     <li>ttl ~ maxStale: 캐시된 역할을 바로 돌려주고 백그라운드에서 다시 조회한다 (stale-while-revalidate).
+ *         재조회가 USER 서비스 연결 실패면 기존 역할을 유지하고, 권한 거부면 엔트리를 버린다.</li>
+ *     <li>maxStale 이후 또는 캐시에 없으면: 동기 조회</li>
+ * </ul>
+ * 권한이 바뀌면 {@link PermissionChangeListener} 가 해당 엔트리를 바로 무효화한다.
+ */
+@Slf4j
+@Component
+public class NoteRoleCache {
+
+    private final Cache<Key, Entry> cache;
+    private final Ticker ticker;
+    private final long ttlNanos;
+    private final Executor refreshExecutor;
+    private final Set<Key> refreshing = ConcurrentHashMap.newKeySet();
+    // 조회 도중 무효화가 일어나면 조회 결과를 넣지 않기 위한 세대 번호 (노트 단위, (노트, 사용자) 단위)
+    private final Cache<Generation, AtomicLong> generations;
+
+    private final Counter hits;
+    private final Counter staleHits;
+    private final Counter misses;
+    private final Counter staleKept;
+
+    @Autowired
+    public NoteRoleCache(@Value("${permission-cache.ttl:30s}") Duration ttl,
+                         @Value("${permission-cache.max-stale:5m}") Duration maxStale,
+                         @Value("${permission-cache.max-size:10000}") long maxSize,
+                         @Qualifier("fanOutExecutor") ExecutorService fanOutExecutor,
+                         MeterRegistry meterRegistry) {
+        this(ttl, maxStale, maxSize, fanOutExecutor, meterRegistry, Ticker.systemTicker());
+    }
+
+    public NoteRoleCache(Duration ttl, Duration maxStale, long maxSize, Executor refreshExecutor,
+                         MeterRegistry meterRegistry, Ticker ticker) {
+        this.ticker = ticker;
+        this.ttlNanos = ttl.toNanos();
+        this.refreshExecutor = refreshExecutor;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(maxStale)
+                .ticker(ticker)
+                .build();
+        // 진행 중인 조회보다 오래만 남아 있으면 된다
+        this.generations = Caffeine.newBuilder()
+                .expireAfterAccess(maxStale)
+                .ticker(ticker)
+                .build();
+        this.hits = counter(meterRegistry, "hit");
+        this.staleHits = counter(meterRegistry, "stale");
+        this.misses = counter(meterRegistry, "miss");
+        this.staleKept = counter(meterRegistry, "stale_on_error");
+    }
+
+    /** USER 서비스가 토큰으로 확인한 사용자와 그 역할. */
+    public record VerifiedRole(String userId, String role) {
+    }
+
+    /** loader 는 bearer 로 USER 서비스를 조회한다. 실패하면 ServiceException 을 던진다. */
+    public String get(String noteId, String userId, String bearer, Supplier<VerifiedRole> loader) {
+        Key key = new Key(noteId, digest(bearer));
+        Entry entry = cache.getIfPresent(key);
+        if (entry != null) {
+            if (ticker.read() - entry.loadedAtNanos() < ttlNanos) {
+                hits.increment();
+            } else {
+                staleHits.increment();
+                refreshInBackground(key, userId, loader);
+            }
+            return checkSubject(entry.userId(), userId, entry.role());
+        }
+
+        misses.increment();
+        long generation = generation(noteId, userId);
+        VerifiedRole verified = loader.get();
+        store(key, verified, generation, userId);
+        return checkSubject(verified.userId(), userId, verified.role());
+    }
+
+    public void invalidate(String noteId, String userId) {
+        bump(new Generation(noteId, userId));
+        cache.asMap().entrySet().removeIf(e -> e.getKey().noteId().equals(noteId) && e.getValue().userId().equals(userId));
+    }
+
+    /** userId 를 모르는 변경 이벤트면 노트 단위로 버린다. */
+    public void invalidateNote(String noteId) {
+        bump(new Generation(noteId, null));
+        cache.asMap().keySet().removeIf(key -> key.noteId().equals(noteId));
+    }
+
+    // 다른 사용자의 X-User-ID 로 자기 토큰을 보낸 요청은 거절한다
+    private static String checkSubject(String verifiedUserId, String claimedUserId, String role) {
+        if (claimedUserId == null || !claimedUserId.equals(verifiedUserId)) {
+            throw new ServiceException(ExceptionStatus.NOTE_SERVICE_PERMISSION_DENIED);
+        }
+        return role;
+    }
+
+    // 노트 단위와 (노트, 사용자) 단위 세대 번호의 합. 둘 중 하나라도 무효화되면 바뀐다
+    private long generation(String noteId, String userId) {
+        return count(new Generation(noteId, null)) + count(new Generation(noteId, userId));
+    }
+
+    private long count(Generation key) {
+        AtomicLong counter = generations.getIfPresent(key);
+        return counter != null ? counter.get() : 0L;
+    }
+
+    private void bump(Generation key) {
+        generations.get(key, k -> new AtomicLong()).incrementAndGet();
+    }
+
+    private void refreshInBackground(Key key, String userId, Supplier<VerifiedRole> loader) {
+        if (!refreshing.add(key)) {
+            return;
+        }
+        long generation = generation(key.noteId(), userId);
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    store(key, loader.get(), generation, userId);
+                } catch (ServiceException e) {
+                    if (e.getStatus() == ExceptionStatus.USER_SERVICE_ACCESS_FAILED) {
+                        // USER 서비스가 내려가 있으면 maxStale 까지 기존 역할로 버틴다
+                        staleKept.increment();
+                        log.warn("role revalidation failed for note {}, serving stale: {}", key.noteId(), e.getMessage());
+                    } else {
+                        cache.invalidate(key);
+                    }
+                } catch (RuntimeException e) {
+                    log.warn("role revalidation failed for note {}: {}", key.noteId(), e.getMessage());
+                } finally {
+                    refreshing.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshing.remove(key);
+        }
+    }
+
+    // 토큰의 사용자가 X-User-ID 와 다르거나, 조회를 시작한 뒤 해당 노트·사용자가 무효화됐으면 넣지 않는다
+    private void store(Key key, VerifiedRole verified, long generation, String userId) {
+        if (verified.userId() != null && verified.userId().equals(userId)
+                && generation(key.noteId(), userId) == generation) {
+            cache.put(key, new Entry(verified.userId(), verified.role(), ticker.read()));
+        }
+    }
+
+    // 토큰 원문을 메모리에 들고 있지 않도록 해시를 키로 쓴다
+    private static String digest(String bearer) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256")
+                    .digest(String.valueOf(bearer).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("note.permission.cache")
+                .description("getMyRole 로컬 캐시 조회 결과")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private record Key(String noteId, String tokenDigest) {
+    }
+
+    private record Entry(String userId, String role, long loadedAtNanos) {
+    }
+
+    // userId 가 null 이면 노트 단위
+    private record Generation(String noteId, String userId) {
+    }
+}
@@ -0,0 +1,105 @@
+package com.ns.note.permission;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.stream.StreamMessageListenerContainer;
+import org.springframework.data.redis.stream.StreamMessageListenerContainer.StreamMessageListenerContainerOptions;
+import org.springframework.data.redis.stream.StreamMessageListenerContainer.StreamReadRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * USER 서비스 PermissionService 가 권한 부여·회수 때 기록하는 Redis 스트림(permission:changes)을 구독해
+ * {@link NoteRoleCache} 의 해당 엔트리를 무효화한다.
+ * 구독이 끊긴 동안 놓친 이벤트는 캐시 ttl 이 지나면 재조회로 따라잡는다.
+ * Redis 가 끊기면 폴링 스레드가 연속 실패마다 대기를 늘려 가며 다시 읽는다 (요청 경로는 영향 없음).
+ */
+@Slf4j
+@Component
+public class PermissionChangeListener {
+
+    private static final Duration INITIAL_BACKOFF = Duration.ofSeconds(1);
+    private static final Duration MAX_BACKOFF = Duration.ofSeconds(30);
+    // 연속 실패 중에는 첫 실패와 이후 이 횟수마다만 경고를 남긴다
+    private static final int LOG_EVERY = 10;
+
+    private final RedisConnectionFactory connectionFactory;
+    private final NoteRoleCache roleCache;
+    private final String streamKey;
+
+    private StreamMessageListenerContainer<String, MapRecord<String, String, String>> container;
+    // 폴링 스레드에서만 읽고 쓴다
+    private int failures;
+    private long lastFailureNanos;
+
+    public PermissionChangeListener(RedisConnectionFactory connectionFactory,
+                                    NoteRoleCache roleCache,
+                                    @Value("${permission-cache.stream-key:permission:changes}") String streamKey) {
+        this.connectionFactory = connectionFactory;
+        this.roleCache = roleCache;
+        this.streamKey = streamKey;
+    }
+
+    @PostConstruct
+    void start() {
+        container = StreamMessageListenerContainer.create(connectionFactory,
+                StreamMessageListenerContainerOptions.builder()
+                        .pollTimeout(Duration.ofSeconds(1))
+                        .errorHandler(this::onReadError)
+                        .build());
+        // 기동 이후의 변경부터 받고 이후로는 마지막으로 읽은 ID 다음부터 읽는다 (기동 전 변경은 캐시가 비어 있으므로 필요 없음)
+        container.register(StreamReadRequest.builder(StreamOffset.create(streamKey, ReadOffset.lastConsumed()))
+                        .cancelOnError(e -> false)
+                        .build(),
+                this::apply);
+        container.start();
+    }
+
+    @PreDestroy
+    void stop() {
+        if (container != null) {
+            container.stop();
+        }
+    }
+
+    // 읽기 실패 후 같은 폴링 스레드에서 바로 다시 읽으므로, 여기서 기다려 Redis 가 끊긴 동안 바쁘게 돌지 않게 한다
+    private void onReadError(Throwable e) {
+        long now = System.nanoTime();
+        // 최대 대기의 두 배가 넘도록 실패가 없었으면 새로 끊긴 것으로 보고 처음부터 센다
+        if (now - lastFailureNanos > MAX_BACKOFF.toNanos() * 2) {
+            failures = 0;
+        }
+        lastFailureNanos = now;
+        long backoffMillis = Math.min(MAX_BACKOFF.toMillis(), INITIAL_BACKOFF.toMillis() << Math.min(failures, 5));
+        if (failures % LOG_EVERY == 0) {
+            log.warn("permission change stream read failed ({} in a row), retrying in {}ms: {}",
+                    failures + 1, backoffMillis, e.getMessage());
+        }
+        failures++;
+        try {
+            Thread.sleep(backoffMillis);
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void apply(MapRecord<String, String, String> record) {
+        String noteId = record.getValue().get("noteId");
+        String userId = record.getValue().get("userId");
+        if (noteId == null) {
+            return;
+        }
+        if (userId == null) {
+            roleCache.invalidateNote(noteId);
+        } else {
+            roleCache.invalidate(noteId, userId);
+        }
+    }
+}
@@ -13,6 +13,7 @@ public enum ResponseStatus {
     NOTE_DELETE_SUCCESS(HttpStatus.OK, "노트가 성공적으로 삭제되었습니다."),
     NOTE_UPDATE_SUCCESS(HttpStatus.OK, "노트가 성공적으로 수정되었습니다."),
     NOTE_SEARCH_SUCCESS(HttpStatus.OK, "노트가 성공적으로 조회되었습니다."),
+    NOTE_OPEN_SUCCESS(HttpStatus.OK, "노트와 편집 토큰이 성공적으로 조회되었습니다."),
     NOTE_PARA_MAPPING_SUCCESS(HttpStatus.OK,"파라 변환이 성공적으로 완료되었습니다.");
 
     private final int statusCode;
@@ -0,0 +1,28 @@
+package com.ns.note.timing;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+
+/**
+ * 옵트인한 요청에서 다른 서비스를 호출할 때 X-Server-Timing 을 함께 보내고,
+ * 응답의 Server-Timing 항목(user-* 등)을 현재 요청의 항목에 이어 붙인다.
+ */
+public class ServerTimingPropagationInterceptor implements ClientHttpRequestInterceptor {
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        ServerTimings timings = ServerTimings.current();
+        if (timings == null) {
+            return execution.execute(request, body);
+        }
+
+        request.getHeaders().set(ServerTimings.OPT_IN_HEADER, "1");
+        ClientHttpResponse response = execution.execute(request, body);
+        timings.addDownstream(response.getHeaders().get(ServerTimings.HEADER));
+        return response;
+    }
+}
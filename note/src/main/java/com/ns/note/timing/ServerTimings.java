@@ -0,0 +1,134 @@
+package com.ns.note.timing;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * 요청 1건의 Server-Timing 항목 모음 (note 서비스 구간 + USER 서비스가 돌려준 항목).
+ * X-Server-Timing 으로 옵트인한 요청에만 {@link ServerTimingFilter} 가 만들어 요청 스레드에 묶는다.
+ * 옵트인하지 않은 요청에서는 {@link #time} 이 ThreadLocal 조회 한 번만 하고 바로 작업을 실행한다.
+ */
+public final class ServerTimings {
+
+    public static final String OPT_IN_HEADER = "X-Server-Timing";
+    public static final String HEADER = "Server-Timing";
+
+    private static final ThreadLocal<ServerTimings> CURRENT = new ThreadLocal<>();
+
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+    private final List<String> downstream = new ArrayList<>();
+    private long serializationStartNanos;
+
+    public static boolean isRequested(String optInHeader) {
+        return optInHeader != null && ("1".equals(optInHeader) || "true".equalsIgnoreCase(optInHeader));
+    }
+
+    public static ServerTimings current() {
+        return CURRENT.get();
+    }
+
+    static void bind(ServerTimings timings) {
+        CURRENT.set(timings);
+    }
+
+    static void unbind() {
+        CURRENT.remove();
+    }
+
+    /** 옵트인한 요청이면 작업 시간을 name 구간에 더한다. */
+    public static <T> T time(String name, String description, Supplier<T> work) {
+        ServerTimings timings = CURRENT.get();
+        if (timings == null) {
+            return work.get();
+        }
+        long startNanos = System.nanoTime();
+        try {
+            return work.get();
+        } finally {
+            timings.record(name, description, System.nanoTime() - startNanos);
+        }
+    }
+
+    /** fanOutExecutor 작업 스레드에서도 같은 요청의 항목에 기록되도록 현재 타이밍을 넘긴다. */
+    public static <T> Supplier<T> propagate(Supplier<T> work) {
+        ServerTimings timings = CURRENT.get();
+        if (timings == null) {
+            return work;
+        }
+        return () -> {
+            CURRENT.set(timings);
+            try {
+                return work.get();
+            } finally {
+                CURRENT.remove();
+            }
+        };
+    }
+
+    public synchronized void record(String name, String description, long nanos) {
+        Entry entry = entries.get(name);
+        if (entry == null) {
+            entries.put(name, new Entry(description, nanos));
+        } else {
+            entry.nanos += nanos;
+        }
+    }
+
+    /** 다른 서비스 응답의 Server-Timing 값을 그대로 이어 붙인다 (각 서비스가 자기 접두사를 붙여 보낸다). */
+    public synchronized void addDownstream(List<String> headerValues) {
+        if (headerValues == null) {
+            return;
+        }
+        for (String value : headerValues) {
+            if (value != null && !value.isBlank()) {
+                downstream.add(value.trim());
+            }
+        }
+    }
+
+    // 응답 바디 직렬화 시작 시점 (첫 호출만 인정)
+    synchronized void markSerializationStart() {
+        if (serializationStartNanos == 0L) {
+            serializationStartNanos = System.nanoTime();
+        }
+    }
+
+    synchronized long serializationStartNanos() {
+        return serializationStartNanos;
+    }
+
+    public synchronized String toHeaderValue() {
+        StringBuilder value = new StringBuilder(64);
+        for (Map.Entry<String, Entry> e : entries.entrySet()) {
+            if (!value.isEmpty()) {
+                value.append(", ");
+            }
+            value.append(e.getKey());
+            if (e.getValue().description != null) {
+                value.append(";desc=\"").append(e.getValue().description).append('"');
+            }
+            // 밀리초, 소수점 둘째 자리까지
+            value.append(";dur=").append(Math.round(e.getValue().nanos / 10_000.0) / 100.0);
+        }
+        for (String entry : downstream) {
+            if (!value.isEmpty()) {
+                value.append(", ");
+            }
+            value.append(entry);
+        }
+        return value.toString();
+    }
+
+    private static final class Entry {
+        private final String description;
+        private long nanos;
+
+        private Entry(String description, long nanos) {
+            this.description = description;
+            this.nanos = nanos;
+        }
+    }
+}
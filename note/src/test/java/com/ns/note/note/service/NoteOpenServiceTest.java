@@ -0,0 +1,86 @@
+package com.ns.note.note.service;
+
+import com.ns.note.exception.ExceptionStatus;
+import com.ns.note.exception.ServiceException;
+import com.ns.note.note.dto.response.NoteSessionHandlerDto;
+import com.ns.note.note.vo.NoteOpenVo;
+import com.ns.note.note.vo.NoteResponseVo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NoteOpenServiceTest {
+
+    @Mock
+    private NoteService noteService;
+
+    @Mock
+    private RestTemplate restTemplate;
+
+    private ExecutorService executor;
+    private NoteOpenService noteOpenService;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        noteOpenService = new NoteOpenService(noteService, restTemplate, executor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.close();
+    }
+
+    @Test
+    void openNote_success() {
+        // given
+        NoteResponseVo note = new NoteResponseVo("123", "1", "title", "desc", "contents", null, null, null);
+        when(noteService.findActiveNote("123")).thenReturn(note);
+
+        NoteSessionHandlerDto.NoteSessionDto session = new NoteSessionHandlerDto.NoteSessionDto(
+                "123", "user-1", "WRITER",
+                new NoteSessionHandlerDto.YorkieTokenDto("yorkie-token", 600,
+                        new NoteSessionHandlerDto.DocumentAttributeDto("note-123", "rw")));
+        when(restTemplate.exchange(anyString(), any(), any(), eq(NoteSessionHandlerDto.class)))
+                .thenReturn(ResponseEntity.ok(new NoteSessionHandlerDto(200, "SUCCESS", session)));
+
+        // when
+        NoteOpenVo result = noteOpenService.openNote("123", "Bearer test-token");
+
+        // then
+        assertThat(result.note().id()).isEqualTo("123");
+        assertThat(result.role()).isEqualTo("WRITER");
+        assertThat(result.yorkieToken()).isEqualTo("yorkie-token");
+        assertThat(result.documentVerb()).isEqualTo("rw");
+        // 권한 조회는 USER 서비스 한 번만
+        verify(restTemplate, times(1)).exchange(anyString(), any(), any(), eq(NoteSessionHandlerDto.class));
+    }
+
+    @Test
+    void openNote_permissionDenied_shouldThrowException() {
+        // given
+        lenient().when(noteService.findActiveNote("123"))
+                .thenReturn(new NoteResponseVo("123", "1", "title", "desc", "contents", null, null, null));
+        when(restTemplate.exchange(anyString(), any(), any(), eq(NoteSessionHandlerDto.class)))
+                .thenThrow(new HttpClientErrorException(HttpStatus.NOT_FOUND));
+
+        // expect
+        assertThatThrownBy(() -> noteOpenService.openNote("123", "Bearer test-token"))
+                .isInstanceOf(ServiceException.class)
+                .hasMessage(ExceptionStatus.NOTE_SERVICE_PERMISSION_DENIED.getMessage());
+    }
+}
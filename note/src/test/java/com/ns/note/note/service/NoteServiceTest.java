@@ -8,10 +8,13 @@ import com.ns.note.note.entity.NoteEntity;
 import com.ns.note.note.repository.NoteRepository;
 import com.ns.note.note.vo.NoteRequestVo;
 import com.ns.note.note.vo.NoteResponseVo;
+import com.ns.note.permission.NoteRoleCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -19,6 +22,7 @@ import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 
@@ -38,6 +42,10 @@ class NoteServiceTest {
     @Mock
     private RestTemplate restTemplate;
 
+    @Spy
+    private NoteRoleCache roleCache = new NoteRoleCache(Duration.ofSeconds(30), Duration.ofMinutes(5), 100,
+            Runnable::run, new SimpleMeterRegistry(), System::nanoTime);
+
     @Test
     void createNewNote_success() {
         // given
@@ -92,11 +100,12 @@ class NoteServiceTest {
                 anyString(),
                 any(),
                 any(),
-                eq(ResponseHandlerDto.class))
+                eq(ResponseHandlerDto.class),
+                anyString())
         ).thenReturn(ResponseEntity.ok(mockResponse));
 
         // when
-        NoteResponseVo result = noteService.updateNote(id,  new NoteRequestVo("1", "title", "desc", "contents", null),"Bearer test-token");
+        NoteResponseVo result = noteService.updateNote(id,  new NoteRequestVo("1", "title", "desc", "contents", null), "user-1", "Bearer test-token");
 
         // then
         assertThat(result.id()).isEqualTo(id);
@@ -122,10 +131,11 @@ class NoteServiceTest {
                 anyString(),
                 any(),
                 any(),
-                eq(ResponseHandlerDto.class))
+                eq(ResponseHandlerDto.class),
+                anyString())
         ).thenReturn(ResponseEntity.ok(mockResponse));
         // expect
-        assertThatThrownBy(() -> noteService.updateNote("notfound",  new NoteRequestVo("1", "title", "desc", "contents", null),"Bearer test-token"))
+        assertThatThrownBy(() -> noteService.updateNote("notfound",  new NoteRequestVo("1", "title", "desc", "contents", null), "user-1", "Bearer test-token"))
                 .isInstanceOf(ServiceException.class)
                 .hasMessage(ExceptionStatus.NOTE_NOT_FOUND.getMessage());
     }
@@ -153,11 +163,12 @@ class NoteServiceTest {
                 anyString(),
                 any(),
                 any(),
-                eq(ResponseHandlerDto.class))
+                eq(ResponseHandlerDto.class),
+                anyString())
         ).thenReturn(ResponseEntity.ok(mockResponse));
 
         // when
-        NoteResponseVo result = noteService.findNoteDetails(id,"");
+        NoteResponseVo result = noteService.findNoteDetails(id, "user-1", "");
 
         // then
         assertThat(result.id()).isEqualTo(id);
@@ -181,9 +192,10 @@ class NoteServiceTest {
                 anyString(),
                 any(),
                 any(),
-                eq(ResponseHandlerDto.class))
+                eq(ResponseHandlerDto.class),
+                anyString())
         ).thenReturn(ResponseEntity.ok(mockResponse));
-        assertThatThrownBy(() -> noteService.findNoteDetails("notfound",""))
+        assertThatThrownBy(() -> noteService.findNoteDetails("notfound", "user-1", ""))
                 .isInstanceOf(ServiceException.class)
                 .hasMessage(ExceptionStatus.NOTE_NOT_FOUND.getMessage());
     }
@@ -213,12 +225,13 @@ class NoteServiceTest {
                 anyString(),
                 any(),
                 any(),
-                eq(ResponseHandlerDto.class))
+                eq(ResponseHandlerDto.class),
+                anyString())
         ).thenReturn(ResponseEntity.ok(mockResponse));
 
 
         // when
-        noteService.deleteNote(id,"Bearer test-token");
+        noteService.deleteNote(id, "user-1", "Bearer test-token");
 
         // then
         assertThat(existing.getDeletedAt()).isNotNull();
@@ -238,9 +251,10 @@ class NoteServiceTest {
                 anyString(),
                 any(),
                 any(),
-                eq(ResponseHandlerDto.class))
+                eq(ResponseHandlerDto.class),
+                anyString())
         ).thenReturn(ResponseEntity.ok(mockResponse));
-        assertThatThrownBy(() -> noteService.deleteNote("notfound","Bearer test-token"))
+        assertThatThrownBy(() -> noteService.deleteNote("notfound", "user-1", "Bearer test-token"))
                 .isInstanceOf(ServiceException.class)
                 .hasMessage(ExceptionStatus.NOTE_NOT_FOUND.getMessage());
     }
@@ -0,0 +1,176 @@
+package com.ns.note.permission;
+
+import com.ns.note.exception.ExceptionStatus;
+import com.ns.note.exception.ServiceException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class NoteRoleCacheTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000_000L);
+    private final List<Runnable> refreshTasks = new ArrayList<>();
+    private final AtomicInteger loads = new AtomicInteger();
+    private NoteRoleCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new NoteRoleCache(Duration.ofSeconds(30), Duration.ofMinutes(5), 100,
+                refreshTasks::add, new SimpleMeterRegistry(), now::get);
+    }
+
+    private NoteRoleCache.VerifiedRole load(String userId, String role) {
+        loads.incrementAndGet();
+        return new NoteRoleCache.VerifiedRole(userId, role);
+    }
+
+    @Test
+    void get_withinTtl_shouldNotCallUserService() {
+        // given
+        cache.get("note-1", "user-1", "Bearer user-1", () -> load("user-1", "WRITER"));
+
+        // when
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+        String role = cache.get("note-1", "user-1", "Bearer user-1", () -> load("user-1", "OWNER"));
+
+        // then
+        assertThat(role).isEqualTo("WRITER");
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(refreshTasks).isEmpty();
+    }
+
+    @Test
+    void get_afterTtl_shouldServeStaleAndRevalidateInBackground() {
+        // given
+        cache.get("note-1", "user-1", "Bearer user-1", () -> load("user-1", "WRITER"));
+        now.addAndGet(Duration.ofSeconds(31).toNanos());
+
+        // when
+        String stale = cache.get("note-1", "user-1", "Bearer user-1", () -> load("user-1", "READER"));
+        cache.get("note-1", "user-1", "Bearer user-1", () -> load("user-1", "READER"));
+
+        // then - 같은 키의 재조회는 한 번만 예약된다
+        assertThat(stale).isEqualTo("WRITER");
+        assertThat(refreshTasks).hasSize(1);
+
+        refreshTasks.get(0).run();
+        assertThat(cache.get("note-1", "user-1", "Bearer user-1", () -> load("user-1", "OWNER"))).isEqualTo("READER");
+    }
+
+    @Test
+    void get_whenUserServiceDown_shouldKeepStaleRole() {
+        // given
+        cache.get("note-1", "user-1", "Bearer user-1", () -> load("user-1", "WRITER"));
+        now.addAndGet(Duration.ofSeconds(31).toNanos());
+
+        // when
+        cache.get("note-1", "user-1", "Bearer user-1", () -> {
+            throw new ServiceException(ExceptionStatus.USER_SERVICE_ACCESS_FAILED);
+        });
+        refreshTasks.get(0).run();
+
+        // then
+        assertThat(cache.get("note-1", "user-1", "Bearer user-1", () -> load("user-1", "OWNER"))).isEqualTo("WRITER");
+    }
+
+    @Test
+    void get_whenRevalidationDenied_shouldDropEntry() {
+        // given
+        cache.get("note-1", "user-1", "Bearer user-1", () -> load("user-1", "WRITER"));
+        now.addAndGet(Duration.ofSeconds(31).toNanos());
+        cache.get("note-1", "user-1", "Bearer user-1", () -> {
+            throw new ServiceException(ExceptionStatus.NOTE_SERVICE_PERMISSION_DENIED);
+        });
+
+        // when
+        refreshTasks.get(0).run();
+
+        // then
+        assertThatThrownBy(() -> cache.get("note-1", "user-1", "Bearer user-1", () -> {
+            throw new ServiceException(ExceptionStatus.NOTE_SERVICE_PERMISSION_DENIED);
+        })).isInstanceOf(ServiceException.class);
+    }
+
+    @Test
+    void invalidate_shouldForceReload() {
+        // given
+        cache.get("note-1", "user-1", "Bearer user-1", () -> load("user-1", "WRITER"));
+        cache.get("note-1", "user-2", "Bearer user-2", () -> load("user-2", "READER"));
+
+        // when
+        cache.invalidate("note-1", "user-1");
+
+        // then
+        assertThat(cache.get("note-1", "user-1", "Bearer user-1", () -> load("user-1", "READER"))).isEqualTo("READER");
+        assertThat(cache.get("note-1", "user-2", "Bearer user-2", () -> load("user-2", "OWNER"))).isEqualTo("READER");
+    }
+
+    @Test
+    void invalidateNote_shouldDropAllUsersOfNote() {
+        // given
+        cache.get("note-1", "user-1", "Bearer user-1", () -> load("user-1", "WRITER"));
+        cache.get("note-2", "user-1", "Bearer user-1", () -> load("user-1", "OWNER"));
+
+        // when
+        cache.invalidateNote("note-1");
+
+        // then
+        assertThat(cache.get("note-1", "user-1", "Bearer user-1", () -> load("user-1", "READER"))).isEqualTo("READER");
+        assertThat(cache.get("note-2", "user-1", "Bearer user-1", () -> load("user-1", "READER"))).isEqualTo("OWNER");
+    }
+
+    @Test
+    void get_whenHeaderUserDiffersFromToken_shouldRejectAndNotCache() {
+        // given - user-2 의 토큰에 user-1 의 X-User-ID 를 붙인 요청
+
+        // when & then
+        assertThatThrownBy(() -> cache.get("note-1", "user-1", "Bearer user-2", () -> load("user-2", "READER")))
+                .isInstanceOf(ServiceException.class);
+
+        // 진짜 user-1 요청은 자기 토큰으로 다시 조회한다
+        assertThat(cache.get("note-1", "user-1", "Bearer user-1", () -> load("user-1", "OWNER"))).isEqualTo("OWNER");
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    void get_sameTokenWithOtherUserHeader_shouldNotServeCachedRole() {
+        // given
+        cache.get("note-1", "user-1", "Bearer user-1", () -> load("user-1", "OWNER"));
+
+        // when & then - 캐시된 토큰의 사용자와 X-User-ID 가 다르면 거절
+        assertThatThrownBy(() -> cache.get("note-1", "user-2", "Bearer user-1", () -> load("user-1", "OWNER")))
+                .isInstanceOf(ServiceException.class);
+    }
+
+    @Test
+    void invalidate_duringLoad_shouldOnlyDiscardThatKey() {
+        // given - 조회 도중 다른 노트와 같은 노트의 해당 사용자가 차례로 무효화된다
+        String other = cache.get("note-1", "user-1", "Bearer user-1", () -> {
+            cache.invalidate("note-2", "user-1");
+            return load("user-1", "WRITER");
+        });
+        String same = cache.get("note-3", "user-1", "Bearer user-1", () -> {
+            cache.invalidate("note-3", "user-1");
+            return load("user-1", "WRITER");
+        });
+
+        // when
+        cache.get("note-1", "user-1", "Bearer user-1", () -> load("user-1", "READER"));
+        String reloaded = cache.get("note-3", "user-1", "Bearer user-1", () -> load("user-1", "READER"));
+
+        // then - 관계없는 무효화는 note-1 조회 결과를 버리지 않는다
+        assertThat(other).isEqualTo("WRITER");
+        assertThat(same).isEqualTo("WRITER");
+        assertThat(reloaded).isEqualTo("READER");
+        assertThat(loads.get()).isEqualTo(3);
+    }
+}
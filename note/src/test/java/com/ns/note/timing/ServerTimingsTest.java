@@ -0,0 +1,59 @@
+package com.ns.note.timing;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ServerTimingsTest {
+
+    @AfterEach
+    void tearDown() {
+        ServerTimings.unbind();
+    }
+
+    @Test
+    void time_withoutOptIn_shouldOnlyRunWork() {
+        // when
+        String result = ServerTimings.time("note-es", "elasticsearch", () -> "ok");
+
+        // then
+        assertThat(result).isEqualTo("ok");
+        assertThat(ServerTimings.current()).isNull();
+    }
+
+    @Test
+    void toHeaderValue_shouldSumSameNameAndAppendDownstream() {
+        // given
+        ServerTimings timings = new ServerTimings();
+        timings.record("note-es", "elasticsearch", 1_000_000);
+        timings.record("note-es", "elasticsearch", 2_500_000);
+        timings.record("note", null, 10_000_000);
+        timings.addDownstream(List.of(" user-redis;dur=0.3, user;dur=1.2 ", ""));
+
+        // when
+        String header = timings.toHeaderValue();
+
+        // then
+        assertThat(header).isEqualTo("note-es;desc=\"elasticsearch\";dur=3.5, note;dur=10.0, user-redis;dur=0.3, user;dur=1.2");
+    }
+
+    @Test
+    void propagate_shouldRecordOnWorkerThread() {
+        // given
+        ServerTimings timings = new ServerTimings();
+        ServerTimings.bind(timings);
+        Supplier<String> work = ServerTimings.propagate(() -> ServerTimings.time("note-perm", "permission", () -> "OWNER"));
+
+        // when
+        String role = CompletableFuture.supplyAsync(work).join();
+
+        // then
+        assertThat(role).isEqualTo("OWNER");
+        assertThat(timings.toHeaderValue()).startsWith("note-perm;desc=\"permission\";dur=");
+    }
+}
@@ -1,24 +1,41 @@
 package com.ns.user.jwt;
 
+import com.ns.user.timing.ServerTimings;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.server.PathContainer;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
 
 import java.io.IOException;
-import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    // 인증 필터에서 제외할 경로 (요청마다 파싱하지 않도록 미리 컴파일)
+    private static final List<PathPattern> EXCLUDED_PATHS = Stream.of(
+            // 인증 관련
+            "/member/**",
+            "/auth/google/**",
+            "/auth/signup",
+            //문서 모니터링
+            "/swagger-ui.html",
+            "/swagger-ui/**",
+            "/v3/api-docs/**",
+            "/actuator/**"
+    ).map(PathPatternParser.defaultInstance::parse).toList();
+
     private final JwtTokenProvider jwtTokenProvider;
 
     @Override
@@ -34,7 +51,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         String token = resolveToken(request);
 
-        if (StringUtils.hasText(token) && jwtTokenProvider.validateToken(token)) {
+        if (StringUtils.hasText(token)
+                && ServerTimings.time("user-auth", "jwt", () -> jwtTokenProvider.validateToken(token))) {
 
             String userId = jwtTokenProvider.getUserId(token);
             String email = jwtTokenProvider.getEmail(token);
@@ -65,21 +83,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     }
 
     private boolean shouldSkipFilter(HttpServletRequest request){
-        final List<String> excludedPaths = Arrays.asList(
-                // 인증 관련
-                "/member/**",
-                "/auth/google/**",
-                "/auth/signup",
-                //문서 모니터링
-                "/swagger-ui.html",
-                "/swagger-ui",
-                "/v3/api-docs",
-                "/actuator/**"
-        );
-
-        String path = request.getRequestURI();
-
-        return excludedPaths.stream()
-                .anyMatch(path::startsWith);
+        PathContainer path = PathContainer.parsePath(request.getRequestURI());
+        for (PathPattern pattern : EXCLUDED_PATHS) {
+            if (pattern.matches(path)) {
+                return true;
+            }
+        }
+        return false;
     }
 }
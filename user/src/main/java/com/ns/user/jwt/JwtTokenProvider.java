@@ -50,6 +50,8 @@ public class JwtTokenProvider {
         claims.put("name", name);
         claims.put("role", role);
         claims.put("type", "access");
+        // iat 는 초 단위라 같은 초의 로그아웃과 구분되도록 발급 시각(ms)을 따로 넣는다
+        claims.put("iat_ms", now.getTime());
 
         return Jwts.builder()
                 .setSubject(userId) // Google sub
@@ -0,0 +1,44 @@
+package com.ns.user.jwt;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * 로그아웃 시 "이 시각(ms) 이전에 발급된 액세스 토큰은 무효" 기록을 Redis 스트림에 남긴다.
+ * 게이트웨이가 이 스트림을 구독해 메모리의 폐기 목록을 갱신한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TokenRevocationPublisher {
+
+    public static final String STREAM_KEY = "auth:revocations";
+    // 액세스 토큰 수명 동안의 기록만 있으면 되므로 대략적인 길이로 자른다
+    private static final long MAX_STREAM_LENGTH = 100_000;
+
+    private final StringRedisTemplate redisTemplate;
+
+    public void publishLogout(String userId) {
+        Instant now = Instant.now();
+        // revokedAt(초)은 예전 게이트웨이용, 게이트웨이는 revokedAtMillis 로 비교한다
+        Map<String, String> fields = Map.of(
+                "userId", userId,
+                "revokedAt", String.valueOf(now.getEpochSecond()),
+                "revokedAtMillis", String.valueOf(now.toEpochMilli())
+        );
+        try {
+            redisTemplate.opsForStream().add(StreamRecords.string(fields).withStreamKey(STREAM_KEY));
+            redisTemplate.opsForStream().trim(STREAM_KEY, MAX_STREAM_LENGTH, true);
+        } catch (DataAccessException e) {
+            // refresh 토큰은 이미 지웠으므로 로그아웃 자체는 성공으로 둔다
+            log.warn("failed to publish token revocation for {}: {}", userId, e.getMessage());
+        }
+    }
+}
@@ -22,8 +22,10 @@ public enum ResponseStatus {
     AUTH_TOKEN_VALID(HttpStatus.OK, "토큰이 유효합니다."),
 
     YORKIE_TOKEN_ISSUE(HttpStatus.OK,"요르키 단명 토큰을 성공적으로 발급하였습니다."),
+    YORKIE_SESSION_ISSUE(HttpStatus.OK,"노트 권한과 요르키 토큰을 성공적으로 발급하였습니다."),
 
-    PERMISSION_ME_OK(HttpStatus.OK,"해당 노트에대한 사용자의 권한을 성공적으로 조회하였습니다." );
+    PERMISSION_ME_OK(HttpStatus.OK,"해당 노트에대한 사용자의 권한을 성공적으로 조회하였습니다." ),
+    PERMISSION_ME_BATCH_OK(HttpStatus.OK,"요청한 노트들에 대한 사용자의 권한을 성공적으로 조회하였습니다." );
 
     private final int statusCode;
     private final String message;
@@ -0,0 +1,50 @@
+package com.ns.user.timing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+
+/**
+ * X-Server-Timing: 1 로 옵트인한 요청에 user 서비스 구간별 Server-Timing 헤더를 붙인다.
+ * 직렬화 시간까지 헤더에 담아야 하므로 옵트인한 요청만 응답 바디를 버퍼링한 뒤 헤더를 쓰고 내보낸다.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        if (!ServerTimings.isRequested(request.getHeader(ServerTimings.OPT_IN_HEADER))) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long startNanos = System.nanoTime();
+        ServerTimings timings = new ServerTimings();
+        ContentCachingResponseWrapper buffered = new ContentCachingResponseWrapper(response);
+        ServerTimings.bind(timings);
+        try {
+            filterChain.doFilter(request, buffered);
+        } finally {
+            ServerTimings.unbind();
+            long endNanos = System.nanoTime();
+            long serializationStartNanos = timings.serializationStartNanos();
+            if (serializationStartNanos != 0L) {
+                timings.record("user-ser", "serialization", endNanos - serializationStartNanos);
+            }
+            timings.record("user", "user", endNanos - startNanos);
+            buffered.setHeader(ServerTimings.HEADER, timings.toHeaderValue());
+            buffered.copyBodyToResponse();
+        }
+    }
+}
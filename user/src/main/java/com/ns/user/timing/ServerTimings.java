@@ -0,0 +1,97 @@
+package com.ns.user.timing;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * 요청 1건의 user 서비스 Server-Timing 항목 모음 (인증, Redis, Mongo, 직렬화).
+ * note 서비스나 게이트웨이가 X-Server-Timing 을 넘겨준 요청에만 {@link ServerTimingFilter} 가 만들어 요청 스레드에 묶는다.
+ * 옵트인하지 않은 요청에서는 {@link #time} 이 ThreadLocal 조회 한 번만 하고 바로 작업을 실행한다.
+ */
+public final class ServerTimings {
+
+    public static final String OPT_IN_HEADER = "X-Server-Timing";
+    public static final String HEADER = "Server-Timing";
+
+    private static final ThreadLocal<ServerTimings> CURRENT = new ThreadLocal<>();
+
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+    private long serializationStartNanos;
+
+    public static boolean isRequested(String optInHeader) {
+        return optInHeader != null && ("1".equals(optInHeader) || "true".equalsIgnoreCase(optInHeader));
+    }
+
+    public static ServerTimings current() {
+        return CURRENT.get();
+    }
+
+    static void bind(ServerTimings timings) {
+        CURRENT.set(timings);
+    }
+
+    static void unbind() {
+        CURRENT.remove();
+    }
+
+    /** 옵트인한 요청이면 작업 시간을 name 구간에 더한다. */
+    public static <T> T time(String name, String description, Supplier<T> work) {
+        ServerTimings timings = CURRENT.get();
+        if (timings == null) {
+            return work.get();
+        }
+        long startNanos = System.nanoTime();
+        try {
+            return work.get();
+        } finally {
+            timings.record(name, description, System.nanoTime() - startNanos);
+        }
+    }
+
+    public synchronized void record(String name, String description, long nanos) {
+        Entry entry = entries.get(name);
+        if (entry == null) {
+            entries.put(name, new Entry(description, nanos));
+        } else {
+            entry.nanos += nanos;
+        }
+    }
+
+    // 응답 바디 직렬화 시작 시점 (첫 호출만 인정)
+    synchronized void markSerializationStart() {
+        if (serializationStartNanos == 0L) {
+            serializationStartNanos = System.nanoTime();
+        }
+    }
+
+    synchronized long serializationStartNanos() {
+        return serializationStartNanos;
+    }
+
+    public synchronized String toHeaderValue() {
+        StringBuilder value = new StringBuilder(64);
+        for (Map.Entry<String, Entry> e : entries.entrySet()) {
+            if (!value.isEmpty()) {
+                value.append(", ");
+            }
+            value.append(e.getKey());
+            if (e.getValue().description != null) {
+                value.append(";desc=\"").append(e.getValue().description).append('"');
+            }
+            // 밀리초, 소수점 둘째 자리까지
+            value.append(";dur=").append(Math.round(e.getValue().nanos / 10_000.0) / 100.0);
+        }
+        return value.toString();
+    }
+
+    private static final class Entry {
+        private final String description;
+        private long nanos;
+
+        private Entry(String description, long nanos) {
+            this.description = description;
+            this.nanos = nanos;
+        }
+    }
+}
@@ -5,7 +5,9 @@ import com.ns.user.jwt.CurrentUser;
 import com.ns.user.response.GlobalResponseHandler;
 import com.ns.user.user.dto.request.GrantPermissionRequestDto;
 import com.ns.user.user.dto.request.OwnerRegisterRequestDto;
+import com.ns.user.user.dto.request.PermissionBatchRequestDto;
 import com.ns.user.user.dto.request.RevokePermissionRequestDto;
+import com.ns.user.user.dto.response.PermissionBatchResponseDto;
 import com.ns.user.user.dto.response.PermissionMeResponseDto;
 import com.ns.user.user.service.PermissionService;
 import com.ns.user.user.vo.*;
@@ -15,6 +17,9 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 @RestController
 @RequestMapping("/permission")
 @RequiredArgsConstructor
@@ -75,4 +80,22 @@ public class PermissionController {
                         permissionMeVo.role().name());
 
         return GlobalResponseHandler.success(ResponseStatus.PERMISSION_ME_OK, responseDto);
-    }}
+    }
+
+    // 여러 노트에 대한 권한 한 번에 조회 (권한이 없는 노트는 결과에서 빠짐)
+    @PostMapping("/me/batch")
+    public ResponseEntity<GlobalResponseHandler<PermissionBatchResponseDto>> permissionMeBatch(
+            @AuthenticationPrincipal CurrentUser currentUser,
+            @RequestBody PermissionBatchRequestDto request
+    ) {
+        PermissionBatchVo permissionBatchVo = permissionService.getMyPermissions(
+                PermissionBatchQueryVo.of(request.getNoteIds(), currentUser.id())
+        );
+
+        Map<String, String> roles = new LinkedHashMap<>();
+        permissionBatchVo.roles().forEach((noteId, role) -> roles.put(noteId, role.name()));
+
+        return GlobalResponseHandler.success(ResponseStatus.PERMISSION_ME_BATCH_OK,
+                PermissionBatchResponseDto.of(permissionBatchVo.userId(), roles));
+    }
+}
@@ -7,6 +7,7 @@ import com.ns.user.response.ResponseStatus;
 import com.ns.user.user.dto.DocumentAttributeDto;
 import com.ns.user.user.dto.request.YorkieAuthWebhookRequestDto;
 import com.ns.user.user.dto.request.YorkieTokenRequestDto;
+import com.ns.user.user.dto.response.NoteSessionResponseDto;
 import com.ns.user.user.dto.response.YorkieAuthWebhookResponseDto;
 import com.ns.user.user.dto.response.YorkieTokenResponseDto;
 import com.ns.user.user.service.YorkieService;
@@ -52,6 +53,19 @@ public class YorkieController {
         return GlobalResponseHandler.success(ResponseStatus.YORKIE_TOKEN_ISSUE, yorkieTokenResponseDto);
     }
 
+    // 노트 열기용: 권한 조회 한 번으로 역할 + yorkie 토큰을 함께 발급 (note 서비스의 /note/{id}/open 에서 호출)
+    @PostMapping("/session")
+    public ResponseEntity<GlobalResponseHandler<NoteSessionResponseDto>> openNoteSession(
+            @AuthenticationPrincipal CurrentUser currentUser,
+            @RequestBody YorkieTokenRequestDto yorkieTokenRequestDto
+    ) {
+        YorkieTokenIssueVo yorkieTokenIssueVo = YorkieTokenIssueVo.of(yorkieTokenRequestDto.getNoteId(), currentUser.id());
+
+        NoteSessionResponseDto noteSessionResponseDto = yorkieService.openNoteSession(yorkieTokenIssueVo);
+
+        return GlobalResponseHandler.success(ResponseStatus.YORKIE_SESSION_ISSUE, noteSessionResponseDto);
+    }
+
     // yorkie 서버에서 호출하는 권한 검증용 webhook 엔드포인트
     @PostMapping("/auth")  
     public ResponseEntity<YorkieAuthWebhookResponseDto> authorizeFromYorkie(  
@@ -0,0 +1,14 @@
+package com.ns.user.user.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PermissionBatchRequestDto {
+    private List<String> noteIds;
+}
@@ -0,0 +1,14 @@
+package com.ns.user.user.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/** 노트 열기에 필요한 권한과 Yorkie 토큰을 한 번에 내려주는 응답 */
+@Getter
+@AllArgsConstructor
+public class NoteSessionResponseDto {
+    private String noteId;
+    private String userId;
+    private String role; // OWNER | WRITER | READER
+    private YorkieTokenResponseDto yorkie;
+}
@@ -0,0 +1,23 @@
+package com.ns.user.user.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class PermissionBatchResponseDto {
+    private String userId;
+    // noteId -> role (권한이 없는 노트는 포함하지 않음)
+    private Map<String, String> roles;
+
+    public static PermissionBatchResponseDto of(String userId, Map<String, String> roles) {
+        return new PermissionBatchResponseDto(
+                userId,
+                roles
+        );
+    }
+}
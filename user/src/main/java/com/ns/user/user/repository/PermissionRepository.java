@@ -2,9 +2,12 @@ package com.ns.user.user.repository;
 
 import com.ns.user.user.entity.PermissionEntity;
 import com.ns.user.user.entity.PermissionRole;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface PermissionRepository extends MongoRepository<PermissionEntity, String> {
@@ -17,4 +20,10 @@ public interface PermissionRepository extends MongoRepository<PermissionEntity,
 
     @Query("{ 'noteId': ?0, 'userId': ?1, 'deletedAt': null }")
     Optional<PermissionEntity> findPermissionRoleByNoteIdAndUserIdAndDeletedAtIsNull(String noteId, String userId);
+
+    @Query(value = "{ 'noteId': ?0, 'deletedAt': null }", fields = "{ 'userId': 1, 'role': 1 }")
+    List<PermissionEntity> findAllByNoteIdAndDeletedAtIsNull(String noteId, Pageable pageable);
+
+    @Query("{ 'noteId': { $in: ?0 }, 'userId': ?1, 'deletedAt': null }")
+    List<PermissionEntity> findAllByNoteIdInAndUserIdAndDeletedAtIsNull(Collection<String> noteIds, String userId);
 }
@@ -0,0 +1,68 @@
+package com.ns.user.user.service;
+
+import com.ns.user.user.entity.PermissionRole;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 기동 시 예전 권한 키(note:owner:*, note:writers:*, note:readers:*)를 노트 ACL 해시로 옮긴다.
+ * 키마다 Lua 스크립트 하나로 해시에 합치고 예전 키를 지우므로, 여러 레플리카가 동시에 돌려도 안전하다.
+ * 옮기기 전이라도 조회는 Mongo 로 fallback 하므로, 실패해도 기동은 계속한다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "permission.acl-migration.enabled", havingValue = "true", matchIfMissing = true)
+public class NoteAclMigration implements ApplicationRunner {
+
+    private static final long SCAN_COUNT = 500;
+
+    private final StringRedisTemplate redis;
+    private final RedisScript<Long> migrateScript;
+
+    public NoteAclMigration(StringRedisTemplate redis) {
+        this.redis = redis;
+        this.migrateScript = RedisScript.of(new ClassPathResource("scripts/acl_migrate.lua"), Long.class);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long startNanos = System.nanoTime();
+        try {
+            long keys = migrate("note:owner:", PermissionRole.OWNER)
+                    + migrate("note:writers:", PermissionRole.WRITER)
+                    + migrate("note:readers:", PermissionRole.READER);
+            if (keys > 0) {
+                log.info("migrated {} legacy permission keys to note acl hashes in {} ms",
+                        keys, (System.nanoTime() - startNanos) / 1_000_000);
+            }
+        } catch (DataAccessException e) {
+            log.warn("note acl migration did not finish: {}", e.getMessage());
+        }
+    }
+
+    // KEYS 대신 SCAN 으로 훑어 Redis 를 오래 막지 않는다
+    private long migrate(String legacyPrefix, PermissionRole role) {
+        long migrated = 0;
+        ScanOptions options = ScanOptions.scanOptions().match(legacyPrefix + "*").count(SCAN_COUNT).build();
+        try (Cursor<String> cursor = redis.scan(options)) {
+            while (cursor.hasNext()) {
+                String legacyKey = cursor.next();
+                String noteId = legacyKey.substring(legacyPrefix.length());
+                redis.execute(migrateScript, List.of(legacyKey, NoteAclStore.key(noteId)), role.name());
+                migrated++;
+            }
+        }
+        return migrated;
+    }
+}
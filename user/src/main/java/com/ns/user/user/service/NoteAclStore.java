@@ -0,0 +1,221 @@
+package com.ns.user.user.service;
+
+import com.ns.user.user.entity.PermissionRole;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 노트별 권한을 Redis 해시 하나(note:acl:{noteId}, field = userId, value = 역할)로 보관한다.
+ * 역할 조회는 HGET 한 번, 부여·회수는 Lua 스크립트로 해시를 원자적으로 바꾼다.
+ * 해시에 없는 사용자는 Mongo 에서 찾아 채우므로, 이 저장소는 캐시로만 쓴다.
+ * 권한이 없다는 결과는 짧은 ttl 의 음수 캐시(note:acl:deny:{noteId}:{userId})와
+ * 노트별 권한 보유자 블룸 필터(note:acl:bloom:{noteId})로 Mongo 까지 가지 않고 답한다.
+ * 둘 다 권한 부여 시 지우며, 부여와 엇갈려 늦게 쓰이지 않도록 노트별 세대 번호(note:acl:epoch:{noteId})를 확인한다.
+ * Mongo 에서 읽은 역할을 해시에 다시 채울 때도 같은 세대 번호를 확인해, 회수 직전에 읽은 역할이 되살아나지 않게 한다.
+ */
+@Slf4j
+@Component
+public class NoteAclStore {
+
+    public static final String KEY_PREFIX = "note:acl:";
+    // 세대 번호는 진행 중인 Mongo 조회보다 충분히 오래 남아 있으면 된다
+    private static final Duration EPOCH_TTL = Duration.ofDays(1);
+
+    private final StringRedisTemplate redis;
+    private final RedisScript<Long> grantScript;
+    private final RedisScript<Long> revokeScript;
+    private final RedisScript<Long> denyScript;
+    private final RedisScript<Long> bloomScript;
+    private final RedisScript<Long> backfillScript;
+    private final Duration negativeTtl;
+    private final Duration bloomTtl;
+
+    public NoteAclStore(StringRedisTemplate redis,
+                        @Value("${permission.negative-cache.ttl:30s}") Duration negativeTtl,
+                        @Value("${permission.bloom.ttl:10m}") Duration bloomTtl) {
+        this.redis = redis;
+        this.grantScript = RedisScript.of(new ClassPathResource("scripts/acl_grant.lua"), Long.class);
+        this.revokeScript = RedisScript.of(new ClassPathResource("scripts/acl_revoke.lua"), Long.class);
+        this.denyScript = RedisScript.of(new ClassPathResource("scripts/acl_deny.lua"), Long.class);
+        this.bloomScript = RedisScript.of(new ClassPathResource("scripts/acl_bloom.lua"), Long.class);
+        this.backfillScript = RedisScript.of(new ClassPathResource("scripts/acl_backfill.lua"), Long.class);
+        this.negativeTtl = negativeTtl;
+        this.bloomTtl = bloomTtl;
+    }
+
+    /**
+     * 역할 조회 결과.
+     * role 이 없고 denied 이면 권한이 없는 것이 확실하다 (음수 캐시 또는 블룸 필터에 없음).
+     * needsBloom 이면 노트에 블룸 필터가 아직 없다 (보유자가 너무 많아 만들지 않기로 한 노트는 false).
+     * epoch 는 조회 시점의 세대 번호로, Mongo 결과로 음수 캐시·블룸 필터를 쓸 때 넘긴다.
+     */
+    public record AclLookup(PermissionRole role, boolean denied, boolean needsBloom, String epoch) {
+    }
+
+    /** 해시에 캐싱된 역할(없으면 null)과 조회 시점의 세대 번호 */
+    public record CachedRole(PermissionRole role, String epoch) {
+    }
+
+    public static String key(String noteId) {
+        return KEY_PREFIX + noteId;
+    }
+
+    private static String bloomKey(String noteId) {
+        return KEY_PREFIX + "bloom:" + noteId;
+    }
+
+    private static String epochKey(String noteId) {
+        return KEY_PREFIX + "epoch:" + noteId;
+    }
+
+    private static String denyKey(String noteId, String userId) {
+        return KEY_PREFIX + "deny:" + noteId + ":" + userId;
+    }
+
+    // HGET 과 세대 번호를 한 파이프라인으로 읽는다
+    public CachedRole roleOf(String noteId, String userId) {
+        List<Object> replies = redis.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection commands = (StringRedisConnection) connection;
+            commands.hGet(key(noteId), userId);
+            commands.get(epochKey(noteId));
+            return null;
+        });
+        return new CachedRole(parse(replies.get(0)), epochOf(replies.get(1)));
+    }
+
+    // HGET, 음수 캐시, 세대 번호, 블룸 필터 비트를 한 파이프라인(왕복 한 번)으로 확인한다
+    public AclLookup lookup(String noteId, String userId) {
+        long[] offsets = AclBloomFilter.offsets(userId);
+        List<Object> replies = redis.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection commands = (StringRedisConnection) connection;
+            commands.hGet(key(noteId), userId);
+            commands.exists(denyKey(noteId, userId));
+            commands.get(epochKey(noteId));
+            commands.getBit(bloomKey(noteId), AclBloomFilter.BUILT_MARKER);
+            commands.getBit(bloomKey(noteId), AclBloomFilter.OVERSIZED_MARKER);
+            for (long offset : offsets) {
+                commands.getBit(bloomKey(noteId), offset);
+            }
+            return null;
+        });
+
+        PermissionRole role = parse(replies.get(0));
+        boolean negative = Boolean.TRUE.equals(replies.get(1));
+        String epoch = epochOf(replies.get(2));
+        boolean bloomBuilt = Boolean.TRUE.equals(replies.get(3));
+        boolean oversized = Boolean.TRUE.equals(replies.get(4));
+        boolean notInBloom = false;
+        if (bloomBuilt) {
+            for (int i = 0; i < offsets.length; i++) {
+                if (!Boolean.TRUE.equals(replies.get(5 + i))) {
+                    notInBloom = true;
+                    break;
+                }
+            }
+        }
+        return new AclLookup(role, role == null && (negative || notInBloom), !bloomBuilt && !oversized, epoch);
+    }
+
+    // 노트마다 HGET 과 세대 번호를 한 파이프라인으로 보낸다. 결과는 noteIds 순서
+    public List<CachedRole> rolesOf(List<String> noteIds, String userId) {
+        List<Object> replies = redis.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection commands = (StringRedisConnection) connection;
+            for (String noteId : noteIds) {
+                commands.hGet(key(noteId), userId);
+                commands.get(epochKey(noteId));
+            }
+            return null;
+        });
+
+        List<CachedRole> roles = new ArrayList<>(noteIds.size());
+        for (int i = 0; i < replies.size(); i += 2) {
+            roles.add(new CachedRole(parse(replies.get(i)), epochOf(replies.get(i + 1))));
+        }
+        return roles;
+    }
+
+    // 이미 더 높은 역할이 있으면 유지 (OWNER > WRITER > READER). 음수 캐시와 블룸 필터는 함께 지운다
+    public void grant(String noteId, String userId, PermissionRole role) {
+        redis.execute(grantScript,
+                List.of(key(noteId), bloomKey(noteId), epochKey(noteId), denyKey(noteId, userId)),
+                userId, role.name(), String.valueOf(EPOCH_TTL.toMillis()));
+    }
+
+    // 회수한 역할과 같은 항목만 지우고 세대 번호를 올린다. 남은 역할은 다음 조회 때 Mongo 에서 다시 채운다
+    public void revoke(String noteId, String userId, PermissionRole role) {
+        redis.execute(revokeScript, List.of(key(noteId), epochKey(noteId)),
+                userId, role.name(), String.valueOf(EPOCH_TTL.toMillis()));
+    }
+
+    // Mongo 에서 읽은 역할을 채운다. 이미 있는 값은 덮어쓰지 않고, epoch 이후 부여·회수가 있었으면 쓰지 않는다
+    public void cacheIfAbsent(String noteId, String userId, PermissionRole role, String epoch) {
+        redis.execute(backfillScript, List.of(epochKey(noteId), key(noteId)), epoch, userId, role.name());
+    }
+
+    // 여러 노트를 한 파이프라인으로 채운다. epochs 는 노트별로 Mongo 조회 전에 읽은 세대 번호
+    public void cacheAllIfAbsent(String userId, Map<String, PermissionRole> roles, Map<String, String> epochs) {
+        String script = backfillScript.getScriptAsString();
+        redis.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection commands = (StringRedisConnection) connection;
+            roles.forEach((noteId, role) -> commands.eval(script, ReturnType.INTEGER, 2,
+                    epochKey(noteId), key(noteId), epochs.getOrDefault(noteId, "0"), userId, role.name()));
+            return null;
+        });
+    }
+
+    // 권한 없음을 짧게 캐싱한다. epoch 이후 권한 부여가 있었으면 쓰지 않는다
+    public void deny(String noteId, String userId, String epoch) {
+        redis.execute(denyScript, List.of(epochKey(noteId), denyKey(noteId, userId)),
+                epoch, String.valueOf(negativeTtl.toMillis()));
+    }
+
+    // 노트의 권한 보유자 전체로 블룸 필터를 만든다. epoch 이후 권한 부여가 있었으면 만들지 않는다
+    public void buildBloom(String noteId, Collection<String> userIds, String epoch) {
+        List<String> args = new ArrayList<>();
+        args.add(epoch);
+        args.add(String.valueOf(bloomTtl.toMillis()));
+        args.add(String.valueOf(AclBloomFilter.BUILT_MARKER));
+        for (String userId : userIds) {
+            for (long offset : AclBloomFilter.offsets(userId)) {
+                args.add(String.valueOf(offset));
+            }
+        }
+        redis.execute(bloomScript, List.of(epochKey(noteId), bloomKey(noteId)), args.toArray());
+    }
+
+    // 보유자가 너무 많은 노트는 필터 대신 표시만 남겨, bloom ttl 동안 전체 권한을 다시 읽지 않게 한다
+    public void markBloomOversized(String noteId, String epoch) {
+        redis.execute(bloomScript, List.of(epochKey(noteId), bloomKey(noteId)),
+                epoch, String.valueOf(bloomTtl.toMillis()), String.valueOf(AclBloomFilter.OVERSIZED_MARKER));
+    }
+
+    private static String epochOf(Object value) {
+        return value != null ? value.toString() : "0";
+    }
+
+    private static PermissionRole parse(Object value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return PermissionRole.valueOf(value.toString());
+        } catch (IllegalArgumentException e) {
+            // 알 수 없는 값은 캐시 미스로 보고 Mongo 결과를 따른다
+            log.warn("unknown role '{}' in note acl", value);
+            return null;
+        }
+    }
+}
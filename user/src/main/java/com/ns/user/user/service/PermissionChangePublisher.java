@@ -0,0 +1,41 @@
+package com.ns.user.user.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * 노트 권한 부여·회수를 Redis 스트림에 남긴다.
+ * note 서비스가 이 스트림을 구독해 로컬 역할 캐시에서 해당 (noteId, userId) 를 무효화한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PermissionChangePublisher {
+
+    public static final String STREAM_KEY = "permission:changes";
+    // 구독자는 최신 이벤트만 따라가므로 짧게 유지한다
+    private static final long MAX_STREAM_LENGTH = 10_000;
+
+    private final StringRedisTemplate redisTemplate;
+
+    public void publish(String noteId, String userId, String change) {
+        Map<String, String> fields = Map.of(
+                "noteId", noteId,
+                "userId", userId,
+                "change", change
+        );
+        try {
+            redisTemplate.opsForStream().add(StreamRecords.string(fields).withStreamKey(STREAM_KEY));
+            redisTemplate.opsForStream().trim(STREAM_KEY, MAX_STREAM_LENGTH, true);
+        } catch (DataAccessException e) {
+            // 권한 변경은 이미 반영됐으므로 실패로 돌리지 않는다 (note 캐시는 ttl 뒤에 따라잡는다)
+            log.warn("failed to publish permission change for note {}: {}", noteId, e.getMessage());
+        }
+    }
+}
@@ -1,24 +1,35 @@
 package com.ns.user.user.service;
 
 import com.ns.user.exception.ServiceException;
+import com.ns.user.timing.ServerTimings;
 import com.ns.user.user.vo.*;
 import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.PageRequest;
 import com.ns.user.user.entity.PermissionEntity;
 import com.ns.user.user.entity.PermissionRole;
 import com.ns.user.user.repository.PermissionRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
 import static com.ns.user.exception.ExceptionStatus.*;
 
 @Service
 @RequiredArgsConstructor
 public class PermissionService {
 
+    // 배치 조회 한 번에 받을 수 있는 최대 노트 수
+    private static final int MAX_BATCH_SIZE = 500;
+
     private final PermissionRepository permissionRepository;
-    private final StringRedisTemplate redis;
+    private final NoteAclStore noteAclStore;
+    private final PermissionChangePublisher permissionChangePublisher;
 
     @Transactional
     public void registerOwner(OwnerRegisterVo ownerRegisterVo) {
@@ -36,8 +47,7 @@ public class PermissionService {
         }
 
         // Redis 반영
-        String ownerKey = "note:owner:" + ownerRegisterVo.noteId();
-        redis.opsForValue().set(ownerKey, ownerRegisterVo.userId());
+        noteAclStore.grant(ownerRegisterVo.noteId(), ownerRegisterVo.userId(), PermissionRole.OWNER);
     }
 
     @Transactional
@@ -66,10 +76,8 @@ public class PermissionService {
         );
 
         // Redis 반영
-        switch (role) {
-            case WRITER -> redis.opsForSet().add("note:writers:" + vo.noteId(), vo.targetUserId());
-            case READER -> redis.opsForSet().add("note:readers:" + vo.noteId(), vo.targetUserId());
-        }
+        noteAclStore.grant(vo.noteId(), vo.targetUserId(), role);
+        permissionChangePublisher.publish(vo.noteId(), vo.targetUserId(), "grant");
     }
 
     @Transactional
@@ -92,10 +100,8 @@ public class PermissionService {
         permissionRepository.save(permission);
 
         // Redis 제거
-        switch (vo.role()) {
-            case WRITER -> redis.opsForSet().remove("note:writers:" + vo.noteId(), vo.targetUserId());
-            case READER -> redis.opsForSet().remove("note:readers:" + vo.noteId(), vo.targetUserId());
-        }
+        noteAclStore.revoke(vo.noteId(), vo.targetUserId(), vo.role());
+        permissionChangePublisher.publish(vo.noteId(), vo.targetUserId(), "revoke");
     }
 
     @Transactional
@@ -109,14 +115,78 @@ public class PermissionService {
         return PermissionMeVo.of(permissionMeQueryVo.noteId(), permissionMeQueryVo.userId(), role);
     }
 
+    /**
+     * 여러 노트에 대한 내 역할을 한 번에 조회한다.
+     * Redis 조회는 HGET 파이프라인 한 번, Redis 에 없는 노트는 Mongo $in 쿼리 한 번으로 처리하고 Redis 에 다시 캐싱한다.
+     * 권한이 없는 노트는 결과에 넣지 않는다.
+     */
+    public PermissionBatchVo getMyPermissions(PermissionBatchQueryVo permissionBatchQueryVo) {
+        String userId = permissionBatchQueryVo.userId();
+        List<String> noteIds = permissionBatchQueryVo.noteIds().stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        if (noteIds.size() > MAX_BATCH_SIZE) {
+            throw new ServiceException(PERMISSION_BATCH_TOO_LARGE);
+        }
+
+        PermissionRole[] roles = new PermissionRole[noteIds.size()];
+        if (!noteIds.isEmpty()) {
+            Map<String, String> misses = resolveCachedRoles(noteIds, userId, roles);
+            if (!misses.isEmpty()) {
+                resolveStoredRoles(noteIds, misses, userId, roles);
+            }
+        }
+
+        Map<String, PermissionRole> result = new LinkedHashMap<>();
+        for (int i = 0; i < roles.length; i++) {
+            if (roles[i] != null) {
+                result.put(noteIds.get(i), roles[i]);
+            }
+        }
+        return PermissionBatchVo.of(userId, result);
+    }
+
+    // 노트 ACL 해시를 한 파이프라인으로 조회하고 Redis 에 없는 노트 ID 와 그 세대 번호를 돌려준다
+    private Map<String, String> resolveCachedRoles(List<String> noteIds, String userId, PermissionRole[] roles) {
+        List<NoteAclStore.CachedRole> cached = ServerTimings.time("user-redis", "redis", () -> noteAclStore.rolesOf(noteIds, userId));
+
+        Map<String, String> misses = new LinkedHashMap<>();
+        for (int i = 0; i < noteIds.size(); i++) {
+            roles[i] = cached.get(i).role();
+            if (roles[i] == null) {
+                misses.put(noteIds.get(i), cached.get(i).epoch());
+            }
+        }
+        return misses;
+    }
+
+    // Redis 에 없던 노트는 Mongo 에서 한 번에 찾고, 찾은 역할은 파이프라인으로 Redis 에 다시 캐싱
+    private void resolveStoredRoles(List<String> noteIds, Map<String, String> misses, String userId, PermissionRole[] roles) {
+        List<PermissionEntity> stored = ServerTimings.time("user-mongo", "mongo",
+                () -> permissionRepository.findAllByNoteIdInAndUserIdAndDeletedAtIsNull(List.copyOf(misses.keySet()), userId));
+        if (stored.isEmpty()) {
+            return;
+        }
+
+        // 한 노트에 역할이 여러 개 남아 있으면 가장 높은 역할 (OWNER > WRITER > READER)
+        Map<String, PermissionRole> found = new HashMap<>();
+        for (PermissionEntity entity : stored) {
+            found.merge(entity.getNoteId(), entity.getRole(), (a, b) -> a.ordinal() <= b.ordinal() ? a : b);
+        }
+        for (int i = 0; i < noteIds.size(); i++) {
+            if (roles[i] == null) {
+                roles[i] = found.get(noteIds.get(i));
+            }
+        }
+
+        noteAclStore.cacheAllIfAbsent(userId, found, misses);
+    }
 
     // redis 우선 -> mongo fallback
     private void ensureOwner(String noteId, String requesterId) {
-        String owner = redis.opsForValue().get("note:owner:" + noteId);
-        if (owner != null) {
-            // 노트 OWNER 불일치 예외
-            if (!owner.equals(requesterId))
-                throw new ServiceException(PERMISSION_OWNER_ONLY);
+        NoteAclStore.CachedRole cached = noteAclStore.roleOf(noteId, requesterId);
+        if (cached.role() == PermissionRole.OWNER) {
             return;
         }
         // redis 값이 없을 경우 mongo db에서 존재여부 확인
@@ -126,33 +196,55 @@ public class PermissionService {
         if (!isOwner) throw new ServiceException(PERMISSION_OWNER_ONLY);
 
         // 노트 OWNER 정보가 mongoDB에 있을경우 다시 redis에 정보 캐싱
-        String ownerKey = "note:owner:" + noteId;
-        redis.opsForValue().set(ownerKey, requesterId);
+        noteAclStore.cacheIfAbsent(noteId, requesterId, PermissionRole.OWNER, cached.epoch());
     }
 
     public PermissionRole roleOf(String noteId, String userId) {
-        // redis 캐시 먼저 조회
-        String owner = redis.opsForValue().get("note:owner:" + noteId);
-        if (owner != null && owner.equals(userId)) return PermissionRole.OWNER;
-
-        if (Boolean.TRUE.equals(redis.opsForSet().isMember("note:writers:" + noteId, userId)))
-            return PermissionRole.WRITER;
-
-        if (Boolean.TRUE.equals(redis.opsForSet().isMember("note:readers:" + noteId, userId)))
-            return PermissionRole.READER;
-
-        return permissionRepository.findPermissionRoleByNoteIdAndUserIdAndDeletedAtIsNull(noteId, userId)
-                .map(entity -> {
-                    PermissionRole role = entity.getRole();
-
-                    // 3️⃣ Redis fallback (role별 캐싱)
-                    switch (role) {
-                        case OWNER -> redis.opsForValue().set("note:owner:" + noteId, userId);
-                        case WRITER -> redis.opsForSet().add("note:writers:" + noteId, userId);
-                        case READER -> redis.opsForSet().add("note:readers:" + noteId, userId);
-                    }
-                    return role;
-                })
+        // redis 캐시 먼저 조회 (ACL 해시, 음수 캐시, 블룸 필터를 왕복 한 번에)
+        NoteAclStore.AclLookup cached = ServerTimings.time("user-redis", "redis", () -> noteAclStore.lookup(noteId, userId));
+        if (cached.role() != null) return cached.role();
+        // 최근에 권한 없음으로 확인했거나 블룸 필터에 없으면 Mongo 를 조회하지 않는다
+        if (cached.denied()) return null;
+
+        // 블룸 필터가 없으면 노트 권한 전체를 읽어 필터를 만들고, 있거나(오탐) 보유자가 너무 많은 노트면 이 사용자만 조회
+        PermissionRole role = cached.needsBloom()
+                ? loadNoteAcl(noteId, userId, cached.epoch())
+                : findStoredRole(noteId, userId);
+
+        // Redis fallback
+        if (role == null) {
+            noteAclStore.deny(noteId, userId, cached.epoch());
+        } else {
+            noteAclStore.cacheIfAbsent(noteId, userId, role, cached.epoch());
+        }
+        return role;
+    }
+
+    private PermissionRole findStoredRole(String noteId, String userId) {
+        return ServerTimings.time("user-mongo", "mongo",
+                        () -> permissionRepository.findPermissionRoleByNoteIdAndUserIdAndDeletedAtIsNull(noteId, userId))
+                .map(PermissionEntity::getRole)
                 .orElse(null);
     }
+
+    // 노트의 권한 보유자 전체로 블룸 필터를 만들고 그중 userId 의 가장 높은 역할을 돌려준다.
+    // 필터 용량을 넘는 노트는 CAPACITY + 1 건까지만 읽고 표시만 남긴 뒤 사용자별 조회로 넘어간다.
+    private PermissionRole loadNoteAcl(String noteId, String userId, String epoch) {
+        List<PermissionEntity> entities = ServerTimings.time("user-mongo", "mongo",
+                () -> permissionRepository.findAllByNoteIdAndDeletedAtIsNull(noteId, PageRequest.of(0, AclBloomFilter.CAPACITY + 1)));
+
+        if (entities.size() > AclBloomFilter.CAPACITY) {
+            noteAclStore.markBloomOversized(noteId, epoch);
+            return findStoredRole(noteId, userId);
+        }
+        noteAclStore.buildBloom(noteId, entities.stream().map(PermissionEntity::getUserId).distinct().toList(), epoch);
+
+        PermissionRole role = null;
+        for (PermissionEntity entity : entities) {
+            if (userId.equals(entity.getUserId()) && (role == null || entity.getRole().ordinal() < role.ordinal())) {
+                role = entity.getRole();
+            }
+        }
+        return role;
+    }
 }
@@ -3,6 +3,7 @@ package com.ns.user.user.service;
 import com.ns.user.exception.ExceptionStatus;
 import com.ns.user.exception.ServiceException;
 import com.ns.user.jwt.JwtTokenProvider;
+import com.ns.user.jwt.TokenRevocationPublisher;
 import com.ns.user.oauth.GoogleIdTokenVerifier;
 import com.ns.user.oauth.GoogleOAuthClient;
 import com.ns.user.user.entity.UserEntity;
@@ -28,6 +29,7 @@ public class UserService {
     private final GoogleIdTokenVerifier googleIdTokenVerifier;
     private final JwtTokenProvider jwtProvider;
     private final StringRedisTemplate redisTemplate;
+    private final TokenRevocationPublisher tokenRevocationPublisher;
 
     @Value("${jwt.refresh-exp-days}")
     private long refreshExpDays;
@@ -75,5 +77,7 @@ public class UserService {
 
     public void logout(String userId) {
         redisTemplate.delete(REFRESH_PREFIX + userId);
+        // 이미 발급된 액세스 토큰도 게이트웨이에서 거부되도록 폐기 기록 발행
+        tokenRevocationPublisher.publishLogout(userId);
     }
 }
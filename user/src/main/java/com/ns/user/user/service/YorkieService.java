@@ -3,6 +3,7 @@ package com.ns.user.user.service;
 import com.ns.user.exception.ServiceException;
 import com.ns.user.jwt.YorkieJwtProvider;
 import com.ns.user.user.dto.DocumentAttributeDto;
+import com.ns.user.user.dto.response.NoteSessionResponseDto;
 import com.ns.user.user.dto.response.YorkieTokenResponseDto;
 import com.ns.user.user.entity.PermissionRole;
 import com.ns.user.user.vo.YorkieAuthResultVo;
@@ -31,7 +32,26 @@ public class YorkieService {
         if (role == null) {
             throw new ServiceException(PERMISSION_NOT_FOUND);
         }
-        
+
+        return buildYorkieToken(yorkieTokenIssueVo, role);
+    }
+
+    // 노트 열기: 권한 조회 한 번으로 역할과 Yorkie 토큰을 함께 반환
+    public NoteSessionResponseDto openNoteSession(YorkieTokenIssueVo yorkieTokenIssueVo) {
+        PermissionRole role = permissionService.roleOf(yorkieTokenIssueVo.noteId(), yorkieTokenIssueVo.requesterUserId());
+        if (role == null) {
+            throw new ServiceException(PERMISSION_NOT_FOUND);
+        }
+
+        return new NoteSessionResponseDto(
+                yorkieTokenIssueVo.noteId(),
+                yorkieTokenIssueVo.requesterUserId(),
+                role.name(),
+                buildYorkieToken(yorkieTokenIssueVo, role)
+        );
+    }
+
+    private YorkieTokenResponseDto buildYorkieToken(YorkieTokenIssueVo yorkieTokenIssueVo, PermissionRole role) {
         String verb = roleToVerb(role); // OWNER/WRITER -> "rw", READER -> "r"
 
         String token = yorkieJwtProvider.generateYorkieToken(
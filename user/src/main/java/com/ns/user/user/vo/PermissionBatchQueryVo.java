@@ -0,0 +1,12 @@
+package com.ns.user.user.vo;
+
+import java.util.List;
+
+public record PermissionBatchQueryVo(
+        List<String> noteIds,
+        String userId
+) {
+    public static PermissionBatchQueryVo of(List<String> noteIds, String userId) {
+        return new PermissionBatchQueryVo(noteIds == null ? List.of() : noteIds, userId);
+    }
+}
@@ -0,0 +1,14 @@
+package com.ns.user.user.vo;
+
+import com.ns.user.user.entity.PermissionRole;
+
+import java.util.Map;
+
+public record PermissionBatchVo(
+        String userId,
+        Map<String, PermissionRole> roles
+) {
+    public static PermissionBatchVo of(String userId, Map<String, PermissionRole> roles) {
+        return new PermissionBatchVo(userId, roles);
+    }
+}
@@ -0,0 +1,10 @@
+-- Mongo 에서 읽은 역할을 노트 ACL 해시에 채운다. 이미 값이 있으면 그대로 둔다.
+-- Mongo 를 읽은 뒤 그사이 부여·회수가 있었으면(세대 번호가 바뀌었으면) 채우지 않는다.
+-- KEYS[1] = note:acl:epoch:{noteId}, KEYS[2] = note:acl:{noteId}
+-- ARGV[1] = Mongo 조회 전에 읽은 세대 번호, ARGV[2] = userId, ARGV[3] = 역할
+-- 반환: 1 = 채움, 0 = 세대가 바뀌었거나 이미 값이 있어 건너뜀
+if (redis.call("get", KEYS[1]) or "0") ~= ARGV[1] then
+  return 0
+end
+
+return redis.call("hsetnx", KEYS[2], ARGV[2], ARGV[3])
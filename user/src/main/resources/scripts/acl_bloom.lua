@@ -0,0 +1,16 @@
+-- 노트의 권한 보유자 전체로 블룸 필터를 새로 만든다.
+-- Mongo 를 읽은 뒤 그사이 권한 부여가 있었으면(세대 번호가 바뀌었으면) 만들지 않는다.
+-- KEYS[1] = note:acl:epoch:{noteId}, KEYS[2] = note:acl:bloom:{noteId}
+-- ARGV[1] = Mongo 조회 전에 읽은 세대 번호, ARGV[2] = ttl(ms), ARGV[3] = 표시 비트 위치 (완성 또는 보유자 초과), ARGV[4..] = 켤 비트 위치
+-- 반환: 1 = 만듦, 0 = 세대가 바뀌어 건너뜀
+if (redis.call("get", KEYS[1]) or "0") ~= ARGV[1] then
+  return 0
+end
+
+redis.call("del", KEYS[2])
+for i = 4, #ARGV do
+  redis.call("setbit", KEYS[2], ARGV[i], 1)
+end
+redis.call("setbit", KEYS[2], ARGV[3], 1)
+redis.call("pexpire", KEYS[2], ARGV[2])
+return 1
@@ -0,0 +1,11 @@
+-- 권한이 없다는 조회 결과를 짧게 캐싱한다 (음수 캐시).
+-- Mongo 를 읽은 뒤 그사이 권한 부여가 있었으면(세대 번호가 바뀌었으면) 기록하지 않는다.
+-- KEYS[1] = note:acl:epoch:{noteId}, KEYS[2] = note:acl:deny:{noteId}:{userId}
+-- ARGV[1] = Mongo 조회 전에 읽은 세대 번호, ARGV[2] = ttl(ms)
+-- 반환: 1 = 기록함, 0 = 세대가 바뀌어 건너뜀
+if (redis.call("get", KEYS[1]) or "0") ~= ARGV[1] then
+  return 0
+end
+
+redis.call("set", KEYS[2], "1", "px", ARGV[2])
+return 1
@@ -0,0 +1,20 @@
+-- 노트 ACL 해시에 사용자 역할을 기록한다. 이미 더 높은 역할이 있으면 그대로 둔다.
+-- 권한이 생겼으므로 해당 사용자의 음수 캐시와 노트 블룸 필터를 지우고 세대 번호를 올려,
+-- 이 부여 전에 Mongo 를 읽고 아직 쓰지 않은 음수 캐시·블룸 필터가 나중에 기록되지 않게 한다.
+-- KEYS[1] = note:acl:{noteId}, KEYS[2] = note:acl:bloom:{noteId}, KEYS[3] = note:acl:epoch:{noteId},
+-- KEYS[4] = note:acl:deny:{noteId}:{userId}
+-- ARGV[1] = userId, ARGV[2] = 역할 (OWNER | WRITER | READER), ARGV[3] = 세대 번호 ttl(ms)
+-- 반환: 1 = 기록함, 0 = 기존 역할 유지
+local rank = { OWNER = 3, WRITER = 2, READER = 1 }
+
+redis.call("incr", KEYS[3])
+redis.call("pexpire", KEYS[3], ARGV[3])
+redis.call("del", KEYS[2], KEYS[4])
+
+local current = redis.call("hget", KEYS[1], ARGV[1])
+if current and (rank[current] or 0) >= rank[ARGV[2]] then
+  return 0
+end
+
+redis.call("hset", KEYS[1], ARGV[1], ARGV[2])
+return 1
@@ -0,0 +1,27 @@
+-- 예전 권한 키(note:owner:* 문자열, note:writers:* / note:readers:* 셋)를 노트 ACL 해시로 옮기고 지운다.
+-- 이미 해시에 더 높은 역할이 있으면 덮어쓰지 않으므로 여러 번 실행해도 결과가 같다.
+-- KEYS[1] = 예전 키, KEYS[2] = note:acl:{noteId}
+-- ARGV[1] = 예전 키가 나타내는 역할
+-- 반환: 옮긴 사용자 수
+local rank = { OWNER = 3, WRITER = 2, READER = 1 }
+local role = ARGV[1]
+
+local members
+local key_type = redis.call("type", KEYS[1]).ok
+if key_type == "string" then
+  members = { redis.call("get", KEYS[1]) }
+elseif key_type == "set" then
+  members = redis.call("smembers", KEYS[1])
+else
+  return 0
+end
+
+for _, user_id in ipairs(members) do
+  local current = redis.call("hget", KEYS[2], user_id)
+  if not current or (rank[current] or 0) < rank[role] then
+    redis.call("hset", KEYS[2], user_id, role)
+  end
+end
+
+redis.call("del", KEYS[1])
+return #members
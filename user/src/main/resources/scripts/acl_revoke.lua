@@ -0,0 +1,14 @@
+-- 노트 ACL 해시에서 회수한 역할과 같은 항목만 지운다.
+-- 다른 역할이 남아 있을 수 있으므로 지운 뒤의 조회는 Mongo 에서 다시 채운다.
+-- 세대 번호를 올려, 이 회수 전에 Mongo 를 읽고 아직 쓰지 않은 역할이 나중에 다시 채워지지 않게 한다.
+-- KEYS[1] = note:acl:{noteId}, KEYS[2] = note:acl:epoch:{noteId}
+-- ARGV[1] = userId, ARGV[2] = 회수한 역할, ARGV[3] = 세대 번호 ttl(ms)
+-- 반환: 1 = 지움, 0 = 해당 역할이 아님
+redis.call("incr", KEYS[2])
+redis.call("pexpire", KEYS[2], ARGV[3])
+
+if redis.call("hget", KEYS[1], ARGV[1]) == ARGV[2] then
+  redis.call("hdel", KEYS[1], ARGV[1])
+  return 1
+end
+return 0
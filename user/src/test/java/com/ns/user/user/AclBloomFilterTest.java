@@ -0,0 +1,52 @@
+package com.ns.user.user;
+
+import com.ns.user.user.service.AclBloomFilter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+class AclBloomFilterTest {
+
+    @Test
+    @DisplayName("같은 사용자는 항상 같은 비트 위치, 위치는 필터 범위 안")
+    void offsets_stableAndInRange() {
+        long[] first = AclBloomFilter.offsets("user-1");
+        long[] second = AclBloomFilter.offsets("user-1");
+
+        assertThat(first).hasSize(AclBloomFilter.HASHES).containsExactly(second);
+        assertThat(Arrays.stream(first).allMatch(offset -> offset >= 0 && offset < AclBloomFilter.BITS)).isTrue();
+    }
+
+    @Test
+    @DisplayName("권한 보유자 400 명으로 만든 필터의 오탐률은 2% 미만")
+    void falsePositiveRate() {
+        BitSet bits = new BitSet((int) AclBloomFilter.BITS);
+        IntStream.range(0, 400).forEach(i -> {
+            for (long offset : AclBloomFilter.offsets("member-" + i)) {
+                bits.set((int) offset);
+            }
+        });
+
+        // 넣은 사용자는 모두 있다고 답해야 한다 (거짓 음성 없음)
+        assertThat(IntStream.range(0, 400).allMatch(i -> mightContain(bits, "member-" + i))).isTrue();
+
+        long falsePositives = IntStream.range(0, 10_000)
+                .filter(i -> mightContain(bits, "stranger-" + i))
+                .count();
+        assertThat(falsePositives).isLessThan(200);
+    }
+
+    private static boolean mightContain(BitSet bits, String userId) {
+        for (long offset : AclBloomFilter.offsets(userId)) {
+            if (!bits.get((int) offset)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
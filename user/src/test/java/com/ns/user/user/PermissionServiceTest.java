@@ -0,0 +1,185 @@
+package com.ns.user.user;
+
+import com.ns.user.exception.ExceptionStatus;
+import com.ns.user.exception.ServiceException;
+import com.ns.user.user.entity.PermissionEntity;
+import com.ns.user.user.entity.PermissionRole;
+import com.ns.user.user.repository.PermissionRepository;
+import com.ns.user.user.service.AclBloomFilter;
+import com.ns.user.user.service.NoteAclStore;
+import com.ns.user.user.service.PermissionChangePublisher;
+import com.ns.user.user.service.PermissionService;
+import com.ns.user.user.vo.PermissionBatchQueryVo;
+import com.ns.user.user.vo.PermissionBatchVo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Map;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class PermissionServiceTest {
+    @Mock private PermissionRepository permissionRepository;
+    @Mock private NoteAclStore noteAclStore;
+    @Mock private PermissionChangePublisher permissionChangePublisher;
+
+    @InjectMocks
+    private PermissionService permissionService;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    @DisplayName("배치 조회 시 노트 ACL 해시 결과로 역할을 정하고 없는 노트만 Mongo 에서 한 번에 조회")
+    void getMyPermissions_redisHitsAndMongoMisses() {
+        // given - note-1: owner, note-2: writer, note-3/note-4: redis 에 없음
+        when(noteAclStore.rolesOf(List.of("note-1", "note-2", "note-3", "note-4"), "user-1"))
+                .thenReturn(List.of(
+                        new NoteAclStore.CachedRole(PermissionRole.OWNER, "0"),
+                        new NoteAclStore.CachedRole(PermissionRole.WRITER, "0"),
+                        new NoteAclStore.CachedRole(null, "2"),
+                        new NoteAclStore.CachedRole(null, "0")));
+        when(permissionRepository.findAllByNoteIdInAndUserIdAndDeletedAtIsNull(List.of("note-3", "note-4"), "user-1"))
+                .thenReturn(List.of(PermissionEntity.builder()
+                        .noteId("note-3")
+                        .userId("user-1")
+                        .role(PermissionRole.READER)
+                        .build()));
+
+        // when
+        PermissionBatchVo result = permissionService.getMyPermissions(
+                PermissionBatchQueryVo.of(List.of("note-1", "note-2", "note-3", "note-4", "note-1"), "user-1"));
+
+        // then
+        assertThat(result.roles()).containsExactly(
+                entry("note-1", PermissionRole.OWNER),
+                entry("note-2", PermissionRole.WRITER),
+                entry("note-3", PermissionRole.READER));
+        verify(permissionRepository, times(1)).findAllByNoteIdInAndUserIdAndDeletedAtIsNull(any(), eq("user-1"));
+        // Mongo 에서 찾은 역할만, 조회 전에 읽은 세대 번호와 함께 다시 캐싱
+        verify(noteAclStore).cacheAllIfAbsent("user-1", Map.of("note-3", PermissionRole.READER),
+                Map.of("note-3", "2", "note-4", "0"));
+    }
+
+    @Test
+    @DisplayName("모두 Redis 에 있으면 Mongo 를 조회하지 않는다")
+    void getMyPermissions_allCached() {
+        // given
+        when(noteAclStore.rolesOf(List.of("note-1"), "user-1"))
+                .thenReturn(List.of(new NoteAclStore.CachedRole(PermissionRole.READER, "0")));
+
+        // when
+        PermissionBatchVo result = permissionService.getMyPermissions(
+                PermissionBatchQueryVo.of(List.of("note-1"), "user-1"));
+
+        // then
+        assertThat(result.roles()).containsExactly(entry("note-1", PermissionRole.READER));
+        verifyNoInteractions(permissionRepository);
+    }
+
+    @Test
+    @DisplayName("빈 목록이면 Redis·Mongo 를 호출하지 않고 빈 결과")
+    void getMyPermissions_empty() {
+        PermissionBatchVo result = permissionService.getMyPermissions(
+                PermissionBatchQueryVo.of(Collections.emptyList(), "user-1"));
+
+        assertThat(result.roles()).isEmpty();
+        verifyNoInteractions(noteAclStore, permissionRepository);
+    }
+
+    @Test
+    @DisplayName("역할 조회는 노트 ACL 해시에 있으면 Mongo 를 조회하지 않는다")
+    void roleOf_cached() {
+        when(noteAclStore.lookup("note-1", "user-1"))
+                .thenReturn(new NoteAclStore.AclLookup(PermissionRole.WRITER, false, false, "0"));
+
+        assertThat(permissionService.roleOf("note-1", "user-1")).isEqualTo(PermissionRole.WRITER);
+        verifyNoInteractions(permissionRepository);
+    }
+
+    @Test
+    @DisplayName("음수 캐시나 블룸 필터로 권한 없음이 확실하면 Mongo 를 조회하지 않는다")
+    void roleOf_denied() {
+        when(noteAclStore.lookup("note-1", "user-1"))
+                .thenReturn(new NoteAclStore.AclLookup(null, true, false, "3"));
+
+        assertThat(permissionService.roleOf("note-1", "user-1")).isNull();
+        verifyNoInteractions(permissionRepository);
+        verify(noteAclStore, never()).deny(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("블룸 필터가 없으면 노트 권한 전체로 필터를 만들고, 권한이 없으면 음수 캐싱")
+    void roleOf_buildsBloomAndDenies() {
+        when(noteAclStore.lookup("note-1", "user-1"))
+                .thenReturn(new NoteAclStore.AclLookup(null, false, true, "2"));
+        when(permissionRepository.findAllByNoteIdAndDeletedAtIsNull(eq("note-1"), any(Pageable.class)))
+                .thenReturn(List.of(
+                        PermissionEntity.builder().noteId("note-1").userId("owner").role(PermissionRole.OWNER).build(),
+                        PermissionEntity.builder().noteId("note-1").userId("reader").role(PermissionRole.READER).build()));
+
+        assertThat(permissionService.roleOf("note-1", "user-1")).isNull();
+        verify(noteAclStore).buildBloom("note-1", List.of("owner", "reader"), "2");
+        verify(noteAclStore).deny("note-1", "user-1", "2");
+        verify(permissionRepository, never()).findPermissionRoleByNoteIdAndUserIdAndDeletedAtIsNull(any(), any());
+    }
+
+    @Test
+    @DisplayName("권한 보유자가 필터 용량을 넘는 노트는 필터 대신 표시만 남기고 이 사용자만 조회")
+    void roleOf_oversizedNote() {
+        when(noteAclStore.lookup("note-1", "user-1"))
+                .thenReturn(new NoteAclStore.AclLookup(null, false, true, "1"));
+        when(permissionRepository.findAllByNoteIdAndDeletedAtIsNull(eq("note-1"), any(Pageable.class)))
+                .thenReturn(IntStream.range(0, AclBloomFilter.CAPACITY + 1)
+                        .mapToObj(i -> PermissionEntity.builder().noteId("note-1").userId("member-" + i).role(PermissionRole.READER).build())
+                        .collect(Collectors.toList()));
+        when(permissionRepository.findPermissionRoleByNoteIdAndUserIdAndDeletedAtIsNull("note-1", "user-1"))
+                .thenReturn(Optional.empty());
+
+        assertThat(permissionService.roleOf("note-1", "user-1")).isNull();
+        verify(noteAclStore).markBloomOversized("note-1", "1");
+        verify(noteAclStore, never()).buildBloom(any(), any(), any());
+        verify(noteAclStore).deny("note-1", "user-1", "1");
+    }
+
+    @Test
+    @DisplayName("블룸 필터 오탐이면 이 사용자만 Mongo 에서 찾아 해시에 채운다")
+    void roleOf_bloomFalsePositive() {
+        when(noteAclStore.lookup("note-1", "user-1"))
+                .thenReturn(new NoteAclStore.AclLookup(null, false, false, "4"));
+        when(permissionRepository.findPermissionRoleByNoteIdAndUserIdAndDeletedAtIsNull("note-1", "user-1"))
+                .thenReturn(Optional.of(PermissionEntity.builder()
+                        .noteId("note-1")
+                        .userId("user-1")
+                        .role(PermissionRole.READER)
+                        .build()));
+
+        assertThat(permissionService.roleOf("note-1", "user-1")).isEqualTo(PermissionRole.READER);
+        verify(noteAclStore).cacheIfAbsent("note-1", "user-1", PermissionRole.READER, "4");
+        verify(permissionRepository, never()).findAllByNoteIdAndDeletedAtIsNull(any(), any());
+    }
+
+    @Test
+    @DisplayName("최대 개수를 넘으면 예외")
+    void getMyPermissions_tooLarge() {
+        List<String> noteIds = IntStream.range(0, 501).mapToObj(i -> "note-" + i).toList();
+
+        assertThatThrownBy(() -> permissionService.getMyPermissions(PermissionBatchQueryVo.of(noteIds, "user-1")))
+                .isInstanceOf(ServiceException.class)
+                .hasMessage(ExceptionStatus.PERMISSION_BATCH_TOO_LARGE.getMessage());
+    }
+}
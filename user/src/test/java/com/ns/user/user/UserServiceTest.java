@@ -3,6 +3,7 @@ package com.ns.user.user;
 import com.ns.user.exception.ExceptionStatus;
 import com.ns.user.exception.ServiceException;
 import com.ns.user.jwt.JwtTokenProvider;
+import com.ns.user.jwt.TokenRevocationPublisher;
 import com.ns.user.oauth.GoogleIdTokenVerifier;
 import com.ns.user.oauth.GoogleOAuthClient;
 import com.ns.user.user.entity.UserEntity;
@@ -34,6 +35,7 @@ class UserServiceTest {
     @Mock private UserRepository userRepository;
     @Mock private JwtTokenProvider jwtTokenProvider;
     @Mock private StringRedisTemplate redisTemplate;
+    @Mock private TokenRevocationPublisher tokenRevocationPublisher;
     @Mock private ValueOperations<String, String> valueOperations;
 
     @InjectMocks
@@ -147,7 +149,7 @@ class UserServiceTest {
 
 
     @Test
-    @DisplayName("로그아웃 시 Redis RefreshToken 삭제")
+    @DisplayName("로그아웃 시 Redis RefreshToken 삭제 + 액세스 토큰 폐기 발행")
     void logout_success() {
         // given
         String userId = "sub-123";
@@ -157,5 +159,6 @@ class UserServiceTest {
 
         // then
         verify(redisTemplate, times(1)).delete("refresh:" + userId);
+        verify(tokenRevocationPublisher, times(1)).publishLogout(userId);
     }
 }